@@ -0,0 +1,110 @@
+package put.dea.robustness;
+
+/**
+ * Primitive array loops used in the innermost parts of the SMAA analyses.
+ * By default they are executed as plain scalar loops. The loops can be executed
+ * with the SIMD instructions of the JDK Vector API when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector -Dput.dea.robustness.vectorApi=true},
+ * provided that the library was built with the {@code vector-api} Maven profile;
+ * if the incubator module or the vectorized loops are not available, the scalar loops are used.
+ * Both variants perform exactly the same floating-point operations on each element
+ * (multiplication followed by addition, without fused multiply-add and without reordering),
+ * so their results are identical (the tolerance between them is zero).
+ */
+final class ArrayKernels {
+    static final String VECTOR_API_PROPERTY = "put.dea.robustness.vectorApi";
+    private static final String VECTOR_API_KERNELS_CLASS = "put.dea.robustness.VectorApiKernels";
+    private static final Loops VECTOR_API_LOOPS = Boolean.getBoolean(VECTOR_API_PROPERTY)
+            ? getVectorApiLoops()
+            : null;
+
+    private ArrayKernels() {
+    }
+
+    /**
+     * loops implemented with the JDK Vector API, loaded reflectively, so the library
+     * can be compiled and run without the incubator module
+     */
+    interface Loops {
+        boolean isSupported();
+
+        void addScaled(double[] values, int valuesOffset, double scalar,
+                       double[] sums, int sumsOffset, int length);
+
+        void countWinsAndTies(double[] values, int valuesOffset, int length, double reference,
+                              long[] winCounts, long[] tieCounts, int countsOffset);
+    }
+
+    /**
+     * loads the vectorized loops if the JDK Vector API can be used in this JVM;
+     * they are only compiled in the {@code vector-api} build profile
+     *
+     * @return vectorized loops or null if the incubator module or the loops are not available
+     */
+    static Loops getVectorApiLoops() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty())
+            return null;
+        try {
+            var loops = (Loops) Class.forName(VECTOR_API_KERNELS_CLASS)
+                    .getDeclaredConstructor()
+                    .newInstance();
+            return loops.isSupported() ? loops : null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * checks if the loops are executed with the JDK Vector API
+     *
+     * @return true if the vectorized loops are enabled and available
+     */
+    static boolean isVectorApiEnabled() {
+        return VECTOR_API_LOOPS != null;
+    }
+
+    /**
+     * adds the given range of values multiplied by a scalar to the given range of sums
+     * ({@code sums[sumsOffset + i] += values[valuesOffset + i] * scalar})
+     */
+    static void addScaled(double[] values, int valuesOffset, double scalar,
+                          double[] sums, int sumsOffset, int length) {
+        if (VECTOR_API_LOOPS != null) {
+            VECTOR_API_LOOPS.addScaled(values, valuesOffset, scalar, sums, sumsOffset, length);
+            return;
+        }
+        addScaledScalar(values, valuesOffset, scalar, sums, sumsOffset, length);
+    }
+
+    static void addScaledScalar(double[] values, int valuesOffset, double scalar,
+                                double[] sums, int sumsOffset, int length) {
+        for (int i = 0; i < length; i++)
+            sums[sumsOffset + i] += values[valuesOffset + i] * scalar;
+    }
+
+    /**
+     * compares the reference with the given range of values and increments the win counter
+     * of every position at which the reference is greater and the tie counter
+     * of every position at which both are equal
+     */
+    static void countWinsAndTies(double[] values, int valuesOffset, int length, double reference,
+                                 long[] winCounts, long[] tieCounts, int countsOffset) {
+        if (VECTOR_API_LOOPS != null) {
+            VECTOR_API_LOOPS.countWinsAndTies(values, valuesOffset, length, reference,
+                    winCounts, tieCounts, countsOffset);
+            return;
+        }
+        countWinsAndTiesScalar(values, valuesOffset, length, reference, winCounts, tieCounts, countsOffset);
+    }
+
+    static void countWinsAndTiesScalar(double[] values, int valuesOffset, int length, double reference,
+                                       long[] winCounts, long[] tieCounts, int countsOffset) {
+        for (int i = 0; i < length; i++) {
+            var value = values[valuesOffset + i];
+            if (reference > value)
+                winCounts[countsOffset + i]++;
+            else if (reference == value)
+                tieCounts[countsOffset + i]++;
+        }
+    }
+}
@@ -1,21 +1,23 @@
 package put.dea.robustness;
 
-import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPSolver;
-import com.google.ortools.linearsolver.MPVariable;
-import tech.tablesaw.api.Row;
 
 import java.util.Arrays;
-import java.util.List;
-import java.util.stream.IntStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 
 /**
  * implementation of extreme efficiencies calculation for standard (precise) problems with CCR model
+ * <p>
+ * The linear model used for maximal efficiency and super-efficiency is built once per data set
+ * and only adjusted for subsequent DMUs. It is rebuilt when the custom weight constraints
+ * or the solver backend change.
  */
 public class CCRExtremeEfficiencies
         extends CCRRobustnessBase
         implements ExtremeEfficiencyCCR<ProblemData> {
+    private final Queue<CCRModelTemplate> modelTemplates = new ConcurrentLinkedQueue<>();
 
     @Override
     public double maxEfficiency(ProblemData data, int subjectDmuIdx) {
@@ -25,25 +27,26 @@ public class CCRExtremeEfficiencies
     @Override
     public double minEfficiency(ProblemData data, int subjectDmuIdx) {
 
-        var model = makeModel(OptimizationSense.MINIMIZE);
+        var model = makeModel(OptimizationSense.MINIMIZE, true);
 
         var inputWeights = createWeightVariablesWithEqualToOneConstraint(model,
-                data.getInputData(), subjectDmuIdx);
+                data.getInputMatrix(), subjectDmuIdx);
 
-        var outputWeights = makeWeightVariables(model, data.getOutputData(), MPSolver.infinity());
+        var outputWeights = makeWeightVariables(model, data.getOutputMatrix(), MPSolver.infinity());
         var binVariables = model.makeBoolVarArray(data.getDmuCount());
 
         var objective = model.objective();
         for (int i = 0; i < data.getOutputCount(); i++)
-            objective.setCoefficient(outputWeights.get(i), data.getOutputData().row(subjectDmuIdx).getDouble(i));
+            objective.setCoefficient(outputWeights.get(i), data.getOutputMatrix().get(subjectDmuIdx, i));
 
         for (int k = 0; k < data.getDmuCount(); k++) {
-            var constraint = model.makeConstraint(-MPSolver.infinity(), C);
-            constraint.setCoefficient(binVariables[k], C);
+            var bigM = calculateBigM(data.getInputMatrix(), data.getOutputMatrix(), subjectDmuIdx, k, false);
+            var constraint = model.makeConstraint(-MPSolver.infinity(), bigM);
+            constraint.setCoefficient(binVariables[k], bigM);
             for (int i = 0; i < inputWeights.size(); i++)
-                constraint.setCoefficient(inputWeights.get(i), data.getInputData().row(k).getDouble(i));
+                constraint.setCoefficient(inputWeights.get(i), data.getInputMatrix().get(k, i));
             for (int i = 0; i < outputWeights.size(); i++)
-                constraint.setCoefficient(outputWeights.get(i), -data.getOutputData().row(k).getDouble(i));
+                constraint.setCoefficient(outputWeights.get(i), -data.getOutputMatrix().get(k, i));
         }
 
         var constraint = model.makeConstraint(1, MPSolver.infinity());
@@ -54,44 +57,27 @@ public class CCRExtremeEfficiencies
     }
 
     private double findMaxOrSuperEfficiency(ProblemData data, int subjectDmuIdx, boolean superEfficiency) {
-        return createMaxOrSuperEfficiencyModel(data, subjectDmuIdx, superEfficiency).objective().value();
+        var template = acquireModelTemplate(data);
+        try {
+            return getModelResult(template.prepareForSubject(subjectDmuIdx, superEfficiency));
+        } finally {
+            modelTemplates.offer(template);
+        }
     }
 
-    private MPSolver createMaxOrSuperEfficiencyModel(ProblemData data, int subjectDmuIdx, boolean superEfficiency) {
-
-        var model = makeModel(OptimizationSense.MAXIMIZE);
-        var inputVariables = createWeightVariablesWithEqualToOneConstraint(model, data.getInputData(), subjectDmuIdx);
-        var outputVariables = makeWeightVariables(model, data.getOutputData());
-
-        for (int i = 0; i < outputVariables.size(); i++)
-            model.objective().setCoefficient(outputVariables.get(i), data.getOutputData().row(subjectDmuIdx).getDouble(i));
-
-        var constraint = model.makeConstraint(1, 1);
-        setConstraintCoefficients(constraint, inputVariables, data.getInputData().row(subjectDmuIdx), false);
-
-        for (int k = 0; k < data.getDmuCount(); k++) {
-            if (!superEfficiency || k != subjectDmuIdx) {
-                constraint = model.makeConstraint(0, MPSolver.infinity());
-                setConstraintCoefficients(constraint, inputVariables, data.getInputData().row(k), false);
-                setConstraintCoefficients(constraint, outputVariables, data.getOutputData().row(k), true);
-            }
+    private CCRModelTemplate acquireModelTemplate(ProblemData data) {
+        CCRModelTemplate template;
+        while ((template = modelTemplates.poll()) != null) {
+            if (template.isBuiltFor(getSolverBackend(), data))
+                return template;
+            template.delete();
         }
+        var model = makeModel(OptimizationSense.MAXIMIZE);
+        template = new CCRModelTemplate(model, getSolverBackend(), data);
         addCustomWeightConstraints(data, model);
-        solveModel(model);
-        return model;
+        return template;
     }
 
-    private void setConstraintCoefficients(MPConstraint constraint,
-                                           List<MPVariable> variables,
-                                           Row coefficients,
-                                           boolean negative) {
-        int sign = negative ? -1 : 1;
-        IntStream.range(0, variables.size()).forEach(idx ->
-                constraint.setCoefficient(variables.get(idx), sign * coefficients.getDouble(idx))
-        );
-    }
-
-
     @Override
     public double superEfficiency(ProblemData data, int subjectDmuIdx) {
         return findMaxOrSuperEfficiency(data, subjectDmuIdx, true);
@@ -9,34 +9,49 @@ public class CCRExtremeRanks extends CCRRobustnessBase implements ExtremeRanks<P
 
     @Override
     public int minRank(ProblemData data, int subjectDmuIdx) {
-        return createModel(data, subjectDmuIdx, OptimizationSense.MINIMIZE, 0.0, MPSolver.infinity());
+        return createModel(data, subjectDmuIdx, OptimizationSense.MINIMIZE);
     }
 
     @Override
     public int maxRank(ProblemData data, int subjectDmuIdx) {
-        return createModel(data, subjectDmuIdx, OptimizationSense.MAXIMIZE, -MPSolver.infinity(), C);
+        return createModel(data, subjectDmuIdx, OptimizationSense.MAXIMIZE);
     }
 
-    private int createModel(ProblemData data, int subjectDmuIdx, OptimizationSense sense,
-                            Double constraintsLower, Double constraintUpper) {
+    /**
+     * creates the rank model; for the maximal rank the constraint v x_k - u y_k + M b_k &lt;= M forces
+     * the relative DMU k to be not worse than the subject DMU if b_k = 1,
+     * for the minimal rank the constraint v x_k - u y_k + M b_k &gt;= 0 forces it to be not better if b_k = 0.
+     * The big-M constants are calculated separately for each relative DMU from the ratios of performances
+     */
+    private int createModel(ProblemData data, int subjectDmuIdx, OptimizationSense sense) {
         var extremeRanksBase = new ExtremeRanksBase();
-        var model = makeModel(sense);
+        var model = makeModel(sense, true);
 
         var inputWeights = createWeightVariablesWithEqualToOneConstraint(model,
-                data.getInputData(), subjectDmuIdx);
+                data.getInputMatrix(), subjectDmuIdx);
         var outputWeights = createWeightVariablesWithEqualToOneConstraint(model,
-                data.getOutputData(), subjectDmuIdx);
+                data.getOutputMatrix(), subjectDmuIdx);
         var binVariables = extremeRanksBase
                 .createBinaryVariablesAndObjective(model, data.getDmuCount(), subjectDmuIdx);
 
         for (int k = 0; k < data.getDmuCount(); k++) {
             if (k != subjectDmuIdx) {
-                var constraint = model.makeConstraint(constraintsLower, constraintUpper);
-                constraint.setCoefficient(binVariables[k], C);
+                var constraint = model.makeConstraint();
+                if (sense.isMaximize()) {
+                    var bigM = calculateBigM(data.getInputMatrix(), data.getOutputMatrix(),
+                            subjectDmuIdx, k, true);
+                    constraint.setBounds(-MPSolver.infinity(), bigM);
+                    constraint.setCoefficient(binVariables[k], bigM);
+                } else {
+                    var bigM = calculateBigM(data.getOutputMatrix(), data.getInputMatrix(),
+                            subjectDmuIdx, k, true);
+                    constraint.setBounds(0.0, MPSolver.infinity());
+                    constraint.setCoefficient(binVariables[k], bigM);
+                }
                 for (int i = 0; i < inputWeights.size(); i++)
-                    constraint.setCoefficient(inputWeights.get(i), data.getInputData().row(k).getDouble(i));
+                    constraint.setCoefficient(inputWeights.get(i), data.getInputMatrix().get(k, i));
                 for (int i = 0; i < outputWeights.size(); i++)
-                    constraint.setCoefficient(outputWeights.get(i), -data.getOutputData().row(k).getDouble(i));
+                    constraint.setCoefficient(outputWeights.get(i), -data.getOutputMatrix().get(k, i));
             }
         }
         addCustomWeightConstraints(data, model);
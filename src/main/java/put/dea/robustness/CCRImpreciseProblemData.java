@@ -1,7 +1,5 @@
 package put.dea.robustness;
 
-import tech.tablesaw.api.Table;
-
 import java.util.List;
 
 /**
@@ -70,13 +68,13 @@ public class CCRImpreciseProblemData extends ProblemData {
                                    List<String> outputNames) {
         super(minInputData, minOutputData, inputNames, outputNames);
 
-        var maxInputs = convertArrayToTable(maxInputData, getInputData().columnNames());
-        var maxOutputs = convertArrayToTable(maxOutputData, getOutputData().columnNames());
-        impreciseInformation = new ImpreciseInformation(this, maxInputs, maxOutputs);
+        impreciseInformation = new ImpreciseInformation(this,
+                PerformanceMatrix.fromRows(maxInputData, getInputMatrix().getFactorNames()),
+                PerformanceMatrix.fromRows(maxOutputData, getOutputMatrix().getFactorNames()));
     }
 
-    CCRImpreciseProblemData(Table minInputData, Table minOutputData,
-                            Table maxInputData, Table maxOutputData) {
+    CCRImpreciseProblemData(PerformanceMatrix minInputData, PerformanceMatrix minOutputData,
+                            PerformanceMatrix maxInputData, PerformanceMatrix maxOutputData) {
         super(minInputData, minOutputData);
 
         impreciseInformation = new ImpreciseInformation(this, maxInputData, maxOutputData);
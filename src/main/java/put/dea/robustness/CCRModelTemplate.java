@@ -0,0 +1,105 @@
+package put.dea.robustness;
+
+import com.google.ortools.linearsolver.MPConstraint;
+import com.google.ortools.linearsolver.MPSolver;
+import com.google.ortools.linearsolver.MPVariable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CCR multiplier model built once for the whole data set and adjusted in place for each subject DMU.
+ * Only the objective, the normalization row and (for super-efficiency) the bound
+ * of the subject's ratio constraint change between subsequent solves,
+ * so the solver may reuse the basis found for the previous DMU.
+ * The template is not thread-safe and must be used by one thread at a time.
+ */
+class CCRModelTemplate {
+    private final ProblemData data;
+    private final SolverBackend solverBackend;
+    private final List<WeightConstraintSnapshot> weightConstraints;
+    private final MPSolver model;
+    private final List<MPVariable> inputVariables;
+    private final List<MPVariable> outputVariables;
+    private final MPConstraint normalizationConstraint;
+    private final List<MPConstraint> ratioConstraints;
+    private int excludedDmuIdx = -1;
+
+    CCRModelTemplate(MPSolver model, SolverBackend solverBackend, ProblemData data) {
+        this.data = data;
+        this.solverBackend = solverBackend;
+        this.weightConstraints = createSnapshot(data.getWeightConstraints());
+        this.model = model;
+        this.inputVariables = makeVariables(data.getInputMatrix().getFactorNames());
+        this.outputVariables = makeVariables(data.getOutputMatrix().getFactorNames());
+        this.normalizationConstraint = model.makeConstraint(1, 1);
+        this.ratioConstraints = new ArrayList<>(data.getDmuCount());
+        for (int k = 0; k < data.getDmuCount(); k++) {
+            var constraint = model.makeConstraint(0, MPSolver.infinity());
+            setCoefficients(constraint, inputVariables, data.getInputMatrix(), k, 1);
+            setCoefficients(constraint, outputVariables, data.getOutputMatrix(), k, -1);
+            ratioConstraints.add(constraint);
+        }
+    }
+
+    private static List<WeightConstraintSnapshot> createSnapshot(List<Constraint> constraints) {
+        return constraints.stream()
+                .map(c -> new WeightConstraintSnapshot(c.getOperator(), c.getRhs(), Map.copyOf(c.getElements())))
+                .toList();
+    }
+
+    private List<MPVariable> makeVariables(List<String> names) {
+        return names.stream()
+                .map(name -> model.makeNumVar(0, MPSolver.infinity(), name))
+                .toList();
+    }
+
+    private void setCoefficients(MPConstraint constraint, List<MPVariable> variables,
+                                 PerformanceMatrix performances, int dmuIdx, int sign) {
+        for (int i = 0; i < variables.size(); i++)
+            constraint.setCoefficient(variables.get(i), sign * performances.get(dmuIdx, i));
+    }
+
+    /**
+     * checks if the template was built with the given solver backend for the given data set
+     * in its current state (the same object with unchanged custom weight constraints)
+     */
+    boolean isBuiltFor(SolverBackend solverBackend, ProblemData data) {
+        return this.solverBackend == solverBackend
+                && this.data == data
+                && weightConstraints.equals(createSnapshot(data.getWeightConstraints()));
+    }
+
+    /**
+     * adjusts the model to calculate the maximal efficiency or super-efficiency of given DMU
+     *
+     * @param subjectDmuIdx   index of the DMU under consideration
+     * @param superEfficiency true if the subject's ratio constraint should be relaxed
+     * @return adjusted model ready to be solved
+     */
+    MPSolver prepareForSubject(int subjectDmuIdx, boolean superEfficiency) {
+        var objective = model.objective();
+        for (int i = 0; i < outputVariables.size(); i++)
+            objective.setCoefficient(outputVariables.get(i), data.getOutputMatrix().get(subjectDmuIdx, i));
+        for (int i = 0; i < inputVariables.size(); i++)
+            normalizationConstraint.setCoefficient(inputVariables.get(i), data.getInputMatrix().get(subjectDmuIdx, i));
+
+        var newExcludedIdx = superEfficiency ? subjectDmuIdx : -1;
+        if (excludedDmuIdx != newExcludedIdx) {
+            if (excludedDmuIdx >= 0)
+                ratioConstraints.get(excludedDmuIdx).setLb(0);
+            if (newExcludedIdx >= 0)
+                ratioConstraints.get(newExcludedIdx).setLb(-MPSolver.infinity());
+            excludedDmuIdx = newExcludedIdx;
+        }
+        return model;
+    }
+
+    void delete() {
+        model.delete();
+    }
+
+    private record WeightConstraintSnapshot(ConstraintOperator operator, double rhs, Map<String, Double> elements) {
+    }
+}
@@ -1,5 +1,6 @@
 package put.dea.robustness;
 
+import java.util.Set;
 import java.util.stream.IntStream;
 
 /**
@@ -8,6 +9,79 @@ import java.util.stream.IntStream;
  */
 public class CCRPreferenceRelations extends CCRRobustnessBase implements PreferenceRelations<ProblemData> {
     private static final double EPSILON = 1e-10;
+    private int savedModelCount = 0;
+
+    @Override
+    public PreferenceMatrix necessaryPreferenceMatrix(ProblemData data) {
+        var closure = new NecessaryPreferenceClosure(data.getDmuCount());
+        var result = closure.checkForAll(calculateScores(data),
+                subjectDmuIdx -> screenRelations(data, subjectDmuIdx),
+                (subjectDmuIdx, relativeDmuIdx) -> solvePreferenceRelationProblem(data,
+                        subjectDmuIdx, relativeDmuIdx, OptimizationSense.MINIMIZE) - 1,
+                EPSILON);
+        savedModelCount = closure.getSavedModelCount();
+        return result;
+    }
+
+    /**
+     * gets the number of models not solved in the last call of {@link #necessaryPreferenceMatrix}
+     * (or {@link #checkNecessaryPreferenceForAll}),
+     * as the relations followed from the dominance of performances or from the transitivity
+     * of the necessary preference relation (compared to solving a model for every pair of DMUs)
+     *
+     * @return number of saved models
+     */
+    public int getSavedModelCount() {
+        return savedModelCount;
+    }
+
+    @Override
+    public PreferenceMatrix possiblePreferenceMatrix(ProblemData data) {
+        return DominanceScreening.checkForAll(data.getDmuCount(),
+                subjectDmuIdx -> screenRelations(data, subjectDmuIdx),
+                (subjectDmuIdx, relativeDmuIdx) -> isPossiblyPreferred(data, subjectDmuIdx, relativeDmuIdx));
+    }
+
+    /**
+     * the relation is present if the efficiency of the subject DMU is at least the efficiency
+     * of the relative DMU for all weights and not present if it is lower for all weights
+     * (in which case it is neither necessary nor possible);
+     * the present relations are decided without the tolerance, as they are used for the transitive inference
+     */
+    private Boolean[] screenRelations(ProblemData data, int subjectDmuIdx) {
+        var relations = new Boolean[data.getDmuCount()];
+        for (int relativeDmuIdx = 0; relativeDmuIdx < data.getDmuCount(); relativeDmuIdx++) {
+            var bounds = DominanceScreening.calculateRatioBounds(data, Set.of(), 1.0, subjectDmuIdx, relativeDmuIdx);
+            if (bounds[0] >= 1)
+                relations[relativeDmuIdx] = true;
+            else if (bounds[1] < 1 - EPSILON)
+                relations[relativeDmuIdx] = false;
+        }
+        return relations;
+    }
+
+    /**
+     * scores DMUs with the ratio of the sums of normalized outputs and inputs (efficiency for equal weights)
+     */
+    private double[] calculateScores(ProblemData data) {
+        var outputs = normalizedSums(data.getOutputMatrix());
+        var inputs = normalizedSums(data.getInputMatrix());
+        var scores = new double[data.getDmuCount()];
+        for (int dmu = 0; dmu < scores.length; dmu++)
+            scores[dmu] = inputs[dmu] > 0 ? outputs[dmu] / inputs[dmu] : Double.POSITIVE_INFINITY;
+        return scores;
+    }
+
+    private double[] normalizedSums(PerformanceMatrix performances) {
+        var sums = new double[performances.getDmuCount()];
+        for (int factor = 0; factor < performances.getFactorCount(); factor++) {
+            var max = performances.getColumnMax(factor);
+            if (max > 0)
+                for (int dmu = 0; dmu < sums.length; dmu++)
+                    sums[dmu] += performances.get(dmu, factor) / max;
+        }
+        return sums;
+    }
 
     @Override
     public boolean isNecessarilyPreferred(ProblemData data, int subjectDmuIdx, int relativeDmuIdx) {
@@ -20,26 +94,30 @@ public class CCRPreferenceRelations extends CCRRobustnessBase implements Prefere
     }
 
     private boolean createPreferenceRelationProblem(ProblemData data, int subjectDmuIdx, int relativeDmuIdx, OptimizationSense sense) {
+        return solvePreferenceRelationProblem(data, subjectDmuIdx, relativeDmuIdx, sense) >= 1 - EPSILON;
+    }
+
+    private double solvePreferenceRelationProblem(ProblemData data, int subjectDmuIdx, int relativeDmuIdx, OptimizationSense sense) {
         var model = makeModel(sense);
 
         var inputWeights = createWeightVariablesWithEqualToOneConstraint(model,
-                data.getInputData(), subjectDmuIdx);
+                data.getInputMatrix(), subjectDmuIdx);
 
-        var outputWeights = makeWeightVariables(model, data.getOutputData());
+        var outputWeights = makeWeightVariables(model, data.getOutputMatrix());
 
         var objective = model.objective();
         IntStream.range(0, outputWeights.size())
                 .forEach(idx -> objective.setCoefficient(outputWeights.get(idx),
-                        data.getOutputData().row(subjectDmuIdx).getDouble(idx)));
+                        data.getOutputMatrix().get(subjectDmuIdx, idx)));
 
         var constraint = model.makeConstraint(0, 0);
         IntStream.range(0, data.getInputCount())
                 .forEach(idx -> constraint.setCoefficient(inputWeights.get(idx),
-                        data.getInputData().row(relativeDmuIdx).getDouble(idx)));
+                        data.getInputMatrix().get(relativeDmuIdx, idx)));
         IntStream.range(0, data.getOutputCount())
                 .forEach(idx -> constraint.setCoefficient(outputWeights.get(idx),
-                        -data.getOutputData().row(relativeDmuIdx).getDouble(idx)));
+                        -data.getOutputMatrix().get(relativeDmuIdx, idx)));
         addCustomWeightConstraints(data, model);
-        return getModelResult(model) >= 1 - EPSILON;
+        return getModelResult(model);
     }
 }
@@ -2,7 +2,6 @@ package put.dea.robustness;
 
 import com.google.ortools.linearsolver.MPSolver;
 import com.google.ortools.linearsolver.MPVariable;
-import tech.tablesaw.api.Table;
 
 import java.util.List;
 
@@ -11,18 +10,59 @@ abstract class CCRRobustnessBase extends RobustnessLPBase {
     protected static final Double C = 1_000_000.0;
 
     protected List<MPVariable> createWeightVariablesWithEqualToOneConstraint(MPSolver model,
-                                                                             Table data,
+                                                                             PerformanceMatrix data,
                                                                              int subjectDmuIdx) {
         var weights = makeWeightVariables(model, data);
         var constraint = model.makeConstraint(1, 1);
-        for (int i = 0; i < data.columnCount(); i++)
-            constraint.setCoefficient(weights.get(i), data.row(subjectDmuIdx).getDouble(i));
+        for (int i = 0; i < data.getFactorCount(); i++)
+            constraint.setCoefficient(weights.get(i), data.get(subjectDmuIdx, i));
         return weights;
     }
 
-    protected List<MPVariable> makeWeightVariables(MPSolver model, Table data) {
+    protected List<MPVariable> makeWeightVariables(MPSolver model, PerformanceMatrix data) {
         return makeWeightVariables(model, data, MPSolver.infinity());
     }
 
+    /**
+     * calculates the big-M constant for the constraint of the relative DMU k: p_k a - q_k b &lt;= M,
+     * where the non-negative weights are normalized for the subject DMU s: p_s a = 1 (and q_s b = 1 if required).
+     * Then p_k a is at most the maximal ratio p_ki / p_si and q_k b is at least the minimal ratio q_ki / q_si
+     * (or 0 if q_s b is not normalized), so the constant is valid for any custom weight constraints.
+     *
+     * @param positive           performances with positive coefficients (normalized for the subject DMU)
+     * @param negative           performances with negative coefficients
+     * @param subjectDmuIdx      index of the subject DMU
+     * @param relativeDmuIdx     index of the relative DMU
+     * @param negativeNormalized true if the weighted sum of negative performances of the subject DMU is equal to 1
+     * @return big-M constant or {@link #C} if the constraint is not bounded
+     * (the subject DMU has zero performance on a factor on which the relative DMU has positive one)
+     */
+    protected double calculateBigM(PerformanceMatrix positive,
+                                   PerformanceMatrix negative,
+                                   int subjectDmuIdx,
+                                   int relativeDmuIdx,
+                                   boolean negativeNormalized) {
+        var maxPositive = 0.0;
+        for (int i = 0; i < positive.getFactorCount(); i++) {
+            var relativeValue = positive.get(relativeDmuIdx, i);
+            var subjectValue = positive.get(subjectDmuIdx, i);
+            if (subjectValue > 0)
+                maxPositive = Math.max(maxPositive, relativeValue / subjectValue);
+            else if (relativeValue > 0)
+                return C;
+        }
+        var minNegative = 0.0;
+        if (negativeNormalized) {
+            minNegative = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < negative.getFactorCount(); i++)
+                if (negative.get(subjectDmuIdx, i) > 0)
+                    minNegative = Math.min(minNegative,
+                            negative.get(relativeDmuIdx, i) / negative.get(subjectDmuIdx, i));
+            if (Double.isInfinite(minNegative))
+                minNegative = 0.0;
+        }
+        return Math.max(0.0, maxPositive - minNegative);
+    }
+
 
 }
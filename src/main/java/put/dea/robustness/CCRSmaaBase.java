@@ -1,15 +1,9 @@
 package put.dea.robustness;
 
-
-import tech.tablesaw.api.DoubleColumn;
-import tech.tablesaw.api.Row;
-import tech.tablesaw.api.Table;
-import tech.tablesaw.columns.Column;
-
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 abstract class CCRSmaaBase extends SmaaBase {
@@ -19,20 +13,8 @@ abstract class CCRSmaaBase extends SmaaBase {
     }
 
     @Override
-    protected double calculateEfficiency(Table inputs,
-                                         Table outputs,
-                                         Row inputsSample,
-                                         Row outputsSample,
-                                         int dmuIdx) {
-        var inputsValue = calculateWeightedSum(inputs.row(dmuIdx), inputsSample);
-        var outputsValue = calculateWeightedSum(outputs.row(dmuIdx), outputsSample);
-        return outputsValue / inputsValue;
-    }
-
-    private double calculateWeightedSum(Row performances, Row weights) {
-        return IntStream.range(0, performances.columnCount())
-                .mapToDouble(idx -> performances.getDouble(idx) * weights.getDouble(idx))
-                .sum();
+    protected EfficiencyKernel getEfficiencyKernel() {
+        return EfficiencyKernel.RATIO;
     }
 
     @Override
@@ -60,14 +42,18 @@ abstract class CCRSmaaBase extends SmaaBase {
                 .toArray();
     }
 
-    protected Table normalizeEfficiencies(Table efficiencies) {
-        return Table.create(efficiencies.columns().stream().map(this::normalizeColumn));
+    protected double[] normalizeEfficiencies(double[] efficiencies) {
+        return normalizeEfficiencies(efficiencies, 0, efficiencies.length);
     }
 
-    private DoubleColumn normalizeColumn(Column<?> column) {
-        var doubleColumn = (DoubleColumn) column;
-        var max = doubleColumn.max();
-        return doubleColumn.divide(max);
+    /**
+     * divides the efficiencies from given range of the array by the maximal one in place
+     */
+    protected double[] normalizeEfficiencies(double[] efficiencies, int offset, int dmuCount) {
+        var max = dmuCount == 0 ? 1.0 : Arrays.stream(efficiencies, offset, offset + dmuCount).max().getAsDouble();
+        for (int i = offset; i < offset + dmuCount; i++)
+            efficiencies[i] /= max;
+        return efficiencies;
     }
 
 }
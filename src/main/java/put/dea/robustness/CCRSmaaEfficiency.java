@@ -49,12 +49,11 @@ public class CCRSmaaEfficiency extends CCRSmaaBase implements SmaaEfficiency<Pro
 
     @Override
     public DistributionResult efficiencyDistribution(ProblemData data) {
-        var efficiencyBase = new SmaaEfficiencyBase(numberOfSamples, numberOfIntervals);
-        var efficiencyMatrix = calculateEfficiencyMatrix(data);
-        var normalizedEfficiencies = normalizeEfficiencies(efficiencyMatrix);
-        var distribution = efficiencyBase.calculateDistribution(normalizedEfficiencies);
-        var expectedEfficiency = calculateExpectedValues(normalizedEfficiencies);
-        return new DistributionResult(distribution, expectedEfficiency);
+        var efficiencyBase = new SmaaEfficiencyBase(data.getDmuCount(), numberOfIntervals);
+        sampleUntilConverged(efficiencyBase, sampleCount -> processEfficiencySamples(data, sampleCount,
+                (scores, offset) -> efficiencyBase.addSample(
+                        normalizeEfficiencies(scores, offset, data.getDmuCount()), offset)));
+        return efficiencyBase.toDistributionResult(getChainDiagnostics());
     }
 
 
@@ -33,8 +33,9 @@ public class CCRSmaaPreferenceRelations extends CCRSmaaBase implements SmaaPrefe
 
     @Override
     public Table peoi(ProblemData data) {
-        var preferenceRelationsBase = new SmaaPreferenceRelationsBase(numberOfSamples);
-        var efficiencies = calculateEfficiencyMatrix(data);
-        return preferenceRelationsBase.calculatePeois(efficiencies);
+        var preferenceRelationsBase = new SmaaPreferenceRelationsBase(data.getDmuCount(), getExecutionStrategy());
+        sampleUntilConverged(preferenceRelationsBase, sampleCount -> processEfficiencySamples(data, sampleCount,
+                preferenceRelationsBase::addSample));
+        return preferenceRelationsBase.getPeois();
     }
 }
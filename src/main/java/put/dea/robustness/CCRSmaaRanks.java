@@ -30,12 +30,9 @@ public class CCRSmaaRanks extends CCRSmaaBase implements SmaaRanks<ProblemData>
     }
 
     public DistributionResult rankDistribution(ProblemData data) {
-        var rankBase = new SmaaRankBase(numberOfSamples);
-        var efficiencies = calculateEfficiencyMatrix(data);
-        var ranks = rankBase.calculateRanksMatrix(efficiencies);
-        var distribution = rankBase.calculateRankDistribution(ranks);
-        var expectedRanks = calculateExpectedValues(ranks).stream().map(x -> x + 1).toList();
-        return new DistributionResult(distribution, expectedRanks);
+        var rankBase = new SmaaRankBase(data.getDmuCount(), getRankTieHandling());
+        sampleUntilConverged(rankBase, sampleCount -> processEfficiencySamples(data, sampleCount, rankBase::addSample));
+        return rankBase.toDistributionResult(getChainDiagnostics());
     }
 
 
@@ -0,0 +1,87 @@
+package put.dea.robustness;
+
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Calculates the efficiency distribution, rank distribution and pairwise efficiency outranking indices
+ * in standard (precise) DEA problems with CCR model in a single pass:
+ * the weights are sampled and the efficiencies are calculated once for all requested analyses.
+ * For the same {@link Random} seed the results are equal to the results of
+ * {@link CCRSmaaEfficiency}, {@link CCRSmaaRanks} and {@link CCRSmaaPreferenceRelations}.
+ */
+public class CCRSmaaReport extends CCRSmaaBase {
+
+    private final int numberOfIntervals;
+
+    /**
+     * Creates {@link CCRSmaaReport} object with given number of samples and 10 intervals
+     *
+     * @param numberOfSamples number of samples
+     */
+    public CCRSmaaReport(int numberOfSamples) {
+        this(numberOfSamples, 10);
+    }
+
+    /**
+     * Creates {@link CCRSmaaReport} object with given number of samples and intervals
+     *
+     * @param numberOfSamples   number of samples
+     * @param numberOfIntervals number of intervals of the efficiency distribution
+     */
+    public CCRSmaaReport(int numberOfSamples, int numberOfIntervals) {
+        this(numberOfSamples, numberOfIntervals, new Random());
+    }
+
+    /**
+     * Creates {@link CCRSmaaReport} object with given number of samples and intervals and random object
+     *
+     * @param numberOfSamples   number of samples
+     * @param numberOfIntervals number of intervals of the efficiency distribution
+     * @param random            {@link Random} object for sampling
+     */
+    public CCRSmaaReport(int numberOfSamples, int numberOfIntervals, Random random) {
+        super(numberOfSamples, random);
+        this.numberOfIntervals = numberOfIntervals;
+    }
+
+    /**
+     * gets the number of intervals (buckets) in the efficiency distribution
+     *
+     * @return number of intervals
+     */
+    public int getNumberOfIntervals() {
+        return numberOfIntervals;
+    }
+
+    /**
+     * calculates the efficiency distribution, rank distribution and PEOIs for all DMUs
+     *
+     * @param data data set specification
+     * @return combined report
+     */
+    public SmaaReport report(ProblemData data) {
+        return report(data, EnumSet.of(SmaaReportPart.EFFICIENCY,
+                SmaaReportPart.RANKS,
+                SmaaReportPart.PREFERENCE_RELATIONS));
+    }
+
+    /**
+     * calculates the requested parts of the report for all DMUs
+     *
+     * @param data  data set specification
+     * @param parts requested parts ({@link SmaaReportPart#DISTANCE} is not available for CCR model)
+     * @return combined report with null values in place of the parts which were not requested
+     */
+    public SmaaReport report(ProblemData data, Set<SmaaReportPart> parts) {
+        if (parts.contains(SmaaReportPart.DISTANCE))
+            throw new IllegalArgumentException("Distance distribution is not available for CCR model");
+        var reportBase = new SmaaReportBase(data.getDmuCount(), numberOfIntervals, parts,
+                getRankTieHandling(), getExecutionStrategy(),
+                (scores, offset) -> normalizeEfficiencies(scores, offset, data.getDmuCount()), null);
+        sampleUntilConverged(reportBase, sampleCount -> processEfficiencySamples(data, sampleCount,
+                reportBase::addSample));
+        return reportBase.toReport(getChainDiagnostics());
+    }
+}
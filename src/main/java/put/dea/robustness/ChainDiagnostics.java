@@ -0,0 +1,152 @@
+package put.dea.robustness;
+
+/**
+ * record representing the quality of the Markov chains which generated the weight samples,
+ * calculated for every weight and reported for the worst one
+ *
+ * @param effectiveSampleSize smallest effective sample size (estimated with Geyer's initial positive sequence)
+ * @param autocorrelation     largest absolute lag-1 autocorrelation of consecutive samples in a chain
+ * @param rHat                largest Gelman-Rubin potential scale reduction factor
+ *                            (NaN if the samples were generated with a single chain)
+ */
+public record ChainDiagnostics(double effectiveSampleSize,
+                               double autocorrelation,
+                               double rHat) {
+    /**
+     * largest lag of the autocorrelations summed in the estimation of the effective sample size,
+     * limits the cost of the estimation for badly mixing chains
+     */
+    private static final int MAX_LAG = 1000;
+
+    /**
+     * calculates the diagnostics of the chains
+     *
+     * @param samples      samples of all chains, one chain after another
+     * @param chainLengths numbers of samples of the chains
+     * @return diagnostics of the chains
+     */
+    static ChainDiagnostics calculate(WeightSamplesCollection samples, int[] chainLengths) {
+        var stride = samples.getStride();
+        var values = samples.getValues();
+        var minEffectiveSampleSize = (double) samples.getSampleCount();
+        var maxAutocorrelation = 0.0;
+        var maxRHat = chainLengths.length > 1 ? 1.0 : Double.NaN;
+        var series = new double[samples.getSampleCount()];
+        for (int variable = 0; variable < stride; variable++) {
+            var effectiveSampleSize = 0.0;
+            var constantChains = 0;
+            var start = 0;
+            for (var length : chainLengths) {
+                for (int i = 0; i < length; i++)
+                    series[i] = values[(start + i) * stride + variable];
+                var chainStatistics = calculateChainStatistics(series, length);
+                if (chainStatistics == null) {
+                    effectiveSampleSize += length;
+                    constantChains++;
+                } else {
+                    effectiveSampleSize += chainStatistics[0];
+                    maxAutocorrelation = Math.max(maxAutocorrelation, Math.abs(chainStatistics[1]));
+                }
+                start += length;
+            }
+            if (constantChains < chainLengths.length)
+                minEffectiveSampleSize = Math.min(minEffectiveSampleSize, effectiveSampleSize);
+            if (chainLengths.length > 1)
+                maxRHat = Math.max(maxRHat, calculateRHat(values, stride, variable, chainLengths));
+        }
+        return new ChainDiagnostics(minEffectiveSampleSize, maxAutocorrelation, maxRHat);
+    }
+
+    /**
+     * creates the diagnostics of independent samples (e.g. generated by the exact sampler)
+     *
+     * @param sampleCount number of samples
+     * @return diagnostics of a single chain without autocorrelation
+     */
+    static ChainDiagnostics independent(int sampleCount) {
+        return new ChainDiagnostics(sampleCount, 0.0, Double.NaN);
+    }
+
+    /**
+     * combines the diagnostics of independent sets of chains
+     *
+     * @param other diagnostics of other chains
+     * @return diagnostics of all chains
+     */
+    ChainDiagnostics combine(ChainDiagnostics other) {
+        return new ChainDiagnostics(effectiveSampleSize + other.effectiveSampleSize,
+                Math.max(autocorrelation, other.autocorrelation),
+                Double.isNaN(rHat) ? other.rHat : Double.isNaN(other.rHat) ? rHat : Math.max(rHat, other.rHat));
+    }
+
+    /**
+     * calculates the effective sample size and the lag-1 autocorrelation of a chain
+     *
+     * @return array with the effective sample size and the autocorrelation or null if the chain is constant
+     */
+    private static double[] calculateChainStatistics(double[] series, int length) {
+        if (length < 2)
+            return null;
+        var mean = 0.0;
+        for (int i = 0; i < length; i++)
+            mean += series[i];
+        mean /= length;
+        var variance = autocovariance(series, length, mean, 0);
+        if (variance <= 0.0)
+            return null;
+        var lagOneAutocorrelation = autocovariance(series, length, mean, 1) / variance;
+        var sum = 0.0;
+        var previousPair = Double.POSITIVE_INFINITY;
+        for (int lag = 0; lag + 1 < length && lag < MAX_LAG; lag += 2) {
+            var pair = (lag == 0 ? 1.0 : autocovariance(series, length, mean, lag) / variance)
+                    + (lag == 0 ? lagOneAutocorrelation : autocovariance(series, length, mean, lag + 1) / variance);
+            if (pair <= 0.0)
+                break;
+            pair = Math.min(pair, previousPair);
+            sum += pair;
+            previousPair = pair;
+        }
+        var autocorrelationTime = Math.max(2 * sum - 1, 1.0 / length);
+        return new double[]{Math.min(length, length / autocorrelationTime), lagOneAutocorrelation};
+    }
+
+    private static double autocovariance(double[] series, int length, double mean, int lag) {
+        var sum = 0.0;
+        for (int i = 0; i + lag < length; i++)
+            sum += (series[i] - mean) * (series[i + lag] - mean);
+        return sum / length;
+    }
+
+    private static double calculateRHat(double[] values, int stride, int variable, int[] chainLengths) {
+        var length = Integer.MAX_VALUE;
+        for (var chainLength : chainLengths)
+            length = Math.min(length, chainLength);
+        if (length < 2)
+            return Double.NaN;
+        var means = new double[chainLengths.length];
+        var withinVariance = 0.0;
+        var start = 0;
+        for (int chain = 0; chain < chainLengths.length; chain++) {
+            for (int i = 0; i < length; i++)
+                means[chain] += values[(start + i) * stride + variable];
+            means[chain] /= length;
+            var variance = 0.0;
+            for (int i = 0; i < length; i++) {
+                var difference = values[(start + i) * stride + variable] - means[chain];
+                variance += difference * difference;
+            }
+            withinVariance += variance / (length - 1) / chainLengths.length;
+            start += chainLengths[chain];
+        }
+        if (withinVariance <= 0.0)
+            return 1.0;
+        var grandMean = 0.0;
+        for (var mean : means)
+            grandMean += mean / means.length;
+        var betweenVariance = 0.0;
+        for (var mean : means)
+            betweenVariance += (mean - grandMean) * (mean - grandMean) * length / (means.length - 1);
+        var pooledVariance = (length - 1.0) / length * withinVariance + betweenVariance / length;
+        return Math.sqrt(pooledVariance / withinVariance);
+    }
+}
@@ -0,0 +1,104 @@
+package put.dea.robustness;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
+
+/**
+ * Streams DMUs' performances from a delimited text source (e.g. a CSV file) one row at a time.
+ * The first line must be a header with column names; each subsequent non-blank line describes one DMU.
+ * Only the selected columns are parsed, and they are returned in the order of the selection,
+ * so the reader can be passed directly to {@link ProblemData#ProblemData(Iterator, List, List)}.
+ * Quoted values are not supported. The underlying {@link Reader} is not closed by this class.
+ */
+public class CsvPerformanceReader implements Iterator<double[]> {
+    private final BufferedReader reader;
+    private final Pattern separator;
+    private final int[] columnPositions;
+    private String nextLine;
+    private int lineNumber = 0;
+
+    /**
+     * Creates a reader of comma-separated values
+     *
+     * @param reader  source of the data
+     * @param columns names of the columns to be read
+     */
+    public CsvPerformanceReader(Reader reader, List<String> columns) {
+        this(reader, columns, ',');
+    }
+
+    /**
+     * Creates a reader of values separated with given character
+     *
+     * @param reader    source of the data
+     * @param columns   names of the columns to be read
+     * @param separator character separating values in a line
+     */
+    public CsvPerformanceReader(Reader reader, List<String> columns, char separator) {
+        this.reader = reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+        this.separator = Pattern.compile(Pattern.quote(String.valueOf(separator)));
+        var header = readLine();
+        if (header == null)
+            throw new IllegalArgumentException("Data source does not contain a header");
+        var headerNames = Arrays.stream(this.separator.split(header, -1)).map(String::trim).toList();
+        this.columnPositions = columns.stream()
+                .mapToInt(column -> {
+                    var position = headerNames.indexOf(column);
+                    if (position < 0)
+                        throw new IllegalArgumentException("Column " + column + " does not exist in the header");
+                    return position;
+                })
+                .toArray();
+        this.nextLine = readNonBlankLine();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextLine != null;
+    }
+
+    @Override
+    public double[] next() {
+        if (nextLine == null)
+            throw new NoSuchElementException();
+        var values = separator.split(nextLine, -1);
+        var row = new double[columnPositions.length];
+        for (int i = 0; i < columnPositions.length; i++) {
+            if (columnPositions[i] >= values.length)
+                throw new IllegalArgumentException("Line " + lineNumber + " contains too few values");
+            try {
+                row[i] = Double.parseDouble(values[columnPositions[i]].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + " contains an invalid number", e);
+            }
+        }
+        nextLine = readNonBlankLine();
+        return row;
+    }
+
+    private String readNonBlankLine() {
+        String line;
+        do {
+            line = readLine();
+        } while (line != null && line.isBlank());
+        return line;
+    }
+
+    private String readLine() {
+        try {
+            var line = reader.readLine();
+            if (line != null)
+                lineNumber++;
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -7,9 +7,37 @@ import java.util.List;
 /**
  * record representing the result of distribution and expected values
  *
- * @param distribution   values distribution
- * @param expectedValues expected values
+ * @param distribution    values distribution
+ * @param expectedValues  expected values
+ * @param numberOfSamples number of samples used to estimate the distribution
+ * @param halfWidth       largest half-width of the 95% confidence intervals of the distribution's indices
+ * @param diagnostics     diagnostics of the chains which generated the weight samples (null if unknown)
  */
 public record DistributionResult(Table distribution,
-                                 List<Double> expectedValues) {
+                                 List<Double> expectedValues,
+                                 long numberOfSamples,
+                                 double halfWidth,
+                                 ChainDiagnostics diagnostics) {
+
+    /**
+     * creates the result without information about the precision of the estimates
+     *
+     * @param distribution   values distribution
+     * @param expectedValues expected values
+     */
+    public DistributionResult(Table distribution, List<Double> expectedValues) {
+        this(distribution, expectedValues, 0, Double.NaN);
+    }
+
+    /**
+     * creates the result without the chain diagnostics
+     *
+     * @param distribution    values distribution
+     * @param expectedValues  expected values
+     * @param numberOfSamples number of samples used to estimate the distribution
+     * @param halfWidth       largest half-width of the 95% confidence intervals of the distribution's indices
+     */
+    public DistributionResult(Table distribution, List<Double> expectedValues, long numberOfSamples, double halfWidth) {
+        this(distribution, expectedValues, numberOfSamples, halfWidth, null);
+    }
 }
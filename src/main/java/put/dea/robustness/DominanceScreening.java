@@ -0,0 +1,137 @@
+package put.dea.robustness;
+
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.IntFunction;
+
+/**
+ * Decides the preference relations following directly from the dominance of performances,
+ * so the optimization models are solved only for the remaining pairs of DMUs.
+ * If the subject DMU is not worse than the relative one on any input and output, it is necessarily preferred
+ * for any non-negative weights; if it is worse on all inputs and outputs, it is not even possibly preferred.
+ * The bounds below are calculated from the same performances as the models, so the pre-screened
+ * relations are equal to the relations found by solving the models.
+ */
+final class DominanceScreening {
+    private static final double EQUALITY_TOLERANCE = 1e-9;
+
+    private DominanceScreening() {
+    }
+
+    /**
+     * creates the preference relation matrix, solving the models only for pairs not decided by the screening
+     *
+     * @param dmuCount        number of DMUs
+     * @param screening       for given subject DMU returns the relations with all relative DMUs
+     *                        (null if the relation is not decided by the dominance)
+     * @param preferenceModel verifies the relation by solving the model
+     * @return relation matrix
+     */
+    static PreferenceMatrix checkForAll(int dmuCount,
+                                        IntFunction<Boolean[]> screening,
+                                        BiPredicate<Integer, Integer> preferenceModel) {
+        var result = new PreferenceMatrix(dmuCount);
+        for (int subjectDmu = 0; subjectDmu < dmuCount; subjectDmu++) {
+            var row = screening.apply(subjectDmu);
+            for (int relativeDmu = 0; relativeDmu < dmuCount; relativeDmu++)
+                result.set(subjectDmu, relativeDmu, row[relativeDmu] == null
+                        ? preferenceModel.test(subjectDmu, relativeDmu)
+                        : row[relativeDmu]);
+        }
+        return result;
+    }
+
+    /**
+     * bounds the efficiency of the subject DMU relative to the efficiency of the relative DMU in the CCR model:
+     * (u y_s)/(v x_s) lies between the bounds multiplied by (u y_r)/(v x_r) for all non-negative weights.
+     * The ratio of outputs is bounded by the extreme ratios of single outputs
+     * and the ratio of inputs by the extreme ratios of single inputs.
+     * Ordinal factors are represented in the models by variables ordered as the performances
+     * (with given minimal ratio between different performances).
+     *
+     * @param values         performances used by the model
+     * @param ordinalFactors names of the ordinal factors
+     * @param ordinalRatio   minimal ratio between the values of different ordinal performances
+     * @param subjectDmuIdx  index of the subject DMU
+     * @param relativeDmuIdx index of the relative DMU
+     * @return lower and upper bound of the ratio (the upper bound may be infinite or NaN if it is unknown)
+     */
+    static double[] calculateRatioBounds(ProblemData values,
+                                         Set<String> ordinalFactors,
+                                         double ordinalRatio,
+                                         int subjectDmuIdx,
+                                         int relativeDmuIdx) {
+        var outputBounds = calculateFactorRatioBounds(values.getOutputMatrix(), ordinalFactors, ordinalRatio,
+                subjectDmuIdx, relativeDmuIdx);
+        var inputBounds = calculateFactorRatioBounds(values.getInputMatrix(), ordinalFactors, ordinalRatio,
+                relativeDmuIdx, subjectDmuIdx);
+        var upper = outputBounds[1] == 0.0 ? 0.0 : outputBounds[1] * inputBounds[1];
+        return new double[]{outputBounds[0] * inputBounds[0], upper};
+    }
+
+    /**
+     * bounds the ratio u p_numerator / u p_denominator by the minimal and maximal ratio of single factors;
+     * factors equal to 0 for both DMUs do not affect the ratio
+     */
+    private static double[] calculateFactorRatioBounds(PerformanceMatrix performances,
+                                                       Set<String> ordinalFactors,
+                                                       double ordinalRatio,
+                                                       int numeratorDmuIdx,
+                                                       int denominatorDmuIdx) {
+        var lower = Double.POSITIVE_INFINITY;
+        var upper = 0.0;
+        for (int factor = 0; factor < performances.getFactorCount(); factor++) {
+            var numerator = performances.get(numeratorDmuIdx, factor);
+            var denominator = performances.get(denominatorDmuIdx, factor);
+            if (ordinalFactors.contains(performances.getFactorNames().get(factor))) {
+                if (Math.abs(numerator - denominator) < EQUALITY_TOLERANCE) {
+                    lower = Math.min(lower, 1.0);
+                    upper = Math.max(upper, 1.0);
+                } else if (numerator > denominator) {
+                    lower = Math.min(lower, ordinalRatio);
+                    upper = Double.POSITIVE_INFINITY;
+                } else {
+                    lower = 0.0;
+                    upper = Math.max(upper, 1.0 / ordinalRatio);
+                }
+            } else if (denominator > 0.0) {
+                lower = Math.min(lower, numerator / denominator);
+                upper = Math.max(upper, numerator / denominator);
+            } else if (numerator > 0.0) {
+                upper = Double.POSITIVE_INFINITY;
+            }
+        }
+        return new double[]{Double.isInfinite(lower) ? 0.0 : lower, upper};
+    }
+
+    /**
+     * bounds the difference between additive efficiencies of the subject and relative DMU
+     * for non-negative weights summing up to 1 by the minimal and maximal difference of single factors
+     *
+     * @param inputs         inputs' utilities
+     * @param outputs        outputs' utilities
+     * @param subjectDmuIdx  index of the subject DMU
+     * @param relativeDmuIdx index of the relative DMU
+     * @return lower and upper bound of the difference
+     */
+    static double[] calculateDifferenceBounds(PerformanceMatrix inputs,
+                                              PerformanceMatrix outputs,
+                                              int subjectDmuIdx,
+                                              int relativeDmuIdx) {
+        var bounds = new double[]{Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        updateDifferenceBounds(bounds, inputs, subjectDmuIdx, relativeDmuIdx);
+        updateDifferenceBounds(bounds, outputs, subjectDmuIdx, relativeDmuIdx);
+        return bounds;
+    }
+
+    private static void updateDifferenceBounds(double[] bounds,
+                                               PerformanceMatrix utilities,
+                                               int subjectDmuIdx,
+                                               int relativeDmuIdx) {
+        for (int factor = 0; factor < utilities.getFactorCount(); factor++) {
+            var difference = utilities.get(subjectDmuIdx, factor) - utilities.get(relativeDmuIdx, factor);
+            bounds[0] = Math.min(bounds[0], difference);
+            bounds[1] = Math.max(bounds[1], difference);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package put.dea.robustness;
+
+import java.util.Arrays;
+
+/**
+ * Calculates DMUs' scores for ranges of weight samples, i.e. blocks of the product
+ * of the weight matrix (samples x factors) and the transposed performance matrix (factors x DMUs).
+ * The product is computed in tiles small enough to stay in the cache: each performance column
+ * is read contiguously (the matrices are stored column-major) and reused for all samples of the tile.
+ * Weighted sums are accumulated factor by factor starting from zero, in the same order
+ * as a plain dot product, so the results do not depend on the tile sizes.
+ */
+enum EfficiencyKernel {
+    /**
+     * ratio of the weighted sum of outputs to the weighted sum of inputs (CCR efficiency)
+     */
+    RATIO {
+        @Override
+        double combine(double inputsValue, double outputsValue) {
+            return outputsValue / inputsValue;
+        }
+    },
+    /**
+     * sum of the weighted input and output values (VDEA efficiency)
+     */
+    ADDITIVE {
+        @Override
+        double combine(double inputsValue, double outputsValue) {
+            return inputsValue + outputsValue;
+        }
+    };
+
+    static final int SAMPLE_TILE_SIZE = 32;
+    static final int DMU_TILE_SIZE = 256;
+
+    abstract double combine(double inputsValue, double outputsValue);
+
+    /**
+     * calculates the scores of all DMUs for the samples with indices from given range
+     *
+     * @param inputs     inputs' performances (or values)
+     * @param outputs    outputs' performances (or values)
+     * @param weights    weight samples
+     * @param fromSample index of the first sample (inclusive)
+     * @param toSample   index of the last sample (exclusive)
+     * @return scores stored sample after sample, the score of DMU d in sample s
+     * is at index (s - fromSample) * dmuCount + d
+     */
+    double[] calculate(PerformanceMatrix inputs,
+                       PerformanceMatrix outputs,
+                       WeightSamplesCollection weights,
+                       int fromSample,
+                       int toSample) {
+        if (inputs.getFactorCount() != weights.getInputCount()
+                || outputs.getFactorCount() != weights.getOutputCount())
+            throw new IllegalArgumentException("Number of weights does not match the number of factors");
+        var dmuCount = inputs.getDmuCount();
+        var result = new double[(toSample - fromSample) * dmuCount];
+        var tileSize = SAMPLE_TILE_SIZE * Math.min(DMU_TILE_SIZE, dmuCount);
+        var inputSums = new double[tileSize];
+        var outputSums = new double[tileSize];
+        for (int tileSample = fromSample; tileSample < toSample; tileSample += SAMPLE_TILE_SIZE) {
+            var sampleCount = Math.min(SAMPLE_TILE_SIZE, toSample - tileSample);
+            for (int tileDmu = 0; tileDmu < dmuCount; tileDmu += DMU_TILE_SIZE) {
+                var width = Math.min(DMU_TILE_SIZE, dmuCount - tileDmu);
+                accumulateTile(inputs, weights, 0, tileSample, sampleCount, tileDmu, width, inputSums);
+                accumulateTile(outputs, weights, weights.getInputCount(), tileSample, sampleCount,
+                        tileDmu, width, outputSums);
+                for (int s = 0; s < sampleCount; s++) {
+                    var resultOffset = (tileSample - fromSample + s) * dmuCount + tileDmu;
+                    for (int d = 0; d < width; d++)
+                        result[resultOffset + d] = combine(inputSums[s * width + d], outputSums[s * width + d]);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void accumulateTile(PerformanceMatrix performances,
+                                       WeightSamplesCollection weights,
+                                       int firstWeight,
+                                       int tileSample,
+                                       int sampleCount,
+                                       int tileDmu,
+                                       int width,
+                                       double[] sums) {
+        Arrays.fill(sums, 0, sampleCount * width, 0.0);
+        var values = performances.getValues();
+        var weightValues = weights.getValues();
+        for (int factor = 0; factor < performances.getFactorCount(); factor++) {
+            var columnOffset = performances.getColumnOffset(factor) + tileDmu;
+            var weightOffset = weights.getInputOffset(tileSample) + firstWeight + factor;
+            for (int s = 0; s < sampleCount; s++) {
+                var weight = weightValues[weightOffset + s * weights.getStride()];
+                ArrayKernels.addScaled(values, columnOffset, weight, sums, s * width, width);
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package put.dea.robustness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Defines how the per-DMU optimization problems solved by the *ForAll methods
+ * (and the sampling chains of SMAA analyses) are executed.
+ * Each problem is built and solved within a single task, so every solver instance
+ * is confined to the thread that created it. Regardless of the chosen strategy,
+ * the results are always returned in the order of DMU (or chain) indices.
+ * <p>
+ * The thread pool and virtual threads strategies create their executor lazily, on first use,
+ * and reuse it for all subsequent calls. Idle pool threads are daemon threads released after
+ * {@value #IDLE_THREAD_TIMEOUT_SECONDS} seconds; {@link #close()} releases the executor immediately
+ * (a closed strategy creates a new executor if it is used again).
+ * <p>
+ * Tasks may use the same strategy again (e.g. a *ForAll method called from a parallel SMAA chain):
+ * such nested calls are run sequentially within the calling task, so they never wait for threads
+ * of the executor that is already running them. This applies also to {@link #using(ExecutorService)};
+ * nesting two different strategies backed by the same bounded executor may still deadlock.
+ */
+public final class ExecutionStrategy implements AutoCloseable {
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60;
+    private static final ExecutionStrategy SEQUENTIAL = new ExecutionStrategy(null, false);
+
+    private final Supplier<ExecutorService> executorSupplier;
+    private final boolean ownsExecutor;
+    private final ThreadLocal<Boolean> insideTask = ThreadLocal.withInitial(() -> false);
+    private ExecutorService executor;
+
+    private ExecutionStrategy(Supplier<ExecutorService> executorSupplier, boolean ownsExecutor) {
+        this.executorSupplier = executorSupplier;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * returns the strategy solving the problems one after another in the calling thread
+     *
+     * @return sequential execution strategy
+     */
+    public static ExecutionStrategy sequential() {
+        return SEQUENTIAL;
+    }
+
+    /**
+     * creates the strategy solving the problems concurrently in a fixed-size thread pool,
+     * shared by all calls using this strategy
+     *
+     * @param threadCount number of threads in the pool
+     * @return thread pool execution strategy
+     */
+    public static ExecutionStrategy threadPool(int threadCount) {
+        if (threadCount < 1)
+            throw new IllegalArgumentException("Number of threads must be positive");
+        if (threadCount == 1)
+            return SEQUENTIAL;
+        return new ExecutionStrategy(() -> createThreadPool(threadCount), true);
+    }
+
+    /**
+     * creates the strategy solving the problems concurrently in a thread pool
+     * with one thread per available processor
+     *
+     * @return thread pool execution strategy
+     */
+    public static ExecutionStrategy threadPool() {
+        return threadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * creates the strategy solving each problem in a separate virtual thread
+     *
+     * @return virtual threads execution strategy
+     */
+    public static ExecutionStrategy virtualThreads() {
+        return new ExecutionStrategy(Executors::newVirtualThreadPerTaskExecutor, true);
+    }
+
+    /**
+     * creates the strategy submitting the problems to the given executor;
+     * the executor is not shut down by the library, also not by {@link #close()}
+     *
+     * @param executor executor used to solve the problems
+     * @return execution strategy based on the given executor
+     */
+    public static ExecutionStrategy using(ExecutorService executor) {
+        if (executor == null)
+            throw new IllegalArgumentException("Executor cannot be null");
+        return new ExecutionStrategy(() -> executor, false);
+    }
+
+    private static ExecutorService createThreadPool(int threadCount) {
+        var pool = new ThreadPoolExecutor(threadCount, threadCount,
+                IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    var thread = Executors.defaultThreadFactory().newThread(runnable);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * checks if the problems are solved sequentially in the calling thread
+     *
+     * @return true if the strategy is sequential, false otherwise
+     */
+    public boolean isSequential() {
+        return executorSupplier == null;
+    }
+
+    /**
+     * shuts down the executor created by this strategy, if any;
+     * must not be called while the strategy is in use
+     */
+    @Override
+    public synchronized void close() {
+        if (executor != null && ownsExecutor)
+            executor.shutdownNow();
+        executor = null;
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null || executor.isShutdown())
+            executor = executorSupplier.get();
+        return executor;
+    }
+
+    <R> List<R> map(int count, IntFunction<R> task) {
+        if (isSequential() || count <= 1 || insideTask.get())
+            return IntStream.range(0, count)
+                    .mapToObj(task)
+                    .toList();
+
+        var executor = getExecutor();
+        var futures = new ArrayList<Future<R>>(count);
+        for (int idx = 0; idx < count; idx++) {
+            int taskIdx = idx;
+            futures.add(executor.submit(() -> runTask(task, taskIdx)));
+        }
+        var results = new ArrayList<R>(count);
+        for (var future : futures)
+            results.add(getResult(future, futures));
+        return List.copyOf(results);
+    }
+
+    private <R> R runTask(IntFunction<R> task, int taskIdx) {
+        insideTask.set(true);
+        try {
+            return task.apply(taskIdx);
+        } finally {
+            insideTask.remove();
+        }
+    }
+
+    private <R> R getResult(Future<R> future, List<Future<R>> allFutures) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            allFutures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Computations were interrupted", e);
+        } catch (ExecutionException e) {
+            allFutures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            if (e.getCause() instanceof Error error)
+                throw error;
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
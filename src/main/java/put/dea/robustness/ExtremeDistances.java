@@ -1,7 +1,6 @@
 package put.dea.robustness;
 
 import java.util.List;
-import java.util.stream.IntStream;
 
 /**
  * Interface providing methods for finding the extreme (minimal and maximal) efficiency distance
@@ -17,10 +16,7 @@ public interface ExtremeDistances<T extends VDEAProblemData> {
      * @return list of minimal distances for each DMU in the considered data set
      */
     default List<Double> minDistanceForAll(T data) {
-        return IntStream.range(0, data.getDmuCount())
-                .boxed()
-                .map(idx -> minDistance(data, idx))
-                .toList();
+        return getExecutionStrategy().map(data.getDmuCount(), idx -> minDistance(data, idx));
     }
 
     /**
@@ -39,10 +35,7 @@ public interface ExtremeDistances<T extends VDEAProblemData> {
      * @return list of maximal distances for each DMU in the considered data set
      */
     default List<Double> maxDistanceForAll(T data) {
-        return IntStream.range(0, data.getDmuCount())
-                .boxed()
-                .map(idx -> maxDistance(data, idx))
-                .toList();
+        return getExecutionStrategy().map(data.getDmuCount(), idx -> maxDistance(data, idx));
     }
 
     /**
@@ -61,10 +54,7 @@ public interface ExtremeDistances<T extends VDEAProblemData> {
      * @return {@link List} of super-distance values for all DMUs
      */
     default List<Double> superDistanceForAll(T data) {
-        return IntStream.range(0, data.getDmuCount())
-                .mapToDouble(idx -> superDistance(data, idx))
-                .boxed()
-                .toList();
+        return getExecutionStrategy().map(data.getDmuCount(), idx -> superDistance(data, idx));
     }
 
     /**
@@ -75,4 +65,13 @@ public interface ExtremeDistances<T extends VDEAProblemData> {
      * @return value of super-distance for specified DMU
      */
     double superDistance(T data, int subjectDmuIdx);
+
+    /**
+     * returns the strategy used to solve the per-DMU problems in the *ForAll methods
+     *
+     * @return {@link ExecutionStrategy} used by this object
+     */
+    default ExecutionStrategy getExecutionStrategy() {
+        return ExecutionStrategy.sequential();
+    }
 }
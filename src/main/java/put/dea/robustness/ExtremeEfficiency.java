@@ -1,7 +1,6 @@
 package put.dea.robustness;
 
 import java.util.List;
-import java.util.stream.IntStream;
 
 /**
  * Interface providing methods for finding the extreme (minimal and maximal) efficiency scores
@@ -17,10 +16,7 @@ public interface ExtremeEfficiency<T extends ProblemData> {
      * @return list of maximal efficiency scores for each DMU in the considered data set
      */
     default List<Double> maxEfficiencyForAll(T data) {
-        return IntStream.range(0, data.getDmuCount())
-                .boxed()
-                .map(idx -> maxEfficiency(data, idx))
-                .toList();
+        return getExecutionStrategy().map(data.getDmuCount(), idx -> maxEfficiency(data, idx));
     }
 
     /**
@@ -39,10 +35,7 @@ public interface ExtremeEfficiency<T extends ProblemData> {
      * @return list of minimal efficiency scores for each DMU in the considered data set
      */
     default List<Double> minEfficiencyForAll(T data) {
-        return IntStream.range(0, data.getDmuCount())
-                .boxed()
-                .map(idx -> minEfficiency(data, idx))
-                .toList();
+        return getExecutionStrategy().map(data.getDmuCount(), idx -> minEfficiency(data, idx));
     }
 
     /**
@@ -54,4 +47,12 @@ public interface ExtremeEfficiency<T extends ProblemData> {
      */
     double minEfficiency(T data, int subjectDmuIdx);
 
+    /**
+     * returns the strategy used to solve the per-DMU problems in the *ForAll methods
+     *
+     * @return {@link ExecutionStrategy} used by this object
+     */
+    default ExecutionStrategy getExecutionStrategy() {
+        return ExecutionStrategy.sequential();
+    }
 }
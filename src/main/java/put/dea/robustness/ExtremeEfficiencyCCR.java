@@ -1,7 +1,6 @@
 package put.dea.robustness;
 
 import java.util.List;
-import java.util.stream.IntStream;
 
 /**
  * interface for extreme efficiencies and super-efficiency scores for CCR model
@@ -16,9 +15,7 @@ public interface ExtremeEfficiencyCCR<T extends ProblemData> extends ExtremeEffi
      * @return {@link List} of super-efficiency scores for all DMUs
      */
     default List<Double> superEfficiencyForAll(T data) {
-        return IntStream.range(0, data.getDmuCount())
-                .mapToDouble(idx -> superEfficiency(data, idx))
-                .boxed().toList();
+        return getExecutionStrategy().map(data.getDmuCount(), idx -> superEfficiency(data, idx));
     }
 
     /**
@@ -1,7 +1,6 @@
 package put.dea.robustness;
 
 import java.util.List;
-import java.util.stream.IntStream;
 
 /**
  * Interface providing methods for finding the extreme (minimal and maximal) ranks
@@ -17,10 +16,7 @@ public interface ExtremeRanks<T extends ProblemData> {
      * @return list of minimal efficiency ranks for each DMU in the considered data set
      */
     default List<Integer> minRankForAll(T data) {
-        return IntStream.range(0, data.getDmuCount())
-                .map(idx -> minRank(data, idx))
-                .boxed()
-                .toList();
+        return getExecutionStrategy().map(data.getDmuCount(), idx -> minRank(data, idx));
     }
 
     /**
@@ -33,10 +29,7 @@ public interface ExtremeRanks<T extends ProblemData> {
     int minRank(T data, int subjectDmuIdx);
 
     default List<Integer> maxRankForAll(T data) {
-        return IntStream.range(0, data.getDmuCount())
-                .map(idx -> maxRank(data, idx))
-                .boxed()
-                .toList();
+        return getExecutionStrategy().map(data.getDmuCount(), idx -> maxRank(data, idx));
     }
 
     /**
@@ -47,4 +40,13 @@ public interface ExtremeRanks<T extends ProblemData> {
      * @return the worst rank for the analyzed DMU
      */
     int maxRank(T data, int subjectDmuIdx);
+
+    /**
+     * returns the strategy used to solve the per-DMU problems in the *ForAll methods
+     *
+     * @return {@link ExecutionStrategy} used by this object
+     */
+    default ExecutionStrategy getExecutionStrategy() {
+        return ExecutionStrategy.sequential();
+    }
 }
@@ -1,7 +1,6 @@
 package put.dea.robustness;
 
 import java.util.List;
-import java.util.stream.IntStream;
 
 /**
  * Calculates the extreme efficiency distances to the best DMU and super-distance measure
@@ -9,6 +8,50 @@ import java.util.stream.IntStream;
  */
 public class HierarchicalVDEAExtremeDistances
         implements ExtremeDistances<HierarchicalVDEAProblemData> {
+    private ExecutionStrategy executionStrategy = ExecutionStrategy.sequential();
+    private SolverBackend solverBackend = SolverBackend.AUTOMATIC;
+
+    /**
+     * returns the strategy used to solve the per-DMU problems in the *ForAll methods
+     *
+     * @return {@link ExecutionStrategy} used by this object
+     */
+    @Override
+    public ExecutionStrategy getExecutionStrategy() {
+        return executionStrategy;
+    }
+
+    /**
+     * sets the strategy used to solve the per-DMU problems in the *ForAll methods
+     *
+     * @param executionStrategy {@link ExecutionStrategy} to be used
+     */
+    public void setExecutionStrategy(ExecutionStrategy executionStrategy) {
+        if (executionStrategy == null)
+            throw new IllegalArgumentException("Execution strategy cannot be null");
+        this.executionStrategy = executionStrategy;
+    }
+
+    /**
+     * returns the backend used to solve the optimization models
+     *
+     * @return {@link SolverBackend} used by this object
+     */
+    public SolverBackend getSolverBackend() {
+        return solverBackend;
+    }
+
+    /**
+     * sets the backend used to solve the optimization models
+     *
+     * @param solverBackend {@link SolverBackend} to be used
+     */
+    public void setSolverBackend(SolverBackend solverBackend) {
+        if (solverBackend == null)
+            throw new IllegalArgumentException("Solver backend cannot be null");
+        this.solverBackend = solverBackend;
+    }
+
     /**
      * returns minimal distance of each DMU to the best one
      * at given level of the hierarchy of factors
@@ -19,9 +62,8 @@ public class HierarchicalVDEAExtremeDistances
      */
     public List<Double> minDistanceForAll(HierarchicalVDEAProblemData data,
                                           String hierarchyLevel) {
-        return IntStream.range(0, data.getDmuCount())
-                .mapToObj(dmu -> minDistance(data, dmu, hierarchyLevel))
-                .toList();
+        var dataForModel = data.prepareDataForModel(hierarchyLevel);
+        return createVDEAExtremeDistances().minDistanceForAll(dataForModel);
     }
 
     /**
@@ -35,8 +77,7 @@ public class HierarchicalVDEAExtremeDistances
      */
     public double minDistance(HierarchicalVDEAProblemData data, int subjectDmuIdx, String hierarchyLevel) {
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
-        var vdeaExtremeDistances = new VDEAExtremeDistances();
-        return vdeaExtremeDistances.minDistance(dataForModel, subjectDmuIdx);
+        return createVDEAExtremeDistances().minDistance(dataForModel, subjectDmuIdx);
     }
 
     /**
@@ -49,9 +90,8 @@ public class HierarchicalVDEAExtremeDistances
      */
     public List<Double> maxDistanceForAll(HierarchicalVDEAProblemData data,
                                           String hierarchyLevel) {
-        return IntStream.range(0, data.getDmuCount())
-                .mapToObj(dmu -> maxDistance(data, dmu, hierarchyLevel))
-                .toList();
+        var dataForModel = data.prepareDataForModel(hierarchyLevel);
+        return createVDEAExtremeDistances().maxDistanceForAll(dataForModel);
     }
 
     /**
@@ -67,8 +107,7 @@ public class HierarchicalVDEAExtremeDistances
                               int subjectDmuIdx,
                               String hierarchyLevel) {
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
-        var vdeaExtremeEfficiencies = new VDEAExtremeDistances();
-        return vdeaExtremeEfficiencies.maxDistance(dataForModel, subjectDmuIdx);
+        return createVDEAExtremeDistances().maxDistance(dataForModel, subjectDmuIdx);
     }
 
     /**
@@ -121,8 +160,7 @@ public class HierarchicalVDEAExtremeDistances
      */
     public double superDistance(HierarchicalVDEAProblemData data, int subjectDmuIdx, String hierarchyLevel) {
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
-        var vdeaExtremeDistances = new VDEAExtremeDistances();
-        return vdeaExtremeDistances.superDistance(dataForModel, subjectDmuIdx);
+        return createVDEAExtremeDistances().superDistance(dataForModel, subjectDmuIdx);
     }
 
     /**
@@ -134,9 +172,50 @@ public class HierarchicalVDEAExtremeDistances
      * @return {@link List} of super-distance values of DMUs to the best one
      */
     public List<Double> superDistanceForAll(HierarchicalVDEAProblemData data, String hierarchyLevel) {
-        return IntStream.range(0, data.getDmuCount())
-                .mapToDouble(idx -> superDistance(data, idx, hierarchyLevel))
-                .boxed()
-                .toList();
+        var dataForModel = data.prepareDataForModel(hierarchyLevel);
+        return createVDEAExtremeDistances().superDistanceForAll(dataForModel);
+    }
+
+    /**
+     * returns the minimal distance of each DMU to the best one
+     * when considering the root level of the factors' hierarchy
+     *
+     * @param data object containing information about the analyzed data set
+     * @return {@link List} of minimal distance values for each DMU in the considered data set
+     */
+    @Override
+    public List<Double> minDistanceForAll(HierarchicalVDEAProblemData data) {
+        return minDistanceForAll(data, data.getHierarchy().getName());
+    }
+
+    /**
+     * returns the maximal distance of each DMU to the best one
+     * when considering the root level of the factors' hierarchy
+     *
+     * @param data object containing information about the analyzed data set
+     * @return {@link List} of maximal distance values for each DMU in the considered data set
+     */
+    @Override
+    public List<Double> maxDistanceForAll(HierarchicalVDEAProblemData data) {
+        return maxDistanceForAll(data, data.getHierarchy().getName());
+    }
+
+    /**
+     * returns the super-distance measure of each DMU to the best one
+     * when considering the root level of the factors' hierarchy
+     *
+     * @param data object containing information about the analyzed data set
+     * @return {@link List} of super-distance values for each DMU in the considered data set
+     */
+    @Override
+    public List<Double> superDistanceForAll(HierarchicalVDEAProblemData data) {
+        return superDistanceForAll(data, data.getHierarchy().getName());
+    }
+
+    private VDEAExtremeDistances createVDEAExtremeDistances() {
+        var vdeaExtremeDistances = new VDEAExtremeDistances();
+        vdeaExtremeDistances.setExecutionStrategy(executionStrategy);
+        vdeaExtremeDistances.setSolverBackend(solverBackend);
+        return vdeaExtremeDistances;
     }
 }
@@ -1,7 +1,6 @@
 package put.dea.robustness;
 
 import java.util.List;
-import java.util.stream.IntStream;
 
 /**
  * Calculates the extreme efficiency scores
@@ -9,6 +8,50 @@ import java.util.stream.IntStream;
  */
 public class HierarchicalVDEAExtremeEfficiencies
         implements ExtremeEfficiency<HierarchicalVDEAProblemData> {
+    private ExecutionStrategy executionStrategy = ExecutionStrategy.sequential();
+    private SolverBackend solverBackend = SolverBackend.AUTOMATIC;
+
+    /**
+     * returns the strategy used to solve the per-DMU problems in the *ForAll methods
+     *
+     * @return {@link ExecutionStrategy} used by this object
+     */
+    @Override
+    public ExecutionStrategy getExecutionStrategy() {
+        return executionStrategy;
+    }
+
+    /**
+     * sets the strategy used to solve the per-DMU problems in the *ForAll methods
+     *
+     * @param executionStrategy {@link ExecutionStrategy} to be used
+     */
+    public void setExecutionStrategy(ExecutionStrategy executionStrategy) {
+        if (executionStrategy == null)
+            throw new IllegalArgumentException("Execution strategy cannot be null");
+        this.executionStrategy = executionStrategy;
+    }
+
+    /**
+     * returns the backend used to solve the optimization models
+     *
+     * @return {@link SolverBackend} used by this object
+     */
+    public SolverBackend getSolverBackend() {
+        return solverBackend;
+    }
+
+    /**
+     * sets the backend used to solve the optimization models
+     *
+     * @param solverBackend {@link SolverBackend} to be used
+     */
+    public void setSolverBackend(SolverBackend solverBackend) {
+        if (solverBackend == null)
+            throw new IllegalArgumentException("Solver backend cannot be null");
+        this.solverBackend = solverBackend;
+    }
+
     /**
      * returns the maximal efficiency score of the specified DMU
      * at the root level of the hierarchy of factors
@@ -34,8 +77,7 @@ public class HierarchicalVDEAExtremeEfficiencies
     public double maxEfficiency(HierarchicalVDEAProblemData data, int subjectDmuIdx,
                                 String hierarchyLevel) {
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
-        VDEAExtremeEfficiencies vdeaExtremeEfficiencies = new VDEAExtremeEfficiencies();
-        return vdeaExtremeEfficiencies.maxEfficiency(dataForModel, subjectDmuIdx);
+        return createVDEAExtremeEfficiencies().maxEfficiency(dataForModel, subjectDmuIdx);
     }
 
     /**
@@ -63,8 +105,7 @@ public class HierarchicalVDEAExtremeEfficiencies
     public double minEfficiency(HierarchicalVDEAProblemData data, int subjectDmuIdx,
                                 String hierarchyLevel) {
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
-        VDEAExtremeEfficiencies vdeaExtremeEfficiencies = new VDEAExtremeEfficiencies();
-        return vdeaExtremeEfficiencies.minEfficiency(dataForModel, subjectDmuIdx);
+        return createVDEAExtremeEfficiencies().minEfficiency(dataForModel, subjectDmuIdx);
     }
 
     /**
@@ -77,9 +118,8 @@ public class HierarchicalVDEAExtremeEfficiencies
      */
     public List<Double> minEfficiencyForAll(HierarchicalVDEAProblemData data,
                                             String hierarchyLevel) {
-        return IntStream.range(0, data.getDmuCount())
-                .mapToObj(dmu -> minEfficiency(data, dmu, hierarchyLevel))
-                .toList();
+        var dataForModel = data.prepareDataForModel(hierarchyLevel);
+        return createVDEAExtremeEfficiencies().minEfficiencyForAll(dataForModel);
     }
 
     /**
@@ -92,8 +132,38 @@ public class HierarchicalVDEAExtremeEfficiencies
      */
     public List<Double> maxEfficiencyForAll(HierarchicalVDEAProblemData data,
                                             String hierarchyLevel) {
-        return IntStream.range(0, data.getDmuCount())
-                .mapToObj(dmu -> maxEfficiency(data, dmu, hierarchyLevel))
-                .toList();
+        var dataForModel = data.prepareDataForModel(hierarchyLevel);
+        return createVDEAExtremeEfficiencies().maxEfficiencyForAll(dataForModel);
+    }
+
+    /**
+     * returns the maximal efficiency score of each DMU
+     * at the root level of the hierarchy of factors
+     *
+     * @param data object containing information about the analyzed data set
+     * @return {@link List} of maximal efficiency scores for each DMU in the considered data set
+     */
+    @Override
+    public List<Double> maxEfficiencyForAll(HierarchicalVDEAProblemData data) {
+        return maxEfficiencyForAll(data, data.getHierarchy().getName());
+    }
+
+    /**
+     * returns the minimal efficiency score of each DMU
+     * at the root level of the hierarchy of factors
+     *
+     * @param data object containing information about the analyzed data set
+     * @return {@link List} of minimal efficiency scores for each DMU in the considered data set
+     */
+    @Override
+    public List<Double> minEfficiencyForAll(HierarchicalVDEAProblemData data) {
+        return minEfficiencyForAll(data, data.getHierarchy().getName());
+    }
+
+    private VDEAExtremeEfficiencies createVDEAExtremeEfficiencies() {
+        var vdeaExtremeEfficiencies = new VDEAExtremeEfficiencies();
+        vdeaExtremeEfficiencies.setExecutionStrategy(executionStrategy);
+        vdeaExtremeEfficiencies.setSolverBackend(solverBackend);
+        return vdeaExtremeEfficiencies;
     }
 }
@@ -1,7 +1,6 @@
 package put.dea.robustness;
 
 import java.util.List;
-import java.util.stream.IntStream;
 
 /**
  * Calculates the extreme efficiency ranks
@@ -9,6 +8,50 @@ import java.util.stream.IntStream;
  */
 public class HierarchicalVDEAExtremeRanks
         implements ExtremeRanks<HierarchicalVDEAProblemData> {
+    private ExecutionStrategy executionStrategy = ExecutionStrategy.sequential();
+    private SolverBackend solverBackend = SolverBackend.AUTOMATIC;
+
+    /**
+     * returns the strategy used to solve the per-DMU problems in the *ForAll methods
+     *
+     * @return {@link ExecutionStrategy} used by this object
+     */
+    @Override
+    public ExecutionStrategy getExecutionStrategy() {
+        return executionStrategy;
+    }
+
+    /**
+     * sets the strategy used to solve the per-DMU problems in the *ForAll methods
+     *
+     * @param executionStrategy {@link ExecutionStrategy} to be used
+     */
+    public void setExecutionStrategy(ExecutionStrategy executionStrategy) {
+        if (executionStrategy == null)
+            throw new IllegalArgumentException("Execution strategy cannot be null");
+        this.executionStrategy = executionStrategy;
+    }
+
+    /**
+     * returns the backend used to solve the optimization models
+     *
+     * @return {@link SolverBackend} used by this object
+     */
+    public SolverBackend getSolverBackend() {
+        return solverBackend;
+    }
+
+    /**
+     * sets the backend used to solve the optimization models
+     *
+     * @param solverBackend {@link SolverBackend} to be used
+     */
+    public void setSolverBackend(SolverBackend solverBackend) {
+        if (solverBackend == null)
+            throw new IllegalArgumentException("Solver backend cannot be null");
+        this.solverBackend = solverBackend;
+    }
+
 
     /**
      * returns the best (minimal) efficiency rank of each DMU
@@ -20,9 +63,8 @@ public class HierarchicalVDEAExtremeRanks
      */
     public List<Integer> minRankForAll(HierarchicalVDEAProblemData data,
                                        String hierarchyLevel) {
-        return IntStream.range(0, data.getDmuCount())
-                .mapToObj(dmu -> minRank(data, dmu, hierarchyLevel))
-                .toList();
+        var dataForModel = data.prepareDataForModel(hierarchyLevel);
+        return createVDEAExtremeRanks().minRankForAll(dataForModel);
     }
 
     /**
@@ -36,8 +78,7 @@ public class HierarchicalVDEAExtremeRanks
      */
     public int minRank(HierarchicalVDEAProblemData data, int subjectDmuIdx, String hierarchyLevel) {
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
-        var vdeaExtremeRanks = new VDEAExtremeRanks();
-        return vdeaExtremeRanks.minRank(dataForModel, subjectDmuIdx);
+        return createVDEAExtremeRanks().minRank(dataForModel, subjectDmuIdx);
     }
 
     /**
@@ -50,9 +91,8 @@ public class HierarchicalVDEAExtremeRanks
      */
     public List<Integer> maxRankForAll(HierarchicalVDEAProblemData data,
                                        String hierarchyLevel) {
-        return IntStream.range(0, data.getDmuCount())
-                .mapToObj(dmu -> maxRank(data, dmu, hierarchyLevel))
-                .toList();
+        var dataForModel = data.prepareDataForModel(hierarchyLevel);
+        return createVDEAExtremeRanks().maxRankForAll(dataForModel);
     }
 
     /**
@@ -68,8 +108,7 @@ public class HierarchicalVDEAExtremeRanks
                        int subjectDmuIdx,
                        String hierarchyLevel) {
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
-        var vdeaExtremeRanks = new VDEAExtremeRanks();
-        return vdeaExtremeRanks.maxRank(dataForModel, subjectDmuIdx);
+        return createVDEAExtremeRanks().maxRank(dataForModel, subjectDmuIdx);
     }
 
     /**
@@ -97,4 +136,35 @@ public class HierarchicalVDEAExtremeRanks
     public int maxRank(HierarchicalVDEAProblemData data, int subjectDmuIdx) {
         return maxRank(data, subjectDmuIdx, data.getHierarchy().getName());
     }
+
+    /**
+     * returns the best (minimal) efficiency rank of each DMU
+     * at the root level of the hierarchy of factors
+     *
+     * @param data object containing information about the analyzed data set
+     * @return {@link List} of minimal efficiency ranks for each DMU in the considered data set
+     */
+    @Override
+    public List<Integer> minRankForAll(HierarchicalVDEAProblemData data) {
+        return minRankForAll(data, data.getHierarchy().getName());
+    }
+
+    /**
+     * returns the worst (maximal) efficiency rank of each DMU
+     * at the root level of the hierarchy of factors
+     *
+     * @param data object containing information about the analyzed data set
+     * @return {@link List} of maximal efficiency ranks for each DMU in the considered data set
+     */
+    @Override
+    public List<Integer> maxRankForAll(HierarchicalVDEAProblemData data) {
+        return maxRankForAll(data, data.getHierarchy().getName());
+    }
+
+    private VDEAExtremeRanks createVDEAExtremeRanks() {
+        var vdeaExtremeRanks = new VDEAExtremeRanks();
+        vdeaExtremeRanks.setExecutionStrategy(executionStrategy);
+        vdeaExtremeRanks.setSolverBackend(solverBackend);
+        return vdeaExtremeRanks;
+    }
 }
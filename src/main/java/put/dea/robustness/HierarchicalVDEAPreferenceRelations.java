@@ -8,6 +8,27 @@ import java.util.List;
  */
 public class HierarchicalVDEAPreferenceRelations
         implements PreferenceRelations<HierarchicalVDEAProblemData> {
+    private SolverBackend solverBackend = SolverBackend.AUTOMATIC;
+
+    /**
+     * returns the backend used to solve the optimization models
+     *
+     * @return {@link SolverBackend} used by this object
+     */
+    public SolverBackend getSolverBackend() {
+        return solverBackend;
+    }
+
+    /**
+     * sets the backend used to solve the optimization models
+     *
+     * @param solverBackend {@link SolverBackend} to be used
+     */
+    public void setSolverBackend(SolverBackend solverBackend) {
+        if (solverBackend == null)
+            throw new IllegalArgumentException("Solver backend cannot be null");
+        this.solverBackend = solverBackend;
+    }
 
     /**
      * verifies if DMU with index subjectDmuIdx is necessarily preferred to
@@ -40,8 +61,7 @@ public class HierarchicalVDEAPreferenceRelations
                                           int relativeDmuIdx,
                                           String hierarchyLevel) {
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
-        var preferenceRelations = new VDEAPreferenceRelations();
-        return preferenceRelations.isNecessarilyPreferred(dataForModel, subjectDmuIdx, relativeDmuIdx);
+        return createVDEAPreferenceRelations().isNecessarilyPreferred(dataForModel, subjectDmuIdx, relativeDmuIdx);
     }
 
     /**
@@ -77,8 +97,7 @@ public class HierarchicalVDEAPreferenceRelations
                                        int relativeDmuIdx,
                                        String hierarchyLevel) {
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
-        var preferenceRelations = new VDEAPreferenceRelations();
-        return preferenceRelations.isPossiblyPreferred(dataForModel,
+        return createVDEAPreferenceRelations().isPossiblyPreferred(dataForModel,
                 subjectDmuIdx,
                 relativeDmuIdx);
     }
@@ -95,8 +114,7 @@ public class HierarchicalVDEAPreferenceRelations
     public List<List<Boolean>> checkPossiblePreferenceForAll(HierarchicalVDEAProblemData data,
                                                              String hierarchyLevel) {
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
-        var preferenceRelations = new VDEAPreferenceRelations();
-        return preferenceRelations.checkPossiblePreferenceForAll(dataForModel);
+        return createVDEAPreferenceRelations().checkPossiblePreferenceForAll(dataForModel);
     }
 
     /**
@@ -111,7 +129,12 @@ public class HierarchicalVDEAPreferenceRelations
     public List<List<Boolean>> checkNecessaryPreferenceForAll(HierarchicalVDEAProblemData data,
                                                               String hierarchyLevel) {
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
+        return createVDEAPreferenceRelations().checkNecessaryPreferenceForAll(dataForModel);
+    }
+
+    private VDEAPreferenceRelations createVDEAPreferenceRelations() {
         var preferenceRelations = new VDEAPreferenceRelations();
-        return preferenceRelations.checkNecessaryPreferenceForAll(dataForModel);
+        preferenceRelations.setSolverBackend(solverBackend);
+        return preferenceRelations;
     }
 }
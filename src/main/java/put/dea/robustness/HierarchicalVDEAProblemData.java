@@ -64,11 +64,10 @@ public class HierarchicalVDEAProblemData extends VDEAProblemData {
 
         var node = hierarchy.findNodeByName(hierarchyLevel);
         var factors = node.findAllChildFactors();
-        var inputs = getInputData().columnNames().stream().filter(factors::contains).toList().toArray(new String[0]);
-        var outputs = getOutputData().columnNames().stream().filter(factors::contains).toList().toArray(new String[0]);
-        var inputsTable = getInputData().retainColumns(inputs);
-        var outputsTable = getOutputData().retainColumns(outputs);
-        var dataForModel = new VDEAProblemData(inputsTable, outputsTable);
+        var inputs = getInputMatrix().getFactorNames().stream().filter(factors::contains).toList();
+        var outputs = getOutputMatrix().getFactorNames().stream().filter(factors::contains).toList();
+        var dataForModel = new VDEAProblemData(getInputMatrix().selectFactors(inputs),
+                getOutputMatrix().selectFactors(outputs));
         var constraints = parseWeightConstraints(node);
         dataForModel.setWeightConstraints(constraints);
         dataForModel.setFunctionShapes(getFunctionShapes());
@@ -76,6 +76,6 @@ public class HierarchicalVDEASmaaDistance extends VDEASmaaBase
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
         var smaaDistance = new VDEASmaaDistance(numberOfSamples,
                 numberOfIntervals, random);
-        return smaaDistance.distanceDistribution(dataForModel);
+        return analyzeWithDelegate(smaaDistance, smaa -> smaa.distanceDistribution(dataForModel));
     }
 }
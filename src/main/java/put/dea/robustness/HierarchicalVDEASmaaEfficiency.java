@@ -78,6 +78,6 @@ public class HierarchicalVDEASmaaEfficiency extends VDEASmaaBase
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
         var smaaEfficiency = new VDEASmaaEfficiency(numberOfSamples,
                 numberOfIntervals, random);
-        return smaaEfficiency.efficiencyDistribution(dataForModel);
+        return analyzeWithDelegate(smaaEfficiency, smaa -> smaa.efficiencyDistribution(dataForModel));
     }
 }
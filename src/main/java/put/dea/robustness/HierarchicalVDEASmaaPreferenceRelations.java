@@ -52,6 +52,6 @@ public class HierarchicalVDEASmaaPreferenceRelations extends VDEASmaaBase
     public Table peoi(HierarchicalVDEAProblemData data, String hierarchyLevel) {
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
         var smaaPreferenceRelations = new VDEASmaaPreferenceRelations(numberOfSamples, random);
-        return smaaPreferenceRelations.peoi(dataForModel);
+        return analyzeWithDelegate(smaaPreferenceRelations, smaa -> smaa.peoi(dataForModel));
     }
 }
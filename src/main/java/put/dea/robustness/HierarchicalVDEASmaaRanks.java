@@ -55,6 +55,6 @@ public class HierarchicalVDEASmaaRanks extends VDEASmaaBase
                                                String hierarchyLevel) {
         var dataForModel = data.prepareDataForModel(hierarchyLevel);
         var smaaRanks = new VDEASmaaRanks(numberOfSamples, random);
-        return smaaRanks.rankDistribution(dataForModel);
+        return analyzeWithDelegate(smaaRanks, smaa -> smaa.rankDistribution(dataForModel));
     }
 }
@@ -46,7 +46,7 @@ public class ImpreciseCCRExtremeEfficiency extends CCRRobustnessBase
                 subjectDmuIdx,
                 ResultType.PESSIMISTIC);
 
-        var model = makeModel(OptimizationSense.MINIMIZE);
+        var model = makeModel(OptimizationSense.MINIMIZE, true);
 
         prepareWeightAndOrdinalVariables(data, model);
         var binVariables = model.makeBoolVarArray(data.getDmuCount());
@@ -55,15 +55,15 @@ public class ImpreciseCCRExtremeEfficiency extends CCRRobustnessBase
                 data.getImpreciseInformation().getOrdinalFactors(), subjectDmuIdx);
 
         var constraint = model.makeConstraint(1, 1);
-        impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getInputData(),
+        impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getInputMatrix(),
                 data.getImpreciseInformation().getOrdinalFactors(), subjectDmuIdx, false);
 
         for (int k = 0; k < data.getDmuCount(); k++) {
             constraint = model.makeConstraint(-MPSolver.infinity(), C);
             constraint.setCoefficient(binVariables[k], C);
-            impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getInputData(),
+            impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getInputMatrix(),
                     data.getImpreciseInformation().getOrdinalFactors(), k, false);
-            impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getOutputData(),
+            impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getOutputMatrix(),
                     data.getImpreciseInformation().getOrdinalFactors(), k, true);
         }
         impreciseCommonUtils.addMonotonicityConstraints(model, data.getImpreciseInformation());
@@ -89,15 +89,15 @@ public class ImpreciseCCRExtremeEfficiency extends CCRRobustnessBase
                 data.getImpreciseInformation().getOrdinalFactors(), subjectDmuIdx);
 
         var constraint = model.makeConstraint(1, 1);
-        impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getInputData(),
+        impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getInputMatrix(),
                 data.getImpreciseInformation().getOrdinalFactors(), subjectDmuIdx, false);
 
         for (int k = 0; k < data.getDmuCount(); k++) {
             if (!superEfficiency || k != subjectDmuIdx) {
                 constraint = model.makeConstraint(0, MPSolver.infinity());
-                impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getInputData(),
+                impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getInputMatrix(),
                         data.getImpreciseInformation().getOrdinalFactors(), k, false);
-                impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getOutputData(),
+                impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getOutputMatrix(),
                         data.getImpreciseInformation().getOrdinalFactors(), k, true);
             }
         }
@@ -108,8 +108,8 @@ public class ImpreciseCCRExtremeEfficiency extends CCRRobustnessBase
     }
 
     private void prepareWeightAndOrdinalVariables(CCRImpreciseProblemData data, MPSolver model) {
-        makeWeightVariables(model, data.getInputData());
-        makeWeightVariables(model, data.getOutputData());
+        makeWeightVariables(model, data.getInputMatrix());
+        makeWeightVariables(model, data.getOutputMatrix());
         impreciseCommonUtils.makeOrdinalFactorVariables(model,
                 data.getImpreciseInformation(),
                 data.getDmuCount());
@@ -42,7 +42,7 @@ public class ImpreciseCCRExtremeRanks extends CCRRobustnessBase implements Extre
 
     private int createModel(CCRImpreciseProblemData data, int subjectDmuIdx, OptimizationSense sense,
                             Double constraintsLower, Double constraintUpper) {
-        var model = makeModel(sense);
+        var model = makeModel(sense, true);
         var resultType = ResultType.OPTIMISTIC;
         if (sense == OptimizationSense.MAXIMIZE)
             resultType = ResultType.PESSIMISTIC;
@@ -50,8 +50,8 @@ public class ImpreciseCCRExtremeRanks extends CCRRobustnessBase implements Extre
         var preciseValues = performanceConverter.convertPerformanceToPrecise(data.getImpreciseInformation(),
                 subjectDmuIdx, resultType);
 
-        makeWeightVariables(model, data.getInputData());
-        makeWeightVariables(model, data.getOutputData());
+        makeWeightVariables(model, data.getInputMatrix());
+        makeWeightVariables(model, data.getOutputMatrix());
         impreciseCommonUtils.makeOrdinalFactorVariables(model,
                 data.getImpreciseInformation(),
                 data.getDmuCount());
@@ -59,18 +59,18 @@ public class ImpreciseCCRExtremeRanks extends CCRRobustnessBase implements Extre
                 .createBinaryVariablesAndObjective(model, data.getDmuCount(), subjectDmuIdx);
 
         var inputSumConstraint = model.makeConstraint(1, 1);
-        impreciseCommonUtils.setConstraintCoefficients(model, inputSumConstraint, preciseValues.getInputData(),
+        impreciseCommonUtils.setConstraintCoefficients(model, inputSumConstraint, preciseValues.getInputMatrix(),
                 data.getImpreciseInformation().getOrdinalFactors(), subjectDmuIdx, false);
         var outputSumConstraint = model.makeConstraint(1, 1);
-        impreciseCommonUtils.setConstraintCoefficients(model, outputSumConstraint, preciseValues.getOutputData(),
+        impreciseCommonUtils.setConstraintCoefficients(model, outputSumConstraint, preciseValues.getOutputMatrix(),
                 data.getImpreciseInformation().getOrdinalFactors(), subjectDmuIdx, false);
 
         for (int k = 0; k < data.getDmuCount(); k++) {
             if (k != subjectDmuIdx) {
                 var constraint = model.makeConstraint(constraintsLower, constraintUpper);
-                impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getInputData(),
+                impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getInputMatrix(),
                         data.getImpreciseInformation().getOrdinalFactors(), k, false);
-                impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getOutputData(),
+                impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getOutputMatrix(),
                         data.getImpreciseInformation().getOrdinalFactors(), k, true);
                 constraint.setCoefficient(binVariables[k], C);
             }
@@ -7,6 +7,7 @@ package put.dea.robustness;
 public class ImpreciseCCRPreferenceRelations extends CCRRobustnessBase implements PreferenceRelations<CCRImpreciseProblemData> {
     private static final double MODEL_SOLUTION_EPSILON = 1e-10;
 
+    private final double alpha;
     private final ImpreciseCommonUtils impreciseCommonUtils;
     private final ImprecisePerformanceConverter performanceConverter = new ImprecisePerformanceConverter();
 
@@ -25,9 +26,45 @@ public class ImpreciseCCRPreferenceRelations extends CCRRobustnessBase implement
      */
     public ImpreciseCCRPreferenceRelations(double alpha, double epsilon) {
         super();
+        this.alpha = alpha;
         impreciseCommonUtils = new ImpreciseCommonUtils(alpha, epsilon);
     }
 
+    @Override
+    public PreferenceMatrix necessaryPreferenceMatrix(CCRImpreciseProblemData data) {
+        return DominanceScreening.checkForAll(data.getDmuCount(),
+                subjectDmuIdx -> screenRelations(data, subjectDmuIdx, ResultType.PESSIMISTIC),
+                (subjectDmuIdx, relativeDmuIdx) -> isNecessarilyPreferred(data, subjectDmuIdx, relativeDmuIdx));
+    }
+
+    @Override
+    public PreferenceMatrix possiblePreferenceMatrix(CCRImpreciseProblemData data) {
+        return DominanceScreening.checkForAll(data.getDmuCount(),
+                subjectDmuIdx -> screenRelations(data, subjectDmuIdx, ResultType.OPTIMISTIC),
+                (subjectDmuIdx, relativeDmuIdx) -> isPossiblyPreferred(data, subjectDmuIdx, relativeDmuIdx));
+    }
+
+    /**
+     * screens the relations using the performances of the model:
+     * the worst performances of the subject DMU and the best performances of other DMUs
+     * for the necessary relation and the opposite for the possible relation
+     */
+    private Boolean[] screenRelations(CCRImpreciseProblemData data, int subjectDmuIdx, ResultType resultType) {
+        var preciseValues = performanceConverter.convertPerformanceToPrecise(data.getImpreciseInformation(),
+                subjectDmuIdx, resultType);
+        var ordinalFactors = data.getImpreciseInformation().getOrdinalFactors();
+        var relations = new Boolean[data.getDmuCount()];
+        for (int relativeDmuIdx = 0; relativeDmuIdx < data.getDmuCount(); relativeDmuIdx++) {
+            var bounds = DominanceScreening.calculateRatioBounds(preciseValues, ordinalFactors, alpha,
+                    subjectDmuIdx, relativeDmuIdx);
+            if (bounds[0] >= 1 - MODEL_SOLUTION_EPSILON)
+                relations[relativeDmuIdx] = true;
+            else if (bounds[1] < 1 - MODEL_SOLUTION_EPSILON)
+                relations[relativeDmuIdx] = false;
+        }
+        return relations;
+    }
+
     @Override
     public boolean isNecessarilyPreferred(CCRImpreciseProblemData data, int subjectDmuIdx, int relativeDmuIdx) {
         return createPreferenceRelationProblem(data, subjectDmuIdx, relativeDmuIdx, OptimizationSense.MINIMIZE);
@@ -50,26 +87,26 @@ public class ImpreciseCCRPreferenceRelations extends CCRRobustnessBase implement
         var preciseValues = performanceConverter.convertPerformanceToPrecise(data.getImpreciseInformation(),
                 subjectDmuIdx, resultType);
 
-        makeWeightVariables(model, data.getInputData());
-        makeWeightVariables(model, data.getOutputData());
+        makeWeightVariables(model, data.getInputMatrix());
+        makeWeightVariables(model, data.getOutputMatrix());
         impreciseCommonUtils.addPairwiseMonotonicityConstraints(model,
                 data.getImpreciseInformation().getOrdinalFactors(),
                 preciseValues, subjectDmuIdx, relativeDmuIdx);
 
         var inputSumConstrains = model.makeConstraint(1, 1);
-        impreciseCommonUtils.setConstraintCoefficients(model, inputSumConstrains, preciseValues.getInputData(),
+        impreciseCommonUtils.setConstraintCoefficients(model, inputSumConstrains, preciseValues.getInputMatrix(),
                 data.getImpreciseInformation().getOrdinalFactors(), subjectDmuIdx, false);
 
         impreciseCommonUtils.prepareModelObjective(model, preciseValues,
                 data.getImpreciseInformation().getOrdinalFactors(), subjectDmuIdx);
         var outputSumConstraint = model.makeConstraint(0, C);
-        impreciseCommonUtils.setConstraintCoefficients(model, outputSumConstraint, preciseValues.getOutputData(),
+        impreciseCommonUtils.setConstraintCoefficients(model, outputSumConstraint, preciseValues.getOutputMatrix(),
                 data.getImpreciseInformation().getOrdinalFactors(), subjectDmuIdx, false);
 
         var constraint = model.makeConstraint(0, 0);
-        impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getInputData(),
+        impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getInputMatrix(),
                 data.getImpreciseInformation().getOrdinalFactors(), relativeDmuIdx, false);
-        impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getOutputData(),
+        impreciseCommonUtils.setConstraintCoefficients(model, constraint, preciseValues.getOutputMatrix(),
                 data.getImpreciseInformation().getOrdinalFactors(), relativeDmuIdx, true);
 
         addCustomWeightConstraints(data, model);
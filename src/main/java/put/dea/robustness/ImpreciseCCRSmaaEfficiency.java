@@ -50,25 +50,9 @@ public class ImpreciseCCRSmaaEfficiency extends CCRSmaaBase implements SmaaEffic
 
     @Override
     public DistributionResult efficiencyDistribution(CCRImpreciseProblemData data) {
-        var weightSamples = generateWeightSamples(data);
-        var performanceSamples = impreciseSmaaUtils.generatePerformanceSamples(
-                data.getImpreciseInformation(),
-                false);
-        return calculateDistributionFromSamples(weightSamples, performanceSamples, data.getDmuCount());
+        var efficiencyBase = new SmaaEfficiencyBase(data.getDmuCount(), numberOfIntervals);
+        sampleUntilConverged(efficiencyBase, sampleCount -> impreciseSmaaUtils.processSamples(data, sampleCount,
+                efficiencies -> efficiencyBase.addSample(normalizeEfficiencies(efficiencies))));
+        return efficiencyBase.toDistributionResult(getChainDiagnostics());
     }
-
-    private DistributionResult calculateDistributionFromSamples(WeightSamplesCollection weightSamples,
-                                                                PerformanceSamplesCollection performanceSamples,
-                                                                int dmuCount) {
-        var efficiencyMatrix = impreciseSmaaUtils.calculateEfficiencyMatrixForSamples(weightSamples,
-                performanceSamples,
-                dmuCount);
-        var efficiencyBase = new SmaaEfficiencyBase(numberOfSamples, numberOfIntervals);
-        var normalizedEfficiencies = normalizeEfficiencies(efficiencyMatrix);
-        var distribution = efficiencyBase.calculateDistribution(normalizedEfficiencies);
-        var expectedEfficiency = calculateExpectedValues(normalizedEfficiencies);
-        return new DistributionResult(distribution, expectedEfficiency);
-    }
-
-
 }
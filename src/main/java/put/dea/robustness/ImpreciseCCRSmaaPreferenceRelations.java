@@ -35,13 +35,9 @@ public class ImpreciseCCRSmaaPreferenceRelations extends CCRSmaaBase implements
 
     @Override
     public Table peoi(CCRImpreciseProblemData data) {
-        var weightSamples = generateWeightSamples(data);
-        var performanceSamples = impreciseSmaaUtils.generatePerformanceSamples(
-                data.getImpreciseInformation(), false);
-        var preferenceRelationsBase = new SmaaPreferenceRelationsBase(numberOfSamples);
-        var efficiencies = impreciseSmaaUtils.calculateEfficiencyMatrixForSamples(weightSamples,
-                performanceSamples,
-                data.getDmuCount());
-        return preferenceRelationsBase.calculatePeois(efficiencies);
+        var preferenceRelationsBase = new SmaaPreferenceRelationsBase(data.getDmuCount(), getExecutionStrategy());
+        sampleUntilConverged(preferenceRelationsBase, sampleCount -> impreciseSmaaUtils.processSamples(data,
+                sampleCount, preferenceRelationsBase::addSample));
+        return preferenceRelationsBase.getPeois();
     }
 }
@@ -34,17 +34,9 @@ public class ImpreciseCCRSmaaRanks extends CCRSmaaBase implements SmaaRanks<CCRI
 
     @Override
     public DistributionResult rankDistribution(CCRImpreciseProblemData data) {
-        var weightSamples = generateWeightSamples(data);
-        var performanceSamples = impreciseSmaaUtils.generatePerformanceSamples(
-                data.getImpreciseInformation(), false);
-
-        var rankBase = new SmaaRankBase(numberOfSamples);
-        var efficiencies = impreciseSmaaUtils.calculateEfficiencyMatrixForSamples(weightSamples,
-                performanceSamples,
-                data.getDmuCount());
-        var ranks = rankBase.calculateRanksMatrix(efficiencies);
-        var distribution = rankBase.calculateRankDistribution(ranks);
-        var expectedRanks = calculateExpectedValues(ranks).stream().map(x -> x + 1).toList();
-        return new DistributionResult(distribution, expectedRanks);
+        var rankBase = new SmaaRankBase(data.getDmuCount(), getRankTieHandling());
+        sampleUntilConverged(rankBase, sampleCount -> impreciseSmaaUtils.processSamples(data, sampleCount,
+                rankBase::addSample));
+        return rankBase.toDistributionResult(getChainDiagnostics());
     }
 }
@@ -3,7 +3,6 @@ package put.dea.robustness;
 import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPSolver;
 import org.apache.commons.math3.util.Pair;
-import tech.tablesaw.api.Table;
 
 import java.util.Comparator;
 import java.util.List;
@@ -43,12 +42,13 @@ class ImpreciseCommonUtils {
         var variable = model.lookupVariableOrNull(factor + "_" + sortedIndices.get(0));
         constraint.setCoefficient(variable, 1);
 
-        var table = getInputOrOutputTable(data, factor);
-        var column = table.doubleColumn(factor);
+        var matrix = getInputOrOutputMatrix(data, factor);
+        var factorIdx = matrix.getFactorIndex(factor);
         for (int i = 1; i < sortedIndices.size(); i++) {
             constraint = model.makeConstraint();
             constraint.setLb(0);
-            if (Math.abs(column.getDouble(sortedIndices.get(i)) - column.getDouble(sortedIndices.get(i - 1))) < 1e-9) {
+            if (Math.abs(matrix.get(sortedIndices.get(i), factorIdx)
+                    - matrix.get(sortedIndices.get(i - 1), factorIdx)) < 1e-9) {
                 constraint.setUb(0);
                 constraint.setCoefficient(
                         model.lookupVariableOrNull(factor + "_" + sortedIndices.get(i)),
@@ -74,9 +74,8 @@ class ImpreciseCommonUtils {
     }
 
     public List<Integer> sortIndicesByValues(ProblemData data, String factor, boolean descending) {
-        var table = getInputOrOutputTable(data, factor);
-
-        var columnValues = table.doubleColumn(factor).asDoubleArray();
+        var matrix = getInputOrOutputMatrix(data, factor);
+        var columnValues = matrix.getColumn(matrix.getFactorIndex(factor));
 
         var comparator = Comparator.comparing(Pair<Integer, Double>::getSecond);
         if (descending)
@@ -88,10 +87,10 @@ class ImpreciseCommonUtils {
                 .toList();
     }
 
-    public Table getInputOrOutputTable(ProblemData data, String factor) {
-        if (data.getInputData().containsColumn(factor))
-            return data.getInputData();
-        return data.getOutputData();
+    public PerformanceMatrix getInputOrOutputMatrix(ProblemData data, String factor) {
+        if (data.getInputMatrix().containsFactor(factor))
+            return data.getInputMatrix();
+        return data.getOutputMatrix();
     }
 
     protected void addMonotonicityMaxConstraint(MPSolver model, String factor, int dmuIdx) {
@@ -100,20 +99,21 @@ class ImpreciseCommonUtils {
 
     public void setConstraintCoefficients(MPSolver model,
                                           MPConstraint constraint,
-                                          Table data,
+                                          PerformanceMatrix data,
                                           Set<String> ordinalFactors,
                                           int rowIdx,
                                           boolean negative) {
         int sign = negative ? -1 : 1;
 
-        for (var column : data.columnNames()) {
+        for (int factorIdx = 0; factorIdx < data.getFactorCount(); factorIdx++) {
+            var column = data.getFactorNames().get(factorIdx);
             if (ordinalFactors.contains(column)) {
                 var variable = model.lookupVariableOrNull(column + "_" + rowIdx);
                 constraint.setCoefficient(variable, sign);
             } else {
                 var variable = model.lookupVariableOrNull(column);
                 constraint.setCoefficient(variable,
-                        sign * data.row(rowIdx).getDouble(column));
+                        sign * data.get(rowIdx, factorIdx));
             }
         }
 
@@ -123,14 +123,14 @@ class ImpreciseCommonUtils {
                                       ProblemData preciseValues,
                                       Set<String> ordinalFactors,
                                       int subjectDmuIdx) {
-        for (var column : preciseValues.getOutputData().columnNames()) {
+        for (var column : preciseValues.getOutputMatrix().getFactorNames()) {
             if (ordinalFactors.contains(column)) {
                 var variable = model.lookupVariableOrNull(column + "_" + subjectDmuIdx);
                 model.objective().setCoefficient(variable, 1);
             } else {
                 var variable = model.lookupVariableOrNull(column);
                 model.objective().setCoefficient(variable,
-                        preciseValues.getOutputData().row(subjectDmuIdx).getDouble(column));
+                        preciseValues.getOutputMatrix().get(subjectDmuIdx, column));
             }
         }
     }
@@ -151,12 +151,11 @@ class ImpreciseCommonUtils {
         for (var factor : ordinalFactors) {
             var subjectVariable = model.makeNumVar(0, MPSolver.infinity(), factor + "_" + subjectDmuIdx);
             var relativeVariable = model.makeNumVar(0, MPSolver.infinity(), factor + "_" + relativeDmuIdx);
-            var table = data.getOutputData();
-            if (data.getInputData().containsColumn(factor))
-                table = data.getInputData();
+            var matrix = getInputOrOutputMatrix(data, factor);
+            var factorIdx = matrix.getFactorIndex(factor);
 
-            var subjectValue = table.row(subjectDmuIdx).getDouble(factor);
-            var relativeValue = table.row(relativeDmuIdx).getDouble(factor);
+            var subjectValue = matrix.get(subjectDmuIdx, factorIdx);
+            var relativeValue = matrix.get(relativeDmuIdx, factorIdx);
 
             var orderedVariables = List.of(subjectVariable, relativeVariable);
             if (subjectValue > relativeValue)
@@ -11,8 +11,10 @@ import java.util.Set;
 public class ImpreciseInformation {
     private final double tolerance;
     private final ProblemData data;
-    private Table maxInputs;
-    private Table maxOutputs;
+    private PerformanceMatrix maxInputMatrix;
+    private PerformanceMatrix maxOutputMatrix;
+    private volatile Table maxInputs;
+    private volatile Table maxOutputs;
     private Set<String> ordinalFactors = new HashSet<>();
 
     /**
@@ -23,11 +25,20 @@ public class ImpreciseInformation {
      * @param maxOutputs maximal output performances
      */
     public ImpreciseInformation(ProblemData data, Table maxInputs, Table maxOutputs) {
-        this(data, 0.0);
+        this(data, PerformanceMatrix.fromTable(maxInputs), PerformanceMatrix.fromTable(maxOutputs));
         this.maxInputs = maxInputs;
         this.maxOutputs = maxOutputs;
     }
 
+    ImpreciseInformation(ProblemData data, PerformanceMatrix maxInputMatrix, PerformanceMatrix maxOutputMatrix) {
+        this(data, 0.0);
+        if (maxInputMatrix.getDmuCount() != data.getDmuCount()
+                || maxOutputMatrix.getDmuCount() != data.getDmuCount())
+            throw new IllegalArgumentException("Minimal and maximal performances must be defined for the same number of DMUs");
+        this.maxInputMatrix = maxInputMatrix;
+        this.maxOutputMatrix = maxOutputMatrix;
+    }
+
     /**
      * Creates new object with tolerance
      *
@@ -40,21 +51,57 @@ public class ImpreciseInformation {
     }
 
     /**
-     * returns maximal input performances
+     * returns maximal input performances as a {@link Table} view created on the first call
      *
-     * @return maximal input performances
+     * @return maximal input performances or null if the data is imprecise due to tolerance only
      */
     public Table getMaxInputs() {
-        return maxInputs;
+        var table = maxInputs;
+        if (table == null && maxInputMatrix != null) {
+            synchronized (this) {
+                if (maxInputs == null)
+                    maxInputs = maxInputMatrix.toTable();
+                table = maxInputs;
+            }
+        }
+        return table;
     }
 
     /**
-     * returns maximal output performances
+     * returns maximal output performances as a {@link Table} view created on the first call
      *
-     * @return maximal output performances
+     * @return maximal output performances or null if the data is imprecise due to tolerance only
      */
     public Table getMaxOutputs() {
-        return maxOutputs;
+        var table = maxOutputs;
+        if (table == null && maxOutputMatrix != null) {
+            synchronized (this) {
+                if (maxOutputs == null)
+                    maxOutputs = maxOutputMatrix.toTable();
+                table = maxOutputs;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * returns maximal input performances
+     *
+     * @return {@link PerformanceMatrix} with maximal input performances
+     * or null if the data is imprecise due to tolerance only
+     */
+    public PerformanceMatrix getMaxInputMatrix() {
+        return maxInputMatrix;
+    }
+
+    /**
+     * returns maximal output performances
+     *
+     * @return {@link PerformanceMatrix} with maximal output performances
+     * or null if the data is imprecise due to tolerance only
+     */
+    public PerformanceMatrix getMaxOutputMatrix() {
+        return maxOutputMatrix;
     }
 
     /**
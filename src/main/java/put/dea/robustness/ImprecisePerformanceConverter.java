@@ -1,46 +1,38 @@
 package put.dea.robustness;
 
-import tech.tablesaw.api.DoubleColumn;
-import tech.tablesaw.api.Row;
-import tech.tablesaw.api.Table;
-
 class ImprecisePerformanceConverter {
     public ProblemData convertPerformanceToPrecise(ImpreciseInformation impreciseInformation,
                                                    int subjectDmuIdx,
                                                    ResultType resultType) {
         var dataWithTolerance = applyTolerance(impreciseInformation);
+        var maxInputs = dataWithTolerance.getImpreciseInformation().getMaxInputMatrix();
+        var maxOutputs = dataWithTolerance.getImpreciseInformation().getMaxOutputMatrix();
         if (resultType == ResultType.OPTIMISTIC)
-            return convertToPrecise(
-                    dataWithTolerance.getImpreciseInformation().getMaxInputs(),
-                    dataWithTolerance.getOutputData(),
-                    dataWithTolerance.getInputData().row(subjectDmuIdx),
-                    dataWithTolerance.getImpreciseInformation().getMaxOutputs().row(subjectDmuIdx),
-                    subjectDmuIdx);
+            return new ProblemData(
+                    maxInputs.withRow(subjectDmuIdx, dataWithTolerance.getInputMatrix()),
+                    dataWithTolerance.getOutputMatrix().withRow(subjectDmuIdx, maxOutputs));
         else
-            return convertToPrecise(
-                    dataWithTolerance.getInputData(),
-                    dataWithTolerance.getImpreciseInformation().getMaxOutputs(),
-                    dataWithTolerance.getImpreciseInformation().getMaxInputs().row(subjectDmuIdx),
-                    dataWithTolerance.getOutputData().row(subjectDmuIdx),
-                    subjectDmuIdx);
+            return new ProblemData(
+                    dataWithTolerance.getInputMatrix().withRow(subjectDmuIdx, maxInputs),
+                    maxOutputs.withRow(subjectDmuIdx, dataWithTolerance.getOutputMatrix()));
     }
 
     private CCRImpreciseProblemData applyTolerance(ImpreciseInformation impreciseInformation) {
         var tolerance = impreciseInformation.getTolerance();
-        var minInputs = applyToleranceToTable(impreciseInformation.getData().getInputData(), tolerance, true);
-        var minOutputs = applyToleranceToTable(impreciseInformation.getData().getOutputData(), tolerance, true);
+        var minInputs = applyToleranceToMatrix(impreciseInformation.getData().getInputMatrix(), tolerance, true);
+        var minOutputs = applyToleranceToMatrix(impreciseInformation.getData().getOutputMatrix(), tolerance, true);
 
-        Table maxInputs;
-        if (impreciseInformation.getMaxInputs() != null)
-            maxInputs = applyToleranceToTable(impreciseInformation.getMaxInputs(), tolerance, false);
+        PerformanceMatrix maxInputs;
+        if (impreciseInformation.getMaxInputMatrix() != null)
+            maxInputs = applyToleranceToMatrix(impreciseInformation.getMaxInputMatrix(), tolerance, false);
         else
-            maxInputs = applyToleranceToTable(impreciseInformation.getData().getInputData(), tolerance, false);
+            maxInputs = applyToleranceToMatrix(impreciseInformation.getData().getInputMatrix(), tolerance, false);
 
-        Table maxOutputs;
-        if (impreciseInformation.getMaxInputs() != null)
-            maxOutputs = applyToleranceToTable(impreciseInformation.getMaxOutputs(), tolerance, false);
+        PerformanceMatrix maxOutputs;
+        if (impreciseInformation.getMaxInputMatrix() != null)
+            maxOutputs = applyToleranceToMatrix(impreciseInformation.getMaxOutputMatrix(), tolerance, false);
         else
-            maxOutputs = applyToleranceToTable(impreciseInformation.getData().getOutputData(), tolerance, false);
+            maxOutputs = applyToleranceToMatrix(impreciseInformation.getData().getOutputMatrix(), tolerance, false);
 
         return new CCRImpreciseProblemData(
                 minInputs,
@@ -49,32 +41,8 @@ class ImprecisePerformanceConverter {
                 maxOutputs);
     }
 
-    private ProblemData convertToPrecise(Table inputs,
-                                         Table outputs,
-                                         Row subjectInputs,
-                                         Row subjectOutputs,
-                                         int subjectDmuIdx) {
-        var preciseInputs = inputs.copy();
-        var preciseOutputs = outputs.copy();
-        var subjectInputsRow = preciseInputs.row(subjectDmuIdx);
-        for (int i = 0; i < subjectInputsRow.columnCount(); i++) {
-            subjectInputsRow.setDouble(i, subjectInputs.getDouble(i));
-        }
-        var subjectOutputRow = preciseOutputs.row(subjectDmuIdx);
-        for (int i = 0; i < subjectOutputRow.columnCount(); i++) {
-            subjectOutputRow.setDouble(i, subjectOutputs.getDouble(i));
-        }
-        return new ProblemData(preciseInputs, preciseOutputs);
-    }
-
-    private Table applyToleranceToTable(Table table, double tolerance, boolean minimum) {
-        var newTable = Table.create();
-        table.columns()
-                .stream()
-                .map(c -> (DoubleColumn) c)
-                .map(column -> column.map(value -> applyToleranceToValue(value, tolerance, minimum)))
-                .forEach(newTable::addColumns);
-        return newTable;
+    private PerformanceMatrix applyToleranceToMatrix(PerformanceMatrix matrix, double tolerance, boolean minimum) {
+        return matrix.map(value -> applyToleranceToValue(value, tolerance, minimum));
     }
 
     private double applyToleranceToValue(double value, double tolerance, boolean minimum) {
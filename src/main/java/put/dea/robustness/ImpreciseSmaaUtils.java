@@ -5,9 +5,8 @@ import tech.tablesaw.api.Table;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.function.Consumer;
 
 class ImpreciseSmaaUtils {
 
@@ -21,41 +20,68 @@ class ImpreciseSmaaUtils {
 
     public PerformanceSamplesCollection generatePerformanceSamples(ImpreciseInformation impreciseInformation,
                                                                    boolean reverseOrdinalInputs) {
+        return generatePerformanceSamples(impreciseInformation, reverseOrdinalInputs, smaa.getNumberOfSamples());
+    }
+
+    public PerformanceSamplesCollection generatePerformanceSamples(ImpreciseInformation impreciseInformation,
+                                                                   boolean reverseOrdinalInputs,
+                                                                   int sampleCount) {
         var data = impreciseInformation.getData();
-        var samplesNo = smaa.getNumberOfSamples() * data.getDmuCount() * data.getColumnIndices().size();
+        var variablesPerSample = multiplySizes(data.getDmuCount(), data.getColumnIndices().size());
+        var samplesNo = multiplySizes(sampleCount, variablesPerSample);
         var samples = generateSamplesBetween0And1(samplesNo);
-        return getPerformancesBasedOnSamples(samples, impreciseInformation, reverseOrdinalInputs);
+        return getPerformancesBasedOnSamples(samples, impreciseInformation, reverseOrdinalInputs, variablesPerSample);
     }
 
-    private List<Double> generateSamplesBetween0And1(int numberOfSamples) {
+    /**
+     * multiplies the dimensions of a sample array, rejecting arrays not addressable with int indices;
+     * all offsets within an array of validated size fit in int as well
+     */
+    private static int multiplySizes(int first, int second) {
+        if (first < 0 || second < 0)
+            throw new IllegalArgumentException("Number of samples cannot be negative");
+        try {
+            return Math.multiplyExact(first, second);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Too many performance samples to generate in memory", e);
+        }
+    }
+
+    private double[] generateSamplesBetween0And1(int numberOfSamples) {
+        if (smaa.getWeightSamplingMethod() == WeightSamplingMethod.AUTOMATIC) {
+            var samples = new double[numberOfSamples];
+            for (int i = 0; i < numberOfSamples; i++)
+                samples[i] = smaa.random.nextDouble();
+            return samples;
+        }
         var lhs = new double[]{1};
         var constraints = new ConstraintsSet(List.of(lhs, lhs),
                 List.of(">=", "<="),
                 List.of(0.0, 1.0));
-        var samples = smaa.generateSamples(smaa.convertConstraintsToConstraintsSystem(constraints), numberOfSamples);
-        return Arrays.stream(samples).map(x -> x[0]).toList();
+        var samples = smaa.generateSamples(constraints, numberOfSamples);
+        var result = new double[samples.length];
+        for (int i = 0; i < samples.length; i++)
+            result[i] = samples[i][0];
+        return result;
     }
 
-    private PerformanceSamplesCollection getPerformancesBasedOnSamples(List<Double> samples,
+    private PerformanceSamplesCollection getPerformancesBasedOnSamples(double[] samples,
                                                                        ImpreciseInformation impreciseInformation,
-                                                                       boolean reverseOrdinalInputs) {
-        var result = new PerformanceSamplesCollection();
+                                                                       boolean reverseOrdinalInputs,
+                                                                       int variablesPerSample) {
         var data = impreciseInformation.getData();
-        int variablesPerSample = (data.getDmuCount() * (data.getInputCount() + data.getOutputCount()));
-        int samplesCount = samples.size() / variablesPerSample;
-        var allFactors = new ArrayList<>(data.getInputData().columnNames());
-        allFactors.addAll(data.getOutputData().columnNames());
+        int samplesCount = samples.length / variablesPerSample;
+        var result = createSamplesCollection(samplesCount, data);
+        var allFactors = new ArrayList<>(data.getInputMatrix().getFactorNames());
+        allFactors.addAll(data.getOutputMatrix().getFactorNames());
         for (int i = 0; i < samplesCount; i++) {
-            var sample = getValuesForCurrentSamples(samples, variablesPerSample, i);
-            var inputTable = Table.create();
-            var outputTable = Table.create();
+            var sampleOffset = i * variablesPerSample;
             for (var factor : allFactors) {
                 var factorIdx = data.getColumnIndices().get(factor);
                 boolean input = factorIdx < data.getInputCount();
-                var table = input ? inputTable : outputTable;
-                var factorSample = getFactorSample(sample, factorIdx, data.getDmuCount());
+                var factorSample = getFactorSample(samples, sampleOffset, factorIdx, data.getDmuCount());
 
-                List<Double> performances;
+                double[] performances;
                 if (impreciseInformation.getOrdinalFactors().contains(factor)) {
                     performances = handleOrdinalSamples(data, factor, factorSample,
                             reverseOrdinalInputs && input);
@@ -63,172 +89,192 @@ class ImpreciseSmaaUtils {
                     performances = handleImpreciseFactorSample(impreciseInformation, factor,
                             factorSample, input);
                 }
-                table.addColumns(DoubleColumn.create(factor, performances));
+                if (input)
+                    result.setInputColumn(i, factorIdx, performances);
+                else
+                    result.setOutputColumn(i, factorIdx - data.getInputCount(), performances);
             }
-            result.getInputPerformances().add(inputTable);
-            result.getOutputPerformances().add(outputTable);
         }
         return result;
     }
 
-    private List<Double> getValuesForCurrentSamples(List<Double> samples, int variablesPerSample, int sampleIdx) {
-        return samples.stream()
-                .skip((long) sampleIdx * variablesPerSample)
-                .limit(variablesPerSample)
-                .toList();
+    private PerformanceSamplesCollection createSamplesCollection(int samplesCount, ProblemData data) {
+        return new PerformanceSamplesCollection(samplesCount,
+                data.getDmuCount(),
+                data.getInputMatrix().getFactorNames(),
+                data.getOutputMatrix().getFactorNames());
     }
 
-    private List<Double> getFactorSample(List<Double> sample, int factorIdx, int dmuCount) {
-        return sample.stream()
-                .skip((long) factorIdx * dmuCount)
-                .limit(dmuCount)
-                .toList();
+    private double[] getFactorSample(double[] samples, int sampleOffset, int factorIdx, int dmuCount) {
+        var from = sampleOffset + factorIdx * dmuCount;
+        return Arrays.copyOfRange(samples, from, from + dmuCount);
     }
 
-    private List<Double> handleOrdinalSamples(ProblemData data,
-                                              String factor,
-                                              List<Double> factorSample,
-                                              boolean descending) {
+    private double[] handleOrdinalSamples(ProblemData data,
+                                          String factor,
+                                          double[] factorSample,
+                                          boolean descending) {
         var sortedIndices = impreciseUtils.sortIndicesByValues(data, factor, descending);
-        var sortedSample = factorSample.stream().sorted().toList();
+        var sortedSample = factorSample.clone();
+        Arrays.sort(sortedSample);
 
-        var factorPerformances = impreciseUtils.getInputOrOutputTable(data, factor).doubleColumn(factor);
-        var precisePerformances = new ArrayList<>(Collections.nCopies(data.getDmuCount(), 0.0));
-        precisePerformances.set(sortedIndices.get(0), sortedSample.get(0));
+        var matrix = data.getInputMatrix().containsFactor(factor) ? data.getInputMatrix() : data.getOutputMatrix();
+        var factorPerformances = matrix.getColumn(matrix.getFactorIndex(factor));
+        var precisePerformances = new double[data.getDmuCount()];
+        precisePerformances[sortedIndices.get(0)] = sortedSample[0];
         for (int i = 1; i < data.getDmuCount(); i++) {
-            if (factorPerformances.get(sortedIndices.get(i))
-                    .equals(factorPerformances.get(sortedIndices.get(i - 1)))) {
-                precisePerformances.set(sortedIndices.get(i), precisePerformances.get(sortedIndices.get(i - 1)));
+            if (factorPerformances[sortedIndices.get(i)] == factorPerformances[sortedIndices.get(i - 1)]) {
+                precisePerformances[sortedIndices.get(i)] = precisePerformances[sortedIndices.get(i - 1)];
             } else {
-                precisePerformances.set(sortedIndices.get(i), sortedSample.get(i));
+                precisePerformances[sortedIndices.get(i)] = sortedSample[i];
             }
         }
 
         return precisePerformances;
     }
 
-    private List<Double> handleImpreciseFactorSample(ImpreciseInformation impreciseInformation,
-                                                     String factor,
-                                                     List<Double> factorSample,
-                                                     boolean input) {
-        Table minTable, maxTable;
+    private double[] handleImpreciseFactorSample(ImpreciseInformation impreciseInformation,
+                                                 String factor,
+                                                 double[] factorSample,
+                                                 boolean input) {
+        PerformanceMatrix minMatrix, maxMatrix;
         if (input) {
-            minTable = impreciseInformation.getData().getInputData();
-            maxTable = impreciseInformation.getMaxInputs();
+            minMatrix = impreciseInformation.getData().getInputMatrix();
+            maxMatrix = impreciseInformation.getMaxInputMatrix();
         } else {
-            minTable = impreciseInformation.getData().getOutputData();
-            maxTable = impreciseInformation.getMaxOutputs();
+            minMatrix = impreciseInformation.getData().getOutputMatrix();
+            maxMatrix = impreciseInformation.getMaxOutputMatrix();
         }
-        var minPerformances = minTable.doubleColumn(factor);
-        var maxPerformances = maxTable.doubleColumn(factor);
+        var minPerformances = minMatrix.getColumn(minMatrix.getFactorIndex(factor));
+        var maxPerformances = maxMatrix.getColumn(maxMatrix.getFactorIndex(factor));
         return calculatePreciseValueFromRange(minPerformances, maxPerformances, factorSample);
     }
 
-    private List<Double> calculatePreciseValueFromRange(DoubleColumn lowerValues,
-                                                        DoubleColumn upperValues,
-                                                        List<Double> ratioSample) {
-        var result = new ArrayList<Double>();
-        for (int i = 0; i < ratioSample.size(); i++) {
-            if (lowerValues.get(i).equals(upperValues.get(i)))
-                result.add(lowerValues.get(i));
-            else {
-                var ratio = ratioSample.get(i);
-                var performance = lowerValues.get(i) +
-                        ratio * (upperValues.get(i) - lowerValues.get(i));
-                result.add(performance);
-            }
+    private double[] calculatePreciseValueFromRange(double[] lowerValues,
+                                                    double[] upperValues,
+                                                    double[] ratioSample) {
+        var result = new double[ratioSample.length];
+        for (int i = 0; i < ratioSample.length; i++) {
+            if (lowerValues[i] == upperValues[i])
+                result[i] = lowerValues[i];
+            else
+                result[i] = lowerValues[i] + ratioSample[i] * (upperValues[i] - lowerValues[i]);
         }
         return result;
     }
 
+    public void processEfficiencySamples(WeightSamplesCollection weightSamples,
+                                         PerformanceSamplesCollection performanceSamples,
+                                         Consumer<double[]> consumer) {
+        smaa.processEfficiencySamples(weightSamples.getSampleCount(),
+                sampleIdx -> smaa.calculateEfficienciesForSample(
+                        performanceSamples.getInputSample(sampleIdx),
+                        performanceSamples.getOutputSample(sampleIdx),
+                        weightSamples,
+                        sampleIdx),
+                consumer);
+    }
+
+    /**
+     * generates given number of weight and performance samples
+     * and passes the efficiencies calculated for them to the consumer
+     */
+    public void processSamples(CCRImpreciseProblemData data, int sampleCount, Consumer<double[]> consumer) {
+        var weightSamples = smaa.generateWeightSamples(data, sampleCount);
+        var performanceSamples = generatePerformanceSamples(data.getImpreciseInformation(), false, sampleCount);
+        processEfficiencySamples(weightSamples, performanceSamples, consumer);
+    }
+
+    /**
+     * generates given number of weight, performance and value function samples
+     * and passes the efficiencies calculated for them to the consumer
+     */
+    public void processSamples(ImpreciseVDEAProblemData data, int sampleCount, Consumer<double[]> consumer) {
+        var weightSamples = smaa.generateWeightSamples(data, sampleCount);
+        var performanceSamples = generatePerformanceSamples(data.getImpreciseInformation(), true, sampleCount);
+        var valueFunctionsSamples = generateValueFunctionSamples(performanceSamples, data);
+        processEfficiencySamples(weightSamples, valueFunctionsSamples, consumer);
+    }
+
     public Table calculateEfficiencyMatrixForSamples(WeightSamplesCollection weightSamples,
                                                      PerformanceSamplesCollection performanceSamples,
                                                      int dmuCount) {
         var efficiencies = Table.create();
-        for (int dmu = 0; dmu < dmuCount; dmu++) {
-            var dmuIdx = dmu;
-            efficiencies.addColumns(
-                    DoubleColumn.create(dmu + "",
-                            IntStream.range(0, smaa.getNumberOfSamples())
-                                    .mapToDouble(idx -> smaa.calculateEfficiency(
-                                            performanceSamples.getInputPerformances().get(idx),
-                                            performanceSamples.getOutputPerformances().get(idx),
-                                            weightSamples.getInputSamples().row(idx),
-                                            weightSamples.getOutputSamples().row(idx),
-                                            dmuIdx))
-                                    .toArray()
-                    )
-            );
+        for (int sampleIdx = 0; sampleIdx < weightSamples.getSampleCount(); sampleIdx++) {
+            efficiencies.addColumns(DoubleColumn.create(String.valueOf(sampleIdx),
+                    smaa.calculateEfficienciesForSample(performanceSamples.getInputSample(sampleIdx),
+                            performanceSamples.getOutputSample(sampleIdx),
+                            weightSamples,
+                            sampleIdx)));
         }
-
-        return efficiencies.transpose();
+        return efficiencies;
     }
 
     public PerformanceSamplesCollection generateValueFunctionSamples(PerformanceSamplesCollection performanceSamples,
                                                                      ImpreciseVDEAProblemData data) {
-        int variablesPerSample = data.getDmuCount() * (data.getInputCount() + data.getOutputCount()
+        int variablesPerSample = multiplySizes(data.getDmuCount(), data.getInputCount() + data.getOutputCount()
                 - data.getImpreciseInformation().getOrdinalFactors().size());
-        var samplesNo = smaa.getNumberOfSamples() * variablesPerSample;
+        var samplesNo = multiplySizes(performanceSamples.getSampleCount(), variablesPerSample);
         var samples = generateSamplesBetween0And1(samplesNo);
         return getFunctionValuesBasedOnSamples(samples, data, performanceSamples, variablesPerSample);
     }
 
-    private PerformanceSamplesCollection getFunctionValuesBasedOnSamples(List<Double> samples,
+    private PerformanceSamplesCollection getFunctionValuesBasedOnSamples(double[] samples,
                                                                          ImpreciseVDEAProblemData data,
                                                                          PerformanceSamplesCollection performanceSamples,
                                                                          int variablesPerSample) {
 
-        var result = new PerformanceSamplesCollection();
-        int samplesCount = samples.size() / variablesPerSample;
-        var allFactors = new ArrayList<>(data.getInputData().columnNames());
-        allFactors.addAll(data.getOutputData().columnNames());
+        int samplesCount = samples.length / variablesPerSample;
+        var result = createSamplesCollection(samplesCount, data);
         for (int i = 0; i < samplesCount; i++) {
-            var sample = getValuesForCurrentSamples(samples, variablesPerSample, i);
+            var sampleOffset = i * variablesPerSample;
+            var inputs = transformSampleToFunctionValues(data, performanceSamples.getInputSample(i),
+                    samples, sampleOffset);
+            for (int factorIdx = 0; factorIdx < inputs.length; factorIdx++)
+                result.setInputColumn(i, factorIdx, inputs[factorIdx]);
+            sampleOffset += countNonOrdinalFactors(data, performanceSamples.getInputSample(i)) * data.getDmuCount();
+            var outputs = transformSampleToFunctionValues(data, performanceSamples.getOutputSample(i),
+                    samples, sampleOffset);
+            for (int factorIdx = 0; factorIdx < outputs.length; factorIdx++)
+                result.setOutputColumn(i, factorIdx, outputs[factorIdx]);
+        }
+        return result;
+    }
 
-            var inputTable = Table.create();
-            var outputTable = Table.create();
-            var factorIdx = 0;
+    private int countNonOrdinalFactors(ImpreciseVDEAProblemData data, PerformanceMatrix performances) {
+        return (int) performances.getFactorNames()
+                .stream()
+                .filter(factor -> !data.getImpreciseInformation().getOrdinalFactors().contains(factor))
+                .count();
+    }
 
-            for (var factor : allFactors) {
-                boolean input = data.getInputData().containsColumn(factor);
-                var table = input ? inputTable : outputTable;
-                var performanceSampleTable = input ? performanceSamples.getInputPerformances().get(i)
-                        : performanceSamples.getOutputPerformances().get(i);
-
-                if (data.getImpreciseInformation().getOrdinalFactors().contains(factor)) {
-                    table.addColumns(DoubleColumn.create(factor,
-                            performanceSampleTable.doubleColumn(factor).asDoubleArray()));
-                } else {
-                    var factorSample = getFactorSample(sample, factorIdx, data.getDmuCount());
-                    var performances = handleValueFunctionSamples(data,
-                            performanceSampleTable,
-                            factor,
-                            factorSample);
-                    table.addColumns(DoubleColumn.create(factor, performances));
-                    factorIdx++;
-                }
+    private double[][] transformSampleToFunctionValues(ImpreciseVDEAProblemData data,
+                                                       PerformanceMatrix performanceSample,
+                                                       double[] samples,
+                                                       int sampleOffset) {
+        var converter = new PerformanceToValueConverter();
+        var result = new double[performanceSample.getFactorCount()][];
+        var sampledFactorIdx = 0;
+        for (int factorIdx = 0; factorIdx < result.length; factorIdx++) {
+            var factor = performanceSample.getFactorNames().get(factorIdx);
+            result[factorIdx] = performanceSample.getColumn(factorIdx);
+            if (!data.getImpreciseInformation().getOrdinalFactors().contains(factor)) {
+                var factorSample = getFactorSample(samples, sampleOffset, sampledFactorIdx, data.getDmuCount());
+                result[factorIdx] = handleValueFunctionSamples(data, converter, result[factorIdx],
+                        factor, factorSample);
+                sampledFactorIdx++;
             }
-            result.getInputPerformances().add(inputTable);
-            result.getOutputPerformances().add(outputTable);
         }
         return result;
     }
 
-    private List<Double> handleValueFunctionSamples(ImpreciseVDEAProblemData data,
-                                                    Table performanceSample,
-                                                    String factor,
-                                                    List<Double> functionValuesSample) {
-        PerformanceToValueConverter converter = new PerformanceToValueConverter();
-        var lowerValues = converter.transformColumnToUtilities(
-                performanceSample,
-                factor,
-                data.getLowerFunctionShape(factor));
-
-        var upperValues = converter.transformColumnToUtilities(
-                performanceSample,
-                factor,
-                data.getUpperFunctionShape(factor));
-
+    private double[] handleValueFunctionSamples(ImpreciseVDEAProblemData data,
+                                                PerformanceToValueConverter converter,
+                                                double[] performances,
+                                                String factor,
+                                                double[] functionValuesSample) {
+        var lowerValues = converter.transformValuesToUtilities(performances, data.getLowerFunctionShape(factor));
+        var upperValues = converter.transformValuesToUtilities(performances, data.getUpperFunctionShape(factor));
         return calculatePreciseValueFromRange(lowerValues, upperValues, functionValuesSample);
     }
 
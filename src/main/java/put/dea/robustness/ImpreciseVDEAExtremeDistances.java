@@ -58,11 +58,11 @@ public class ImpreciseVDEAExtremeDistances extends VDEABase
                 subjectDmuIdx,
                 sense.isMaximize() ? ResultType.PESSIMISTIC : ResultType.OPTIMISTIC);
 
-        var model = makeModel(sense);
+        var model = makeModel(sense, sense.isMaximize());
         var dVariable = model.makeNumVar(0, 1, "d");
         model.objective().setCoefficient(dVariable, 1);
-        var inputWeights = makeWeightVariables(model, preciseData.getInputData());
-        var outputWeights = makeWeightVariables(model, preciseData.getOutputData());
+        var inputWeights = makeWeightVariables(model, preciseData.getInputMatrix());
+        var outputWeights = makeWeightVariables(model, preciseData.getOutputMatrix());
 
         MPVariable[] binVariables = new MPVariable[0];
         if (sense.isMaximize()) {
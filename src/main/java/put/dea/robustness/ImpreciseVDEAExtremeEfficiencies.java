@@ -47,19 +47,19 @@ public class ImpreciseVDEAExtremeEfficiencies extends VDEABase
 
         var model = makeModel(sense);
 
-        var inputWeights = makeWeightVariables(model, preciseData.getInputData());
-        var outputWeights = makeWeightVariables(model, preciseData.getOutputData());
+        var inputWeights = makeWeightVariables(model, preciseData.getInputMatrix());
+        var outputWeights = makeWeightVariables(model, preciseData.getOutputMatrix());
 
         addSumWeightsToOneConstraint(model, inputWeights, outputWeights);
         var performanceVariables = impreciseCommonUtils.makeOrdinalAndFunctionRangeVariables(model, data);
 
         var objective = model.objective();
         objective.setOptimizationDirection(sense.isMaximize());
-        for (var input : data.getInputData().columnNames()) {
+        for (var input : data.getInputMatrix().getFactorNames()) {
             var subjectVariable = model.lookupVariableOrNull(input + "_" + subjectDmuIdx);
             objective.setCoefficient(subjectVariable, 1);
         }
-        for (var output : data.getOutputData().columnNames()) {
+        for (var output : data.getOutputMatrix().getFactorNames()) {
             var subjectVariable = model.lookupVariableOrNull(output + "_" + subjectDmuIdx);
             objective.setCoefficient(subjectVariable, 1);
         }
@@ -56,10 +56,10 @@ public class ImpreciseVDEAExtremeRanks extends VDEABase
                 subjectDmuIdx,
                 sense.isMaximize() ? ResultType.PESSIMISTIC : ResultType.OPTIMISTIC);
 
-        var model = makeModel(sense);
+        var model = makeModel(sense, true);
 
-        var inputWeights = makeWeightVariables(model, preciseData.getInputData());
-        var outputWeights = makeWeightVariables(model, preciseData.getOutputData());
+        var inputWeights = makeWeightVariables(model, preciseData.getInputMatrix());
+        var outputWeights = makeWeightVariables(model, preciseData.getOutputMatrix());
 
         var binVariables = extremeRanksBase.
                 createBinaryVariablesAndObjective(model, data.getDmuCount(), subjectDmuIdx);
@@ -1,5 +1,7 @@
 package put.dea.robustness;
 
+import java.util.Arrays;
+
 /**
  * Class providing methods for verification of presence of the necessary and possible efficiency preference relations
  * in problems with imprecise information and VDEA efficiency model
@@ -8,7 +10,10 @@ public class ImpreciseVDEAPreferenceRelations extends VDEABase
         implements PreferenceRelations<ImpreciseVDEAProblemData> {
 
     private final ImprecisePerformanceConverter performanceConverter;
+    private final PerformanceToValueConverter valueConverter = new PerformanceToValueConverter();
     private final ImpreciseVDEAUtils impreciseCommonUtils;
+    private final double alpha;
+    private final double functionValuesAlpha;
 
     /**
      * Creates a new object with default minimal ratios for ordinal factors (1.0001)
@@ -30,6 +35,88 @@ public class ImpreciseVDEAPreferenceRelations extends VDEABase
     public ImpreciseVDEAPreferenceRelations(double alpha, double epsilon, double functionValuesAlpha) {
         impreciseCommonUtils = new ImpreciseVDEAUtils(alpha, epsilon, functionValuesAlpha);
         performanceConverter = new ImprecisePerformanceConverter();
+        this.alpha = alpha;
+        this.functionValuesAlpha = functionValuesAlpha;
+    }
+
+    @Override
+    public PreferenceMatrix necessaryPreferenceMatrix(ImpreciseVDEAProblemData data) {
+        return DominanceScreening.checkForAll(data.getDmuCount(),
+                subjectDmuIdx -> screenRelations(data, subjectDmuIdx, ResultType.PESSIMISTIC),
+                (subjectDmuIdx, relativeDmuIdx) -> isNecessarilyPreferred(data, subjectDmuIdx, relativeDmuIdx));
+    }
+
+    @Override
+    public PreferenceMatrix possiblePreferenceMatrix(ImpreciseVDEAProblemData data) {
+        return DominanceScreening.checkForAll(data.getDmuCount(),
+                subjectDmuIdx -> screenRelations(data, subjectDmuIdx, ResultType.OPTIMISTIC),
+                (subjectDmuIdx, relativeDmuIdx) -> isPossiblyPreferred(data, subjectDmuIdx, relativeDmuIdx));
+    }
+
+    /**
+     * screens the relations using the performances of the model (the worst performances of the subject DMU
+     * for the necessary relation and the best ones for the possible relation).
+     * The difference between the marginal values of two DMUs divided by the factor's weight is bounded
+     * by the ranges of the marginal value functions and, as the marginal values are monotonic,
+     * by 0 if one DMU is not worse than the other. The relation is present if the lower bounds
+     * are non-negative for all factors and not present if the upper bounds are negative for all factors.
+     */
+    private Boolean[] screenRelations(ImpreciseVDEAProblemData data, int subjectDmuIdx, ResultType resultType) {
+        var preciseData = performanceConverter.convertPerformanceToPrecise(data.getImpreciseInformation(),
+                subjectDmuIdx, resultType);
+        var lowerBounds = new double[data.getDmuCount()];
+        var upperBounds = new double[data.getDmuCount()];
+        Arrays.fill(lowerBounds, Double.POSITIVE_INFINITY);
+        Arrays.fill(upperBounds, Double.NEGATIVE_INFINITY);
+        updateBounds(data, preciseData.getInputMatrix(), subjectDmuIdx, true, lowerBounds, upperBounds);
+        updateBounds(data, preciseData.getOutputMatrix(), subjectDmuIdx, false, lowerBounds, upperBounds);
+
+        var relations = new Boolean[data.getDmuCount()];
+        for (int relativeDmuIdx = 0; relativeDmuIdx < data.getDmuCount(); relativeDmuIdx++) {
+            if (lowerBounds[relativeDmuIdx] >= 0)
+                relations[relativeDmuIdx] = true;
+            else if (upperBounds[relativeDmuIdx] < 0)
+                relations[relativeDmuIdx] = false;
+        }
+        return relations;
+    }
+
+    private void updateBounds(ImpreciseVDEAProblemData data,
+                              PerformanceMatrix performances,
+                              int subjectDmuIdx,
+                              boolean input,
+                              double[] lowerBounds,
+                              double[] upperBounds) {
+        var ordinalFactors = data.getImpreciseInformation().getOrdinalFactors();
+        var ordinalPerformances = input
+                ? data.getImpreciseInformation().getData().getInputMatrix()
+                : data.getImpreciseInformation().getData().getOutputMatrix();
+        for (int factor = 0; factor < performances.getFactorCount(); factor++) {
+            var name = performances.getFactorNames().get(factor);
+            var ordinal = ordinalFactors.contains(name);
+            var values = ordinal
+                    ? ordinalPerformances.getColumn(ordinalPerformances.getFactorIndex(name))
+                    : performances.getColumn(factor);
+            var monotonic = (ordinal ? alpha : functionValuesAlpha) >= 1;
+            double[] lowerValues = null;
+            double[] upperValues = null;
+            if (!ordinal) {
+                lowerValues = valueConverter.transformValuesToUtilities(values, data.getLowerFunctionShape(name));
+                upperValues = valueConverter.transformValuesToUtilities(values, data.getUpperFunctionShape(name));
+            }
+            for (int relativeDmuIdx = 0; relativeDmuIdx < data.getDmuCount(); relativeDmuIdx++) {
+                var subjectValue = input ? -values[subjectDmuIdx] : values[subjectDmuIdx];
+                var relativeValue = input ? -values[relativeDmuIdx] : values[relativeDmuIdx];
+                var lower = monotonic && subjectValue >= relativeValue ? 0.0 : Double.NEGATIVE_INFINITY;
+                var upper = monotonic && subjectValue <= relativeValue ? 0.0 : Double.POSITIVE_INFINITY;
+                if (!ordinal) {
+                    lower = Math.max(lower, lowerValues[subjectDmuIdx] - upperValues[relativeDmuIdx]);
+                    upper = Math.min(upper, upperValues[subjectDmuIdx] - lowerValues[relativeDmuIdx]);
+                }
+                lowerBounds[relativeDmuIdx] = Math.min(lowerBounds[relativeDmuIdx], lower);
+                upperBounds[relativeDmuIdx] = Math.max(upperBounds[relativeDmuIdx], upper);
+            }
+        }
     }
 
     @Override
@@ -55,8 +142,8 @@ public class ImpreciseVDEAPreferenceRelations extends VDEABase
         var dVariable = model.makeNumVar(-1, 1, "d");
         model.objective().setCoefficient(dVariable, 1);
 
-        var inputWeights = makeWeightVariables(model, preciseData.getInputData());
-        var outputWeights = makeWeightVariables(model, preciseData.getOutputData());
+        var inputWeights = makeWeightVariables(model, preciseData.getInputMatrix());
+        var outputWeights = makeWeightVariables(model, preciseData.getOutputMatrix());
         addSumWeightsToOneConstraint(model, inputWeights, outputWeights);
 
         var performanceVariables = impreciseCommonUtils.makeOrdinalAndFunctionRangeVariables(model, data);
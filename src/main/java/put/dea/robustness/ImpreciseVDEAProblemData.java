@@ -43,8 +43,8 @@ public class ImpreciseVDEAProblemData extends VDEAProblemData {
                                     double[][] maxInputData, double[][] maxOutputData) {
         super(minInputData, minOutputData);
         impreciseInformation = new ImpreciseInformation(this,
-                convertArrayToTable(maxInputData, getInputData().columnNames()),
-                convertArrayToTable(maxOutputData, getOutputData().columnNames()));
+                PerformanceMatrix.fromRows(maxInputData, getInputMatrix().getFactorNames()),
+                PerformanceMatrix.fromRows(maxOutputData, getOutputMatrix().getFactorNames()));
     }
 
     /**
@@ -63,8 +63,8 @@ public class ImpreciseVDEAProblemData extends VDEAProblemData {
                                     List<String> inputNames, List<String> outputNames) {
         super(minInputData, minOutputData, inputNames, outputNames);
         impreciseInformation = new ImpreciseInformation(this,
-                convertArrayToTable(maxInputData, getInputData().columnNames()),
-                convertArrayToTable(maxOutputData, getOutputData().columnNames()));
+                PerformanceMatrix.fromRows(maxInputData, getInputMatrix().getFactorNames()),
+                PerformanceMatrix.fromRows(maxOutputData, getOutputMatrix().getFactorNames()));
     }
 
     /**
@@ -133,16 +133,14 @@ public class ImpreciseVDEAProblemData extends VDEAProblemData {
     public Double getUpperBound(String column) {
         if (this.getUpperBounds().containsKey(column))
             return this.getUpperBounds().get(column);
-        if (this.getInputData().containsColumn(column))
-            return this.getImpreciseInformation()
-                    .getMaxInputs()
-                    .doubleColumn(column)
-                    .max();
-        if (this.getOutputData().containsColumn(column))
-            return this.getImpreciseInformation()
-                    .getMaxOutputs()
-                    .doubleColumn(column)
-                    .max();
+        if (this.getInputMatrix().containsFactor(column)) {
+            var maxInputs = this.getImpreciseInformation().getMaxInputMatrix();
+            return maxInputs.getColumnMax(maxInputs.getFactorIndex(column));
+        }
+        if (this.getOutputMatrix().containsFactor(column)) {
+            var maxOutputs = this.getImpreciseInformation().getMaxOutputMatrix();
+            return maxOutputs.getColumnMax(maxOutputs.getFactorIndex(column));
+        }
         throw new IllegalArgumentException("Column with given name does not exist");
     }
 
@@ -43,19 +43,10 @@ public class ImpreciseVDEASmaaDistance extends VDEASmaaBase implements SmaaDista
 
     @Override
     public DistributionResult distanceDistribution(ImpreciseVDEAProblemData data) {
-        var weightSamples = generateWeightSamples(data);
-        var performanceSamples = impreciseSmaaUtils.generatePerformanceSamples(
-                data.getImpreciseInformation(), true);
-        var valueFunctionsSamples = impreciseSmaaUtils.generateValueFunctionSamples(performanceSamples, data);
-
-        var efficiencyMatrix = impreciseSmaaUtils.calculateEfficiencyMatrixForSamples(weightSamples,
-                valueFunctionsSamples,
-                data.getDmuCount());
-        var distanceMatrix = calculateDistanceMatrix(efficiencyMatrix);
-        var efficiencyBase = new SmaaEfficiencyBase(numberOfSamples, numberOfIntervals);
-        var distribution = efficiencyBase.calculateDistribution(distanceMatrix);
-        var expectedEfficiency = calculateExpectedValues(distanceMatrix);
-        return new DistributionResult(distribution, expectedEfficiency);
+        var efficiencyBase = new SmaaEfficiencyBase(data.getDmuCount(), numberOfIntervals);
+        sampleUntilConverged(efficiencyBase, sampleCount -> impreciseSmaaUtils.processSamples(data, sampleCount,
+                efficiencies -> efficiencyBase.addSample(calculateDistances(efficiencies))));
+        return efficiencyBase.toDistributionResult(getChainDiagnostics());
     }
 
 }
@@ -43,22 +43,9 @@ public class ImpreciseVDEASmaaEfficiency extends VDEASmaaBase implements SmaaEff
 
     @Override
     public DistributionResult efficiencyDistribution(ImpreciseVDEAProblemData data) {
-        var weightSamples = generateWeightSamples(data);
-        var performanceSamples = impreciseSmaaUtils.generatePerformanceSamples(
-                data.getImpreciseInformation(), true);
-        var valueFunctionsSamples = impreciseSmaaUtils.generateValueFunctionSamples(performanceSamples, data);
-        return calculateDistributionFromSamples(weightSamples, valueFunctionsSamples, data.getDmuCount());
-    }
-
-    private DistributionResult calculateDistributionFromSamples(WeightSamplesCollection weightSamples,
-                                                                PerformanceSamplesCollection performanceSamples,
-                                                                int dmuCount) {
-        var efficiencyMatrix = impreciseSmaaUtils.calculateEfficiencyMatrixForSamples(weightSamples,
-                performanceSamples,
-                dmuCount);
-        var efficiencyBase = new SmaaEfficiencyBase(numberOfSamples, numberOfIntervals);
-        var distribution = efficiencyBase.calculateDistribution(efficiencyMatrix);
-        var expectedEfficiency = calculateExpectedValues(efficiencyMatrix);
-        return new DistributionResult(distribution, expectedEfficiency);
+        var efficiencyBase = new SmaaEfficiencyBase(data.getDmuCount(), numberOfIntervals);
+        sampleUntilConverged(efficiencyBase, sampleCount -> impreciseSmaaUtils.processSamples(data, sampleCount,
+                efficiencyBase::addSample));
+        return efficiencyBase.toDistributionResult(getChainDiagnostics());
     }
 }
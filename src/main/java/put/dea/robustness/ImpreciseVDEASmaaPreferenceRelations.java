@@ -35,15 +35,9 @@ public class ImpreciseVDEASmaaPreferenceRelations extends VDEASmaaBase implement
 
     @Override
     public Table peoi(ImpreciseVDEAProblemData data) {
-        var weightSamples = generateWeightSamples(data);
-        var performanceSamples = impreciseSmaaUtils.generatePerformanceSamples(
-                data.getImpreciseInformation(), true);
-        var valueFunctionsSamples = impreciseSmaaUtils.generateValueFunctionSamples(performanceSamples, data);
-
-        var efficiencyMatrix = impreciseSmaaUtils.calculateEfficiencyMatrixForSamples(weightSamples,
-                valueFunctionsSamples,
-                data.getDmuCount());
-        var preferenceRelationsBase = new SmaaPreferenceRelationsBase(numberOfSamples);
-        return preferenceRelationsBase.calculatePeois(efficiencyMatrix);
+        var preferenceRelationsBase = new SmaaPreferenceRelationsBase(data.getDmuCount(), getExecutionStrategy());
+        sampleUntilConverged(preferenceRelationsBase, sampleCount -> impreciseSmaaUtils.processSamples(data,
+                sampleCount, preferenceRelationsBase::addSample));
+        return preferenceRelationsBase.getPeois();
     }
 }
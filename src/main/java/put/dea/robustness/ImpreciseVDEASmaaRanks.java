@@ -34,18 +34,9 @@ public class ImpreciseVDEASmaaRanks extends VDEASmaaBase implements SmaaRanks<Im
 
     @Override
     public DistributionResult rankDistribution(ImpreciseVDEAProblemData data) {
-        var weightSamples = generateWeightSamples(data);
-        var performanceSamples = impreciseSmaaUtils.generatePerformanceSamples(
-                data.getImpreciseInformation(), true);
-        var valueFunctionsSamples = impreciseSmaaUtils.generateValueFunctionSamples(performanceSamples, data);
-
-        var efficiencyMatrix = impreciseSmaaUtils.calculateEfficiencyMatrixForSamples(weightSamples,
-                valueFunctionsSamples,
-                data.getDmuCount());
-        var rankBase = new SmaaRankBase(numberOfSamples);
-        var ranks = rankBase.calculateRanksMatrix(efficiencyMatrix);
-        var distribution = rankBase.calculateRankDistribution(ranks);
-        var expectedEfficiency = calculateExpectedValues(ranks).stream().map(x -> x + 1).toList();
-        return new DistributionResult(distribution, expectedEfficiency);
+        var rankBase = new SmaaRankBase(data.getDmuCount(), getRankTieHandling());
+        sampleUntilConverged(rankBase, sampleCount -> impreciseSmaaUtils.processSamples(data, sampleCount,
+                rankBase::addSample));
+        return rankBase.toDistributionResult(getChainDiagnostics());
     }
 }
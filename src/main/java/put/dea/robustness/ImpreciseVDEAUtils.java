@@ -24,13 +24,13 @@ class ImpreciseVDEAUtils extends ImpreciseCommonUtils {
                                             ImpreciseVDEAProblemData data,
                                             ProblemData preciseData,
                                             Map<String, List<MPVariable>> variables) {
-        data.getInputData().columnNames()
+        data.getInputMatrix().getFactorNames()
                 .stream()
                 .filter(input -> !data.getImpreciseInformation().getOrdinalFactors().contains(input))
                 .forEach(input -> addFunctionRangeConstraintsForColumn(
                         model, input, data, preciseData, variables.get(input), true
                 ));
-        data.getOutputData().columnNames()
+        data.getOutputMatrix().getFactorNames()
                 .stream()
                 .filter(output -> !data.getImpreciseInformation().getOrdinalFactors().contains(output))
                 .forEach(output -> addFunctionRangeConstraintsForColumn(
@@ -44,13 +44,13 @@ class ImpreciseVDEAUtils extends ImpreciseCommonUtils {
                                                      ProblemData preciseData,
                                                      List<MPVariable> variables,
                                                      boolean input) {
-        var lowerValues = performanceToValueConverter.transformColumnToUtilities(
-                input ? preciseData.getInputData() : preciseData.getOutputData(),
-                column,
+        var performances = input ? preciseData.getInputMatrix() : preciseData.getOutputMatrix();
+        var columnValues = performances.getColumn(performances.getFactorIndex(column));
+        var lowerValues = performanceToValueConverter.transformValuesToUtilities(
+                columnValues,
                 data.getLowerFunctionShape(column));
-        var upperValues = performanceToValueConverter.transformColumnToUtilities(
-                input ? preciseData.getInputData() : preciseData.getOutputData(),
-                column,
+        var upperValues = performanceToValueConverter.transformValuesToUtilities(
+                columnValues,
                 data.getUpperFunctionShape(column));
         for (int dmu = 0; dmu < data.getDmuCount(); dmu++) {
             var variable = variables.get(dmu);
@@ -58,20 +58,20 @@ class ImpreciseVDEAUtils extends ImpreciseCommonUtils {
 
             var constraint = model.makeConstraint(0, MPSolver.infinity());
             constraint.setCoefficient(variable, 1);
-            constraint.setCoefficient(weightVariable, -lowerValues.get(dmu));
+            constraint.setCoefficient(weightVariable, -lowerValues[dmu]);
 
             constraint = model.makeConstraint(-MPSolver.infinity(), 0);
             constraint.setCoefficient(variable, 1);
-            constraint.setCoefficient(weightVariable, -upperValues.get(dmu));
+            constraint.setCoefficient(weightVariable, -upperValues[dmu]);
         }
         addMonotonicityConstraints(model, preciseData, column, input, functionValuesAlpha);
     }
 
     public Map<String, List<MPVariable>> makeOrdinalAndFunctionRangeVariables(MPSolver model, ImpreciseVDEAProblemData data) {
         var result = new HashMap<String, List<MPVariable>>();
-        data.getInputData().columnNames()
+        data.getInputMatrix().getFactorNames()
                 .forEach(input -> result.put(input, makeFunctionRangeVariables(model, input, data.getDmuCount())));
-        data.getOutputData().columnNames()
+        data.getOutputMatrix().getFactorNames()
                 .forEach(output -> result.put(output, makeFunctionRangeVariables(model, output, data.getDmuCount())));
         return result;
     }
@@ -90,8 +90,8 @@ class ImpreciseVDEAUtils extends ImpreciseCommonUtils {
 
         var constraint = model.makeConstraint();
         if (relativeDmuIdx != subjectDmuIdx) {
-            var allColumns = new HashSet<>(data.getInputData().columnNames());
-            allColumns.addAll(data.getOutputData().columnNames());
+            var allColumns = new HashSet<>(data.getInputMatrix().getFactorNames());
+            allColumns.addAll(data.getOutputMatrix().getFactorNames());
             for (var factor : allColumns) {
                 var subjectVariable = model.lookupVariableOrNull(factor + "_" + subjectDmuIdx);
                 var relativeVariable = model.lookupVariableOrNull(factor + "_" + relativeDmuIdx);
@@ -106,7 +106,7 @@ class ImpreciseVDEAUtils extends ImpreciseCommonUtils {
                                            ImpreciseInformation impreciseInformation) {
         impreciseInformation.getOrdinalFactors()
                 .forEach(factor -> addMonotonicityConstraints(model, impreciseInformation.getData(), factor,
-                        impreciseInformation.getData().getInputData().containsColumn(factor)));
+                        impreciseInformation.getData().getInputMatrix().containsFactor(factor)));
     }
 
     @Override
@@ -0,0 +1,194 @@
+package put.dea.robustness;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.function.IntFunction;
+import java.util.function.ToDoubleBiFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the necessary preference relation (a preorder) for all pairs of DMUs solving as few models as possible.
+ * The known relations are kept transitively closed: if A is necessarily preferred to B and B to C,
+ * A is necessarily preferred to C. The known absent relations exclude further ones:
+ * if A is not necessarily preferred to D, then for any B and C such that A is preferred to B and C to D,
+ * B is not preferred to C (otherwise A would be preferred to D through B and C).
+ * The pairs are verified in the order of increasing distance between DMUs ranked by a heuristic score,
+ * so the relations between distant DMUs usually follow from the relations between close ones.
+ * <p>
+ * The models accept a relation if it is violated by no more than the tolerance, and such relations
+ * are not transitive (A may be preferred to B and B to C, each within the tolerance, but not A to C).
+ * Only the relations holding with a non-negative margin are therefore used for the inference;
+ * the relations accepted within the tolerance are added to the result as they are.
+ * The absent relations may still be inferred from them, as the margins of a chain add up
+ * (or multiply for the efficiency ratios) to no more than the margin of its ends.
+ */
+final class NecessaryPreferenceClosure {
+    private final int dmuCount;
+    /**
+     * preferred[a] - DMUs to which a is necessarily preferred (including a)
+     */
+    private final BitSet[] preferred;
+    /**
+     * preferring[b] - DMUs necessarily preferred to b (including b)
+     */
+    private final BitSet[] preferring;
+    /**
+     * notPreferred[a] - DMUs to which a is known not to be necessarily preferred, either verified
+     * or inferred; kept closed, so that the known relations are checked with a single lookup
+     */
+    private final BitSet[] notPreferred;
+    /**
+     * tolerated[a] - DMUs to which a is necessarily preferred within the tolerance only (not used for inference)
+     */
+    private final BitSet[] tolerated;
+    private int solvedModelCount = 0;
+
+    NecessaryPreferenceClosure(int dmuCount) {
+        this.dmuCount = dmuCount;
+        this.preferred = new BitSet[dmuCount];
+        this.preferring = new BitSet[dmuCount];
+        this.notPreferred = new BitSet[dmuCount];
+        this.tolerated = new BitSet[dmuCount];
+        for (int dmu = 0; dmu < dmuCount; dmu++) {
+            preferred[dmu] = new BitSet(dmuCount);
+            preferred[dmu].set(dmu);
+            preferring[dmu] = new BitSet(dmuCount);
+            preferring[dmu].set(dmu);
+            notPreferred[dmu] = new BitSet(dmuCount);
+            tolerated[dmu] = new BitSet(dmuCount);
+        }
+    }
+
+    /**
+     * creates the necessary preference matrix
+     *
+     * @param scores          heuristic scores of DMUs (e.g. efficiencies for equal weights) defining
+     *                        the order of verified pairs
+     * @param screening       for given subject DMU returns the relations decided without solving the models
+     *                        (see {@link DominanceScreening}); true has to hold with a non-negative margin,
+     *                        false means that the subject DMU is worse than the relative one for all weights,
+     *                        so the relative DMU is necessarily preferred
+     * @param preferenceModel solves the model and returns the margin of the necessary preference
+     *                        (non-negative if the relation holds exactly)
+     * @param tolerance       maximal violation of the relation accepted by the model
+     * @return necessary preference matrix
+     */
+    PreferenceMatrix checkForAll(double[] scores,
+                                 IntFunction<Boolean[]> screening,
+                                 ToDoubleBiFunction<Integer, Integer> preferenceModel,
+                                 double tolerance) {
+        for (int subjectDmu = 0; subjectDmu < dmuCount; subjectDmu++) {
+            var row = screening.apply(subjectDmu);
+            for (int relativeDmu = 0; relativeDmu < dmuCount; relativeDmu++) {
+                if (Boolean.TRUE.equals(row[relativeDmu])) {
+                    addPreference(subjectDmu, relativeDmu);
+                } else if (Boolean.FALSE.equals(row[relativeDmu])) {
+                    addAbsentPreference(subjectDmu, relativeDmu);
+                    addPreference(relativeDmu, subjectDmu);
+                }
+            }
+        }
+
+        var order = IntStream.range(0, dmuCount)
+                .boxed()
+                .sorted(Comparator.comparingDouble(dmu -> -scores[dmu]))
+                .mapToInt(x -> x)
+                .toArray();
+        for (int distance = 1; distance < dmuCount; distance++) {
+            for (int position = 0; position + distance < dmuCount; position++) {
+                var better = order[position];
+                var worse = order[position + distance];
+                verify(better, worse, preferenceModel, tolerance);
+                verify(worse, better, preferenceModel, tolerance);
+            }
+        }
+
+        var result = new PreferenceMatrix(dmuCount);
+        for (int subjectDmu = 0; subjectDmu < dmuCount; subjectDmu++) {
+            var row = (BitSet) preferred[subjectDmu].clone();
+            row.or(tolerated[subjectDmu]);
+            for (int relativeDmu = row.nextSetBit(0); relativeDmu >= 0; relativeDmu = row.nextSetBit(relativeDmu + 1))
+                result.set(subjectDmu, relativeDmu, true);
+        }
+        return result;
+    }
+
+    /**
+     * gets the number of models solved by {@link #checkForAll}
+     *
+     * @return number of solved models
+     */
+    int getSolvedModelCount() {
+        return solvedModelCount;
+    }
+
+    /**
+     * gets the number of models not solved thanks to the dominance and transitivity,
+     * compared to solving a model for every pair of DMUs
+     *
+     * @return number of saved models
+     */
+    int getSavedModelCount() {
+        return dmuCount * dmuCount - solvedModelCount;
+    }
+
+    private void verify(int subjectDmu,
+                        int relativeDmu,
+                        ToDoubleBiFunction<Integer, Integer> preferenceModel,
+                        double tolerance) {
+        if (getKnownRelation(subjectDmu, relativeDmu) != null)
+            return;
+        solvedModelCount++;
+        var margin = preferenceModel.applyAsDouble(subjectDmu, relativeDmu);
+        if (margin >= 0)
+            addPreference(subjectDmu, relativeDmu);
+        else if (margin >= -tolerance)
+            tolerated[subjectDmu].set(relativeDmu);
+        else
+            addAbsentPreference(subjectDmu, relativeDmu);
+    }
+
+    /**
+     * gets the relation following from the known relations
+     *
+     * @return true or false if the relation is known; null otherwise
+     */
+    Boolean getKnownRelation(int subjectDmu, int relativeDmu) {
+        if (preferred[subjectDmu].get(relativeDmu) || tolerated[subjectDmu].get(relativeDmu))
+            return true;
+        if (notPreferred[subjectDmu].get(relativeDmu))
+            return false;
+        return null;
+    }
+
+    void addPreference(int subjectDmu, int relativeDmu) {
+        if (preferred[subjectDmu].get(relativeDmu))
+            return;
+        var sources = (BitSet) preferring[subjectDmu].clone();
+        var targets = (BitSet) preferred[relativeDmu].clone();
+        for (int source = sources.nextSetBit(0); source >= 0; source = sources.nextSetBit(source + 1))
+            preferred[source].or(targets);
+        for (int target = targets.nextSetBit(0); target >= 0; target = targets.nextSetBit(target + 1))
+            preferring[target].or(sources);
+
+        // DMUs worse than the sources are not preferred to anything the sources are not preferred to
+        var excluded = new BitSet(dmuCount);
+        for (int source = sources.nextSetBit(0); source >= 0; source = sources.nextSetBit(source + 1))
+            excluded.or(notPreferred[source]);
+        for (int target = targets.nextSetBit(0); target >= 0; target = targets.nextSetBit(target + 1))
+            notPreferred[target].or(excluded);
+        // DMUs not preferred to any of the targets are not preferred to the sources either
+        for (int dmu = 0; dmu < dmuCount; dmu++)
+            if (notPreferred[dmu].intersects(targets))
+                notPreferred[dmu].or(sources);
+    }
+
+    void addAbsentPreference(int subjectDmu, int relativeDmu) {
+        if (notPreferred[subjectDmu].get(relativeDmu))
+            return;
+        var excluded = preferring[relativeDmu];
+        var worse = preferred[subjectDmu];
+        for (int dmu = worse.nextSetBit(0); dmu >= 0; dmu = worse.nextSetBit(dmu + 1))
+            notPreferred[dmu].or(excluded);
+    }
+}
@@ -0,0 +1,253 @@
+package put.dea.robustness;
+
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.Table;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Immutable dense matrix of DMUs' performances on a group of factors (inputs or outputs).
+ * Values are stored in a single primitive array in column-major order,
+ * so all performances on one factor occupy a contiguous block.
+ * The matrix may also be a view of a block of a larger array (e.g. one sample of many).
+ */
+public final class PerformanceMatrix {
+    private final List<String> factorNames;
+    private final Map<String, Integer> factorIndices;
+    private final int dmuCount;
+    private final double[] values;
+    private final int offset;
+
+    PerformanceMatrix(List<String> factorNames, int dmuCount, double[] values) {
+        if (values.length != factorNames.size() * dmuCount)
+            throw new IllegalArgumentException("Number of values does not match the matrix dimensions");
+        this.factorNames = List.copyOf(factorNames);
+        this.dmuCount = dmuCount;
+        this.values = values;
+        this.offset = 0;
+        this.factorIndices = new HashMap<>();
+        for (int i = 0; i < this.factorNames.size(); i++)
+            factorIndices.put(this.factorNames.get(i), i);
+    }
+
+    private PerformanceMatrix(PerformanceMatrix layout, double[] values, int offset) {
+        this.factorNames = layout.factorNames;
+        this.factorIndices = layout.factorIndices;
+        this.dmuCount = layout.dmuCount;
+        this.values = values;
+        this.offset = offset;
+    }
+
+    /**
+     * creates a matrix with the same factors and DMUs as this one,
+     * backed by the block of given array starting at given offset (without copying)
+     */
+    PerformanceMatrix viewOf(double[] values, int offset) {
+        if (offset < 0 || offset + getFactorCount() * dmuCount > values.length)
+            throw new IllegalArgumentException("Array is too short for the matrix view");
+        return new PerformanceMatrix(this, values, offset);
+    }
+
+    /**
+     * gets the backing array of the matrix; it must not be modified
+     */
+    double[] getValues() {
+        return values;
+    }
+
+    /**
+     * gets the position of the first performance on the given factor in the backing array,
+     * performances of consecutive DMUs follow it
+     */
+    int getColumnOffset(int factorIdx) {
+        return offset + factorIdx * dmuCount;
+    }
+
+    static PerformanceMatrix fromRows(double[][] rows, List<String> factorNames) {
+        var factorCount = factorNames.size();
+        var values = new double[rows.length * factorCount];
+        for (int dmu = 0; dmu < rows.length; dmu++) {
+            if (rows[dmu].length != factorCount)
+                throw new IllegalArgumentException("Each DMU must have exactly " + factorCount + " performances");
+            for (int factor = 0; factor < factorCount; factor++)
+                values[factor * rows.length + dmu] = rows[dmu][factor];
+        }
+        return new PerformanceMatrix(factorNames, rows.length, values);
+    }
+
+    static PerformanceMatrix fromTable(Table table) {
+        var dmuCount = table.rowCount();
+        var values = new double[table.columnCount() * dmuCount];
+        for (int factor = 0; factor < table.columnCount(); factor++) {
+            var column = table.numberColumn(factor);
+            for (int dmu = 0; dmu < dmuCount; dmu++)
+                values[factor * dmuCount + dmu] = column.getDouble(dmu);
+        }
+        return new PerformanceMatrix(table.columnNames(), dmuCount, values);
+    }
+
+    /**
+     * returns number of DMUs (rows) in the matrix
+     *
+     * @return number of DMUs
+     */
+    public int getDmuCount() {
+        return dmuCount;
+    }
+
+    /**
+     * returns number of factors (columns) in the matrix
+     *
+     * @return number of factors
+     */
+    public int getFactorCount() {
+        return factorNames.size();
+    }
+
+    /**
+     * returns names of factors in the order of columns
+     *
+     * @return {@link List} of factor names
+     */
+    public List<String> getFactorNames() {
+        return factorNames;
+    }
+
+    /**
+     * checks if the matrix contains a factor with given name
+     *
+     * @param factor name of the factor
+     * @return true if the factor exists in the matrix, false otherwise
+     */
+    public boolean containsFactor(String factor) {
+        return factorIndices.containsKey(factor);
+    }
+
+    /**
+     * returns index of a factor with given name
+     *
+     * @param factor name of the factor
+     * @return index of the factor's column
+     */
+    public int getFactorIndex(String factor) {
+        var index = factorIndices.get(factor);
+        if (index == null)
+            throw new IllegalArgumentException("Factor " + factor + " does not exist");
+        return index;
+    }
+
+    /**
+     * returns the performance of a DMU on a factor
+     *
+     * @param dmuIdx    index of the DMU
+     * @param factorIdx index of the factor
+     * @return performance value
+     */
+    public double get(int dmuIdx, int factorIdx) {
+        return values[offset + factorIdx * dmuCount + dmuIdx];
+    }
+
+    /**
+     * returns the performance of a DMU on a factor with given name
+     *
+     * @param dmuIdx index of the DMU
+     * @param factor name of the factor
+     * @return performance value
+     */
+    public double get(int dmuIdx, String factor) {
+        return get(dmuIdx, getFactorIndex(factor));
+    }
+
+    /**
+     * returns a copy of all performances of the given DMU
+     *
+     * @param dmuIdx index of the DMU
+     * @return array of performances ordered by factors
+     */
+    public double[] getRow(int dmuIdx) {
+        var row = new double[getFactorCount()];
+        for (int factor = 0; factor < row.length; factor++)
+            row[factor] = get(dmuIdx, factor);
+        return row;
+    }
+
+    /**
+     * returns a copy of all DMUs' performances on the given factor
+     *
+     * @param factorIdx index of the factor
+     * @return array of performances ordered by DMUs
+     */
+    public double[] getColumn(int factorIdx) {
+        var from = offset + factorIdx * dmuCount;
+        return Arrays.copyOfRange(values, from, from + dmuCount);
+    }
+
+    /**
+     * returns the minimal performance on the given factor
+     *
+     * @param factorIdx index of the factor
+     * @return minimal value in the column
+     */
+    public double getColumnMin(int factorIdx) {
+        var min = Double.POSITIVE_INFINITY;
+        for (int dmu = 0; dmu < dmuCount; dmu++)
+            min = Math.min(min, get(dmu, factorIdx));
+        return min;
+    }
+
+    /**
+     * returns the maximal performance on the given factor
+     *
+     * @param factorIdx index of the factor
+     * @return maximal value in the column
+     */
+    public double getColumnMax(int factorIdx) {
+        var max = Double.NEGATIVE_INFINITY;
+        for (int dmu = 0; dmu < dmuCount; dmu++)
+            max = Math.max(max, get(dmu, factorIdx));
+        return max;
+    }
+
+    PerformanceMatrix map(DoubleUnaryOperator operator) {
+        var newValues = new double[getFactorCount() * dmuCount];
+        for (int i = 0; i < newValues.length; i++)
+            newValues[i] = operator.applyAsDouble(values[offset + i]);
+        return new PerformanceMatrix(this, newValues, 0);
+    }
+
+    PerformanceMatrix mapColumns(List<DoubleUnaryOperator> columnOperators) {
+        var newValues = new double[getFactorCount() * dmuCount];
+        for (int factor = 0; factor < getFactorCount(); factor++) {
+            var operator = columnOperators.get(factor);
+            for (int i = factor * dmuCount; i < (factor + 1) * dmuCount; i++)
+                newValues[i] = operator.applyAsDouble(values[offset + i]);
+        }
+        return new PerformanceMatrix(this, newValues, 0);
+    }
+
+    PerformanceMatrix withRow(int dmuIdx, PerformanceMatrix source) {
+        var newValues = Arrays.copyOfRange(values, offset, offset + getFactorCount() * dmuCount);
+        for (int factor = 0; factor < getFactorCount(); factor++)
+            newValues[factor * dmuCount + dmuIdx] = source.get(dmuIdx, factor);
+        return new PerformanceMatrix(this, newValues, 0);
+    }
+
+    PerformanceMatrix selectFactors(List<String> selectedFactors) {
+        var newValues = new double[selectedFactors.size() * dmuCount];
+        for (int i = 0; i < selectedFactors.size(); i++)
+            System.arraycopy(values, offset + getFactorIndex(selectedFactors.get(i)) * dmuCount,
+                    newValues, i * dmuCount, dmuCount);
+        return new PerformanceMatrix(selectedFactors, dmuCount, newValues);
+    }
+
+    Table toTable() {
+        var table = Table.create();
+        for (int factor = 0; factor < getFactorCount(); factor++)
+            table.addColumns(DoubleColumn.create(factorNames.get(factor), getColumn(factor)));
+        return table;
+    }
+}
@@ -0,0 +1,54 @@
+package put.dea.robustness;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collects DMUs' performances row by row directly into per-factor arrays,
+ * so a {@link PerformanceMatrix} can be built from a source of unknown length
+ * without keeping the rows or transposing them afterwards.
+ */
+class PerformanceMatrixBuilder {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final List<String> factorNames;
+    private final double[][] columns;
+    private int capacity = INITIAL_CAPACITY;
+    private int dmuCount = 0;
+
+    PerformanceMatrixBuilder(List<String> factorNames) {
+        this.factorNames = List.copyOf(factorNames);
+        this.columns = new double[factorNames.size()][INITIAL_CAPACITY];
+    }
+
+    /**
+     * appends performances of the next DMU
+     *
+     * @param row    array containing the performances
+     * @param offset index in the array of the performance on the first factor
+     */
+    void addRow(double[] row, int offset) {
+        if (dmuCount == capacity)
+            grow();
+        for (int factor = 0; factor < columns.length; factor++)
+            columns[factor][dmuCount] = row[offset + factor];
+        dmuCount++;
+    }
+
+    private void grow() {
+        capacity *= 2;
+        for (int factor = 0; factor < columns.length; factor++)
+            columns[factor] = Arrays.copyOf(columns[factor], capacity);
+    }
+
+    int getDmuCount() {
+        return dmuCount;
+    }
+
+    PerformanceMatrix build() {
+        var values = new double[columns.length * dmuCount];
+        for (int factor = 0; factor < columns.length; factor++)
+            System.arraycopy(columns[factor], 0, values, factor * dmuCount, dmuCount);
+        return new PerformanceMatrix(factorNames, dmuCount, values);
+    }
+}
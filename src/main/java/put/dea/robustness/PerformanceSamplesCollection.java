@@ -1,25 +1,84 @@
 package put.dea.robustness;
 
-import tech.tablesaw.api.Table;
-
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Dense store of sampled performances (samples x factors x DMUs).
+ * Inputs and outputs are kept in two flat primitive arrays in which every sample occupies
+ * a contiguous column-major block, so a single sample can be exposed as a {@link PerformanceMatrix}
+ * view without copying.
+ */
 class PerformanceSamplesCollection {
-    private final List<Table> inputPerformances;
-    private final List<Table> outputPerformances;
+    private final int sampleCount;
+    private final PerformanceMatrix inputLayout;
+    private final PerformanceMatrix outputLayout;
+    private final double[] inputValues;
+    private final double[] outputValues;
+
+    public PerformanceSamplesCollection(int sampleCount,
+                                        int dmuCount,
+                                        List<String> inputNames,
+                                        List<String> outputNames) {
+        this.sampleCount = sampleCount;
+        this.inputLayout = new PerformanceMatrix(inputNames, dmuCount, new double[inputNames.size() * dmuCount]);
+        this.outputLayout = new PerformanceMatrix(outputNames, dmuCount, new double[outputNames.size() * dmuCount]);
+        this.inputValues = new double[storeSize(sampleCount, dmuCount, inputNames.size())];
+        this.outputValues = new double[storeSize(sampleCount, dmuCount, outputNames.size())];
+    }
+
+    private static int storeSize(int sampleCount, int dmuCount, int factorCount) {
+        try {
+            return Math.multiplyExact(sampleCount, Math.multiplyExact(dmuCount, factorCount));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Too many performance samples to store in memory", e);
+        }
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * gets the input performances of one sample
+     *
+     * @param sampleIdx index of the sample
+     * @return view of the sample backed by this collection
+     */
+    public PerformanceMatrix getInputSample(int sampleIdx) {
+        return inputLayout.viewOf(inputValues, sampleIdx * blockSize(inputLayout));
+    }
 
-    public PerformanceSamplesCollection() {
-        this.inputPerformances = new ArrayList<>();
-        this.outputPerformances = new ArrayList<>();
+    /**
+     * gets the output performances of one sample
+     *
+     * @param sampleIdx index of the sample
+     * @return view of the sample backed by this collection
+     */
+    public PerformanceMatrix getOutputSample(int sampleIdx) {
+        return outputLayout.viewOf(outputValues, sampleIdx * blockSize(outputLayout));
     }
 
-    public List<Table> getInputPerformances() {
-        return inputPerformances;
+    public void setInputColumn(int sampleIdx, int factorIdx, double[] performances) {
+        setColumn(inputLayout, inputValues, sampleIdx, factorIdx, performances);
     }
 
-    public List<Table> getOutputPerformances() {
-        return outputPerformances;
+    public void setOutputColumn(int sampleIdx, int factorIdx, double[] performances) {
+        setColumn(outputLayout, outputValues, sampleIdx, factorIdx, performances);
     }
 
+    private void setColumn(PerformanceMatrix layout,
+                           double[] values,
+                           int sampleIdx,
+                           int factorIdx,
+                           double[] performances) {
+        if (performances.length != layout.getDmuCount())
+            throw new IllegalArgumentException("Number of performances does not match the number of DMUs");
+        System.arraycopy(performances, 0, values,
+                sampleIdx * blockSize(layout) + factorIdx * layout.getDmuCount(),
+                performances.length);
+    }
+
+    private int blockSize(PerformanceMatrix layout) {
+        return layout.getFactorCount() * layout.getDmuCount();
+    }
 }
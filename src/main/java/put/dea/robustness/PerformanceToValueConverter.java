@@ -1,40 +1,45 @@
 package put.dea.robustness;
 
 import org.apache.commons.math3.util.Pair;
-import tech.tablesaw.api.DoubleColumn;
-import tech.tablesaw.api.Table;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.DoubleUnaryOperator;
 
 class PerformanceToValueConverter {
-    public Table transformInputsToUtilities(VDEAProblemData data) {
+    public PerformanceMatrix transformInputsToUtilities(VDEAProblemData data) {
         return transformPerformanceToUtilities(data, true);
     }
 
-    private Table transformPerformanceToUtilities(VDEAProblemData data,
-                                                  boolean input) {
-        Table utilities = Table.create();
-        var performances = input ? data.getInputData() : data.getOutputData();
-        for (var columnName : performances.columnNames()) {
-            var shape = data.getFunctionShape(columnName);
-            var df = input ? data.getInputData() : data.getOutputData();
-            utilities.addColumns(transformColumnToUtilities(df, columnName, shape));
-        }
-        return utilities;
+    private PerformanceMatrix transformPerformanceToUtilities(VDEAProblemData data,
+                                                              boolean input) {
+        var performances = input ? data.getInputMatrix() : data.getOutputMatrix();
+        var columnTransformations = performances.getFactorNames()
+                .stream()
+                .map(factor -> sortShape(data.getFunctionShape(factor)))
+                .map(shape -> (DoubleUnaryOperator) v -> transformValueToUtilities(v, shape))
+                .toList();
+        return performances.mapColumns(columnTransformations);
+    }
+
+    private List<Pair<Double, Double>> sortShape(List<Pair<Double, Double>> shape) {
+        return shape.stream().sorted(Comparator.comparing(Pair::getFirst)).toList();
     }
 
-    public DoubleColumn transformColumnToUtilities(Table data,
-                                                   String columnName,
-                                                   List<Pair<Double, Double>> shape) {
-        var sortedShape = shape.stream().sorted(Comparator.comparing(Pair::getFirst)).toList();
-        return data.doubleColumn(columnName).map(v -> transformValueToUtilities(v, sortedShape));
+    public double[] transformValuesToUtilities(double[] values,
+                                               List<Pair<Double, Double>> shape) {
+        var sortedShape = sortShape(shape);
+        var result = new double[values.length];
+        for (int i = 0; i < values.length; i++)
+            result[i] = transformValueToUtilities(values[i], sortedShape);
+        return result;
     }
 
-    private Double transformValueToUtilities(Double value,
+    private double transformValueToUtilities(double value,
                                              List<Pair<Double, Double>> shape) {
         var lb = shape.get(0);
-        for (var point : shape.stream().skip(1).toList()) {
+        for (int i = 1; i < shape.size(); i++) {
+            var point = shape.get(i);
             var ub = point.getFirst();
             if (value <= ub) {
                 var linearRatio = (value - lb.getFirst()) / (ub - lb.getFirst());
@@ -45,7 +50,7 @@ class PerformanceToValueConverter {
         throw new IllegalArgumentException("Given input/output value out of defined column bounds");
     }
 
-    public Table transformOutputsToUtilities(VDEAProblemData data) {
+    public PerformanceMatrix transformOutputsToUtilities(VDEAProblemData data) {
         return transformPerformanceToUtilities(data, false);
     }
 }
@@ -0,0 +1,292 @@
+package put.dea.robustness;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Matrix of a preference relation between DMUs (true if the subject DMU in the row
+ * is preferred to the relative DMU in the column) stored as bitsets - one bit per pair of DMUs,
+ * with every row starting at a new 64-bit word.
+ * The {@link List} representation returned by {@link #toList()} is a view of this matrix.
+ */
+public final class PreferenceMatrix {
+    private static final int FILE_MAGIC = 0x44454150;
+    private static final int FILE_VERSION = 1;
+
+    private final int dmuCount;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    /**
+     * Creates a matrix without any relations
+     *
+     * @param dmuCount number of DMUs
+     */
+    PreferenceMatrix(int dmuCount) {
+        if (dmuCount < 0)
+            throw new IllegalArgumentException("Number of DMUs cannot be negative");
+        this.dmuCount = dmuCount;
+        this.wordsPerRow = (dmuCount + Long.SIZE - 1) / Long.SIZE;
+        this.words = new long[dmuCount * wordsPerRow];
+    }
+
+    /**
+     * creates the matrix with given relations
+     *
+     * @param relations {@link List} of {@link List lists} of boolean indicators representing the relation
+     * @return matrix of the relation
+     */
+    public static PreferenceMatrix fromList(List<List<Boolean>> relations) {
+        var matrix = new PreferenceMatrix(relations.size());
+        for (int subject = 0; subject < relations.size(); subject++) {
+            var row = relations.get(subject);
+            if (row.size() != relations.size())
+                throw new IllegalArgumentException("Preference matrix must be square");
+            for (int relative = 0; relative < row.size(); relative++)
+                matrix.set(subject, relative, row.get(relative));
+        }
+        return matrix;
+    }
+
+    /**
+     * returns the number of DMUs
+     *
+     * @return number of rows and columns of the matrix
+     */
+    public int getDmuCount() {
+        return dmuCount;
+    }
+
+    /**
+     * verifies if the subject DMU is preferred to the relative DMU
+     *
+     * @param subjectDmuIdx  index of the subject DMU
+     * @param relativeDmuIdx index of the relative DMU
+     * @return true if the relation is present; false otherwise
+     */
+    public boolean get(int subjectDmuIdx, int relativeDmuIdx) {
+        checkIndex(subjectDmuIdx);
+        checkIndex(relativeDmuIdx);
+        return (words[wordIndex(subjectDmuIdx, relativeDmuIdx)] & bit(relativeDmuIdx)) != 0;
+    }
+
+    void set(int subjectDmuIdx, int relativeDmuIdx, boolean value) {
+        checkIndex(subjectDmuIdx);
+        checkIndex(relativeDmuIdx);
+        if (value)
+            words[wordIndex(subjectDmuIdx, relativeDmuIdx)] |= bit(relativeDmuIdx);
+        else
+            words[wordIndex(subjectDmuIdx, relativeDmuIdx)] &= ~bit(relativeDmuIdx);
+    }
+
+    /**
+     * returns the DMUs to which the subject DMU is preferred
+     *
+     * @param subjectDmuIdx index of the subject DMU
+     * @return {@link BitSet} with indices of the relative DMUs (a copy of the row)
+     */
+    public BitSet getRow(int subjectDmuIdx) {
+        checkIndex(subjectDmuIdx);
+        return BitSet.valueOf(Arrays.copyOfRange(words,
+                subjectDmuIdx * wordsPerRow, (subjectDmuIdx + 1) * wordsPerRow));
+    }
+
+    /**
+     * returns the DMUs preferred to the relative DMU
+     *
+     * @param relativeDmuIdx index of the relative DMU
+     * @return {@link BitSet} with indices of the subject DMUs (a copy of the column)
+     */
+    public BitSet getColumn(int relativeDmuIdx) {
+        checkIndex(relativeDmuIdx);
+        var column = new BitSet(dmuCount);
+        for (int subject = 0; subject < dmuCount; subject++)
+            if ((words[wordIndex(subject, relativeDmuIdx)] & bit(relativeDmuIdx)) != 0)
+                column.set(subject);
+        return column;
+    }
+
+    /**
+     * returns the number of DMUs to which the DMU is preferred (including itself if the relation is reflexive)
+     *
+     * @param dmuIdx index of the DMU
+     * @return outranking degree of the DMU
+     */
+    public int getOutrankingDegree(int dmuIdx) {
+        checkIndex(dmuIdx);
+        var degree = 0;
+        for (int word = dmuIdx * wordsPerRow; word < (dmuIdx + 1) * wordsPerRow; word++)
+            degree += Long.bitCount(words[word]);
+        return degree;
+    }
+
+    /**
+     * returns the number of DMUs preferred to the DMU (including itself if the relation is reflexive)
+     *
+     * @param dmuIdx index of the DMU
+     * @return outranked degree of the DMU
+     */
+    public int getOutrankedDegree(int dmuIdx) {
+        checkIndex(dmuIdx);
+        var degree = 0;
+        for (int subject = 0; subject < dmuCount; subject++)
+            if ((words[wordIndex(subject, dmuIdx)] & bit(dmuIdx)) != 0)
+                degree++;
+        return degree;
+    }
+
+    /**
+     * returns the number of pairs of DMUs in the relation
+     *
+     * @return number of true values in the matrix
+     */
+    public long getRelationCount() {
+        var count = 0L;
+        for (var word : words)
+            count += Long.bitCount(word);
+        return count;
+    }
+
+    /**
+     * extracts the transitive reduction (Hasse diagram) of a transitive relation (e.g. the necessary preference):
+     * a pair of different DMUs is kept if there is no DMU strictly between them,
+     * i.e. preferred to the relative DMU, with the subject DMU preferred to it and not indifferent to any of them.
+     * Indifferent DMUs (preferred to each other) are kept connected with each other
+     * and with the DMUs covering or covered by them.
+     *
+     * @return matrix of the reduced relation (without the reflexive pairs)
+     */
+    public PreferenceMatrix getTransitiveReduction() {
+        var columns = new long[dmuCount * wordsPerRow];
+        for (int subject = 0; subject < dmuCount; subject++)
+            for (int relative = 0; relative < dmuCount; relative++)
+                if ((words[wordIndex(subject, relative)] & bit(relative)) != 0)
+                    columns[wordIndex(relative, subject)] |= bit(subject);
+
+        var reduction = new PreferenceMatrix(dmuCount);
+        for (int subject = 0; subject < dmuCount; subject++) {
+            var subjectRow = subject * wordsPerRow;
+            for (int relative = 0; relative < dmuCount; relative++) {
+                if (relative == subject || (words[wordIndex(subject, relative)] & bit(relative)) == 0)
+                    continue;
+                var relativeRow = relative * wordsPerRow;
+                var covered = true;
+                for (int word = 0; word < wordsPerRow && covered; word++) {
+                    var between = words[subjectRow + word]
+                            & columns[relativeRow + word]
+                            & ~columns[subjectRow + word]
+                            & ~words[relativeRow + word];
+                    covered = between == 0;
+                }
+                if (covered)
+                    reduction.words[wordIndex(subject, relative)] |= bit(relative);
+            }
+        }
+        return reduction;
+    }
+
+    /**
+     * returns the {@link List} view of the matrix
+     *
+     * @return {@link List} of {@link List lists} of boolean indicators representing the relation
+     */
+    public List<List<Boolean>> toList() {
+        return new AbstractList<>() {
+            @Override
+            public List<Boolean> get(int subjectDmuIdx) {
+                checkIndex(subjectDmuIdx);
+                return new AbstractList<>() {
+                    @Override
+                    public Boolean get(int relativeDmuIdx) {
+                        return PreferenceMatrix.this.get(subjectDmuIdx, relativeDmuIdx);
+                    }
+
+                    @Override
+                    public int size() {
+                        return dmuCount;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return dmuCount;
+            }
+        };
+    }
+
+    /**
+     * writes the matrix in a compact binary format: a header (magic number, version, number of DMUs)
+     * followed by the rows' 64-bit words
+     *
+     * @param stream output stream (not closed by this method)
+     */
+    public void writeTo(OutputStream stream) {
+        try {
+            var output = new DataOutputStream(stream);
+            output.writeInt(FILE_MAGIC);
+            output.writeInt(FILE_VERSION);
+            output.writeInt(dmuCount);
+            for (var word : words)
+                output.writeLong(word);
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * reads the matrix written by {@link #writeTo(OutputStream)}
+     *
+     * @param stream input stream (not closed by this method)
+     * @return matrix read from the stream
+     */
+    public static PreferenceMatrix readFrom(InputStream stream) {
+        try {
+            var input = new DataInputStream(stream);
+            if (input.readInt() != FILE_MAGIC || input.readInt() != FILE_VERSION)
+                throw new IllegalArgumentException("Stream does not contain a preference matrix");
+            var matrix = new PreferenceMatrix(input.readInt());
+            for (int word = 0; word < matrix.words.length; word++)
+                matrix.words[word] = input.readLong();
+            return matrix;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other)
+            return true;
+        if (!(other instanceof PreferenceMatrix matrix))
+            return false;
+        return dmuCount == matrix.dmuCount && Arrays.equals(words, matrix.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * dmuCount + Arrays.hashCode(words);
+    }
+
+    private int wordIndex(int subjectDmuIdx, int relativeDmuIdx) {
+        return subjectDmuIdx * wordsPerRow + relativeDmuIdx / Long.SIZE;
+    }
+
+    private static long bit(int relativeDmuIdx) {
+        return 1L << (relativeDmuIdx % Long.SIZE);
+    }
+
+    private void checkIndex(int dmuIdx) {
+        if (dmuIdx < 0 || dmuIdx >= dmuCount)
+            throw new IndexOutOfBoundsException("DMU index " + dmuIdx + " out of bounds for " + dmuCount + " DMUs");
+    }
+}
@@ -1,7 +1,6 @@
 package put.dea.robustness;
 
 import java.util.List;
-import java.util.stream.IntStream;
 
 /**
  * Interface providing methods for verification of presence of the necessary and possible efficiency preference relations
@@ -16,13 +15,21 @@ public interface PreferenceRelations<T extends ProblemData> {
      * @return {@link List} of {@link List lists} of boolean indicators representing the presence of necessary efficiency preference
      */
     default List<List<Boolean>> checkNecessaryPreferenceForAll(T data) {
-        return IntStream.range(0, data.getDmuCount())
-                .boxed()
-                .map(subjectDmu -> IntStream.range(0, data.getDmuCount())
-                        .boxed()
-                        .map(relative -> isNecessarilyPreferred(data, subjectDmu, relative))
-                        .toList())
-                .toList();
+        return necessaryPreferenceMatrix(data).toList();
+    }
+
+    /**
+     * verifies the presence of necessary efficiency preference relations for all pairs of DMUs
+     *
+     * @param data data set specification
+     * @return {@link PreferenceMatrix} representing the presence of necessary efficiency preference
+     */
+    default PreferenceMatrix necessaryPreferenceMatrix(T data) {
+        var matrix = new PreferenceMatrix(data.getDmuCount());
+        for (int subjectDmu = 0; subjectDmu < data.getDmuCount(); subjectDmu++)
+            for (int relativeDmu = 0; relativeDmu < data.getDmuCount(); relativeDmu++)
+                matrix.set(subjectDmu, relativeDmu, isNecessarilyPreferred(data, subjectDmu, relativeDmu));
+        return matrix;
     }
 
     /**
@@ -42,13 +49,21 @@ public interface PreferenceRelations<T extends ProblemData> {
      * @return {@link List} of {@link List lists} of boolean indicators representing the presence of the possible efficiency preference
      */
     default List<List<Boolean>> checkPossiblePreferenceForAll(T data) {
-        return IntStream.range(0, data.getDmuCount())
-                .boxed()
-                .map(subjectDmu -> IntStream.range(0, data.getDmuCount())
-                        .boxed()
-                        .map(relative -> isPossiblyPreferred(data, subjectDmu, relative))
-                        .toList())
-                .toList();
+        return possiblePreferenceMatrix(data).toList();
+    }
+
+    /**
+     * verifies the presence of the possible efficiency preference relations for all pairs of DMUs
+     *
+     * @param data data set specification
+     * @return {@link PreferenceMatrix} representing the presence of the possible efficiency preference
+     */
+    default PreferenceMatrix possiblePreferenceMatrix(T data) {
+        var matrix = new PreferenceMatrix(data.getDmuCount());
+        for (int subjectDmu = 0; subjectDmu < data.getDmuCount(); subjectDmu++)
+            for (int relativeDmu = 0; relativeDmu < data.getDmuCount(); relativeDmu++)
+                matrix.set(subjectDmu, relativeDmu, isPossiblyPreferred(data, subjectDmu, relativeDmu));
+        return matrix;
     }
 
     /**
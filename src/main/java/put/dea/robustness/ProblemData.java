@@ -1,11 +1,10 @@
 package put.dea.robustness;
 
-import tech.tablesaw.api.DoubleColumn;
-import tech.tablesaw.api.StringColumn;
 import tech.tablesaw.api.Table;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
@@ -14,8 +13,8 @@ import java.util.stream.IntStream;
  * Class representing data set for problems with precise information for CCR efficiency model
  */
 public class ProblemData {
-    private final Table inputData;
-    private final Table outputData;
+    private final PerformanceMatrix inputMatrix;
+    private final PerformanceMatrix outputMatrix;
 
     private final Map<String, Integer> columnIndices = new HashMap<>();
     private List<Constraint> weightConstraints = new ArrayList<>();
@@ -64,24 +63,66 @@ public class ProblemData {
         if (outputNames == null)
             outputNames = generateColumnNames(outputData[0].length, "out_");
 
-        this.inputData = convertArrayToTable(inputData, inputNames);
-        this.outputData = convertArrayToTable(outputData, outputNames);
+        this.inputMatrix = PerformanceMatrix.fromRows(inputData, inputNames);
+        this.outputMatrix = PerformanceMatrix.fromRows(outputData, outputNames);
+        if (inputMatrix.getDmuCount() != outputMatrix.getDmuCount())
+            throw new IllegalArgumentException("Inputs and outputs must be defined for the same number of DMUs");
         initializeColumnIndices(inputNames, outputNames);
         this.weightConstraints = weightConstraints;
     }
 
+    /**
+     * Constructor creating {@link ProblemData} object from a stream of DMUs' performances.
+     * Each row has to contain the input performances followed by the output performances
+     * in the order of provided factor names. Rows are stored directly in the internal
+     * column-wise representation, so the source does not have to be materialized.
+     *
+     * @param rows        {@link Iterator} over DMUs' performances (e.g. {@link CsvPerformanceReader})
+     * @param inputNames  {@link List} of names for inputs
+     * @param outputNames {@link List} of names for outputs
+     */
+    public ProblemData(Iterator<double[]> rows,
+                       List<String> inputNames,
+                       List<String> outputNames) {
+        this(readMatrices(rows, inputNames, outputNames));
+    }
+
+    private ProblemData(PerformanceMatrix[] matrices) {
+        this(matrices[0], matrices[1]);
+    }
+
+    private static PerformanceMatrix[] readMatrices(Iterator<double[]> rows,
+                                                    List<String> inputNames,
+                                                    List<String> outputNames) {
+        var inputs = new PerformanceMatrixBuilder(inputNames);
+        var outputs = new PerformanceMatrixBuilder(outputNames);
+        var rowLength = inputNames.size() + outputNames.size();
+        while (rows.hasNext()) {
+            var row = rows.next();
+            if (row.length != rowLength)
+                throw new IllegalArgumentException("Each DMU must have exactly " + rowLength + " performances");
+            inputs.addRow(row, 0);
+            outputs.addRow(row, inputNames.size());
+        }
+        return new PerformanceMatrix[]{inputs.build(), outputs.build()};
+    }
+
     protected List<String> generateColumnNames(int count, String prefix) {
         return IntStream.range(0, count).boxed().map(idx -> prefix + idx).toList();
     }
 
+    /**
+     * converts performances given row by row to a {@link Table} with one column per factor
+     *
+     * @param arr         DMUs' performances
+     * @param columnNames names of the factors
+     * @return {@link Table} with the performances
+     * @deprecated the performances are stored in {@link PerformanceMatrix},
+     * see {@link #getInputMatrix()} and {@link #getOutputMatrix()}
+     */
+    @Deprecated
     protected Table convertArrayToTable(double[][] arr, List<String> columnNames) {
-
-        var table = Table.create();
-        table.addColumns(StringColumn.create("names", columnNames));
-        for (double[] values : arr) {
-            table.addColumns(DoubleColumn.create("c" + table.columnCount(), values));
-        }
-        return table.transpose(false, true);
+        return PerformanceMatrix.fromRows(arr, columnNames).toTable();
     }
 
     private void initializeColumnIndices(List<String> inputNames, List<String> outputNames) {
@@ -93,15 +134,22 @@ public class ProblemData {
 
     /**
      * Constructor creating {@link ProblemData} object from input and output performances
-     * provided as {@link Table} objects
+     * provided as {@link Table} objects; the performances are copied,
+     * so modifying the tables later does not affect the created object
      *
      * @param inputData  DMUs' inputs performances
      * @param outputData DMUs' outputs performances
      */
     public ProblemData(Table inputData, Table outputData) {
-        this.inputData = inputData;
-        this.outputData = outputData;
-        initializeColumnIndices(inputData.columnNames(), outputData.columnNames());
+        this(PerformanceMatrix.fromTable(inputData), PerformanceMatrix.fromTable(outputData));
+    }
+
+    ProblemData(PerformanceMatrix inputMatrix, PerformanceMatrix outputMatrix) {
+        if (inputMatrix.getDmuCount() != outputMatrix.getDmuCount())
+            throw new IllegalArgumentException("Inputs and outputs must be defined for the same number of DMUs");
+        this.inputMatrix = inputMatrix;
+        this.outputMatrix = outputMatrix;
+        initializeColumnIndices(inputMatrix.getFactorNames(), outputMatrix.getFactorNames());
     }
 
     /**
@@ -119,7 +167,7 @@ public class ProblemData {
      * @return number of inputs in the data set
      */
     public int getInputCount() {
-        return inputData.columnCount();
+        return inputMatrix.getFactorCount();
     }
 
     /**
@@ -128,7 +176,7 @@ public class ProblemData {
      * @return number of outputs in the data set
      */
     public int getOutputCount() {
-        return outputData.columnCount();
+        return outputMatrix.getFactorCount();
     }
 
     /**
@@ -137,25 +185,45 @@ public class ProblemData {
      * @return number of DMUs in the data set
      */
     public int getDmuCount() {
-        return inputData.rowCount();
+        return inputMatrix.getDmuCount();
     }
 
     /**
-     * returns DMUs' input performances
+     * returns a copy of DMUs' input performances as a {@link Table};
+     * the models are built from {@link #getInputMatrix()}, so modifying the copy does not affect them
      *
      * @return DMUs' input performances
      */
     public Table getInputData() {
-        return inputData;
+        return inputMatrix.toTable();
     }
 
     /**
-     * returns DMUs' output performances
+     * returns a copy of DMUs' output performances as a {@link Table};
+     * the models are built from {@link #getOutputMatrix()}, so modifying the copy does not affect them
      *
      * @return DMUs' output performances
      */
     public Table getOutputData() {
-        return outputData;
+        return outputMatrix.toTable();
+    }
+
+    /**
+     * returns DMUs' input performances
+     *
+     * @return {@link PerformanceMatrix} with DMUs' input performances
+     */
+    public PerformanceMatrix getInputMatrix() {
+        return inputMatrix;
+    }
+
+    /**
+     * returns DMUs' output performances
+     *
+     * @return {@link PerformanceMatrix} with DMUs' output performances
+     */
+    public PerformanceMatrix getOutputMatrix() {
+        return outputMatrix;
     }
 
     /**
@@ -0,0 +1,20 @@
+package put.dea.robustness;
+
+/**
+ * Defines how ranks are assigned to DMUs with equal efficiency scores in a sample
+ * of the SMAA rank analyses
+ */
+public enum RankTieHandling {
+    /**
+     * tied DMUs get consecutive ranks in the order of their indices (e.g. 1, 2, 3, 4)
+     */
+    INDEX_ORDER,
+    /**
+     * all tied DMUs get the best rank of the group (e.g. 1, 2, 2, 4)
+     */
+    SHARED_BEST,
+    /**
+     * all tied DMUs get the worst rank of the group (e.g. 1, 3, 3, 4)
+     */
+    SHARED_WORST
+}
@@ -4,17 +4,63 @@ import com.google.ortools.Loader;
 import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPSolver;
 import com.google.ortools.linearsolver.MPVariable;
-import tech.tablesaw.api.Table;
 
 import java.util.List;
 
 abstract class RobustnessLPBase {
+    private ExecutionStrategy executionStrategy = ExecutionStrategy.sequential();
+    private SolverBackend solverBackend = SolverBackend.AUTOMATIC;
+
     public RobustnessLPBase() {
         Loader.loadNativeLibraries();
     }
 
+    /**
+     * returns the strategy used to solve the per-DMU problems in the *ForAll methods
+     *
+     * @return {@link ExecutionStrategy} used by this object
+     */
+    public ExecutionStrategy getExecutionStrategy() {
+        return executionStrategy;
+    }
+
+    /**
+     * sets the strategy used to solve the per-DMU problems in the *ForAll methods
+     *
+     * @param executionStrategy {@link ExecutionStrategy} to be used
+     */
+    public void setExecutionStrategy(ExecutionStrategy executionStrategy) {
+        if (executionStrategy == null)
+            throw new IllegalArgumentException("Execution strategy cannot be null");
+        this.executionStrategy = executionStrategy;
+    }
+
+    /**
+     * returns the backend used to solve the optimization models
+     *
+     * @return {@link SolverBackend} used by this object
+     */
+    public SolverBackend getSolverBackend() {
+        return solverBackend;
+    }
+
+    /**
+     * sets the backend used to solve the optimization models
+     *
+     * @param solverBackend {@link SolverBackend} to be used
+     */
+    public void setSolverBackend(SolverBackend solverBackend) {
+        if (solverBackend == null)
+            throw new IllegalArgumentException("Solver backend cannot be null");
+        this.solverBackend = solverBackend;
+    }
+
     protected MPSolver makeModel(OptimizationSense sense) {
-        MPSolver model = MPSolver.createSolver("SCIP");
+        return makeModel(sense, false);
+    }
+
+    protected MPSolver makeModel(OptimizationSense sense, boolean integerVariables) {
+        MPSolver model = MPSolver.createSolver(solverBackend.getSolverId(integerVariables));
         if (model == null)
             throw new RuntimeException("Cannot create solver");
         model.objective().setOptimizationDirection(sense.isMaximize());
@@ -60,8 +106,8 @@ abstract class RobustnessLPBase {
         }
     }
 
-    protected List<MPVariable> makeWeightVariables(MPSolver model, Table data, double ub) {
-        return data.columnNames()
+    protected List<MPVariable> makeWeightVariables(MPSolver model, PerformanceMatrix data, double ub) {
+        return data.getFactorNames()
                 .stream()
                 .map(column -> model.makeNumVar(0, ub, column))
                 .toList();
@@ -0,0 +1,434 @@
+package put.dea.robustness;
+
+import com.google.ortools.Loader;
+import com.google.ortools.linearsolver.MPSolver;
+import com.google.ortools.linearsolver.MPVariable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Samples uniformly from a polytope with hit-and-run Markov chains preceded by a preprocessing stage:
+ * <ol>
+ *     <li>the equality constraints are eliminated, so the chain moves in the affine hull of the polytope,</li>
+ *     <li>the chain starts in the Chebyshev center (the center of the largest inscribed ball) found with an LP,
+ *     instead of an arbitrary (often boundary) point,</li>
+ *     <li>the polytope is rounded: short pilot chains estimate its covariance and the chain moves
+ *     in coordinates in which the polytope is approximately isotropic.</li>
+ * </ol>
+ * In narrow, elongated polytopes (e.g. created by tight weight constraints) plain hit-and-run
+ * mostly proposes directions along which only tiny steps are possible; after rounding all directions
+ * are similarly long, so a thinning linear in the dimension mixes as well as much longer chains.
+ */
+class RoundedHitAndRunSampler {
+    private static final double EPSILON = 1e-10;
+    private static final int ROUNDING_ITERATIONS = 3;
+    private static final int PILOT_SAMPLES_PER_DIMENSION = 20;
+
+    private final int variablesCount;
+    private final int dimension;
+    /**
+     * particular solution of the equality constraints
+     */
+    private final double[] origin;
+    /**
+     * orthonormal basis of the null space of the equality constraints (variablesCount x dimension)
+     */
+    private final double[][] basis;
+    /**
+     * inequality constraints {@code lhs y <= rhs} in the coordinates of the null space
+     */
+    private final double[][] lhs;
+    private final double[] rhs;
+    private final double[] center;
+    private final double chebyshevRadius;
+
+    private RoundedHitAndRunSampler(int variablesCount,
+                                    double[] origin,
+                                    double[][] basis,
+                                    double[][] lhs,
+                                    double[] rhs,
+                                    double[] center,
+                                    double chebyshevRadius) {
+        this.variablesCount = variablesCount;
+        this.dimension = basis.length == 0 ? 0 : basis[0].length;
+        this.origin = origin;
+        this.basis = basis;
+        this.lhs = lhs;
+        this.rhs = rhs;
+        this.center = center;
+        this.chebyshevRadius = chebyshevRadius;
+    }
+
+    /**
+     * eliminates the equality constraints and finds the Chebyshev center of the polytope
+     *
+     * @param constraints    constraints defining the sampled polytope
+     * @param variablesCount number of variables
+     * @return sampler for the polytope
+     */
+    static RoundedHitAndRunSampler fromConstraints(ConstraintsSet constraints, int variablesCount) {
+        var equalities = new ArrayList<double[]>();
+        var equalityRhs = new ArrayList<Double>();
+        var inequalities = new ArrayList<double[]>();
+        var inequalityRhs = new ArrayList<Double>();
+        for (int i = 0; i < constraints.lhs().size(); i++) {
+            var row = constraints.lhs().get(i);
+            var value = constraints.rhs().get(i);
+            switch (constraints.dir().get(i)) {
+                case "=" -> {
+                    equalities.add(row);
+                    equalityRhs.add(value);
+                }
+                case "<=" -> {
+                    inequalities.add(row);
+                    inequalityRhs.add(value);
+                }
+                case ">=" -> {
+                    inequalities.add(negate(row));
+                    inequalityRhs.add(-value);
+                }
+                default -> throw new IllegalArgumentException("Unknown constraint direction "
+                        + constraints.dir().get(i));
+            }
+        }
+
+        var reduced = reduceEqualities(equalities, equalityRhs, variablesCount);
+        var origin = reduced.origin();
+        var basis = reduced.basis();
+        var dimension = basis.length == 0 ? 0 : basis[0].length;
+        var lhs = new ArrayList<double[]>();
+        var rhs = new ArrayList<Double>();
+        for (int i = 0; i < inequalities.size(); i++) {
+            var row = inequalities.get(i);
+            var projected = new double[dimension];
+            for (int j = 0; j < dimension; j++)
+                for (int v = 0; v < variablesCount; v++)
+                    projected[j] += row[v] * basis[v][j];
+            var slack = inequalityRhs.get(i) - dot(row, origin);
+            if (norm(projected) < EPSILON) {
+                if (slack < -EPSILON)
+                    throw new RuntimeException("Weight constraints are infeasible");
+                continue;
+            }
+            lhs.add(projected);
+            rhs.add(slack);
+        }
+        var lhsArray = lhs.toArray(new double[0][]);
+        var rhsArray = rhs.stream().mapToDouble(x -> x).toArray();
+        var center = new double[dimension];
+        var radius = dimension == 0 ? 0.0 : findChebyshevCenter(lhsArray, rhsArray, center);
+        return new RoundedHitAndRunSampler(variablesCount, origin, basis, lhsArray, rhsArray, center, radius);
+    }
+
+    /**
+     * gets the Chebyshev center of the polytope in the original coordinates
+     *
+     * @return center of the largest ball inscribed in the polytope
+     */
+    double[] getChebyshevCenter() {
+        return toVariables(center);
+    }
+
+    /**
+     * gets the radius of the largest ball inscribed in the polytope (within its affine hull)
+     *
+     * @return radius of the ball
+     */
+    double getChebyshevRadius() {
+        return chebyshevRadius;
+    }
+
+    /**
+     * gets the dimension of the polytope (the number of variables minus the number of
+     * independent equality constraints)
+     *
+     * @return dimension of the polytope
+     */
+    int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * rounds the polytope with pilot chains and generates the samples
+     * with the number of hit-and-run steps between consecutive samples defined by the schedule
+     *
+     * @param random          random numbers generator
+     * @param numberOfSamples number of samples
+     * @param schedule        thinning and burn-in of the chain
+     * @return samples in the original coordinates
+     */
+    double[][] generateSamples(Random random, int numberOfSamples, SamplingSchedule schedule) {
+        var samples = new double[numberOfSamples][];
+        if (dimension == 0) {
+            for (int sampleIdx = 0; sampleIdx < numberOfSamples; sampleIdx++)
+                samples[sampleIdx] = origin.clone();
+            return samples;
+        }
+        var chain = new Chain(center.clone(), identity(dimension, chebyshevRadius));
+        for (int iteration = 0; iteration < ROUNDING_ITERATIONS; iteration++) {
+            var pilotSamples = new double[PILOT_SAMPLES_PER_DIMENSION * dimension][];
+            for (int sampleIdx = 0; sampleIdx < pilotSamples.length; sampleIdx++) {
+                chain.walk(random, dimension);
+                pilotSamples[sampleIdx] = chain.point.clone();
+            }
+            var transformation = estimateTransformation(pilotSamples);
+            if (transformation != null)
+                chain = new Chain(chain.point, transformation);
+        }
+        var thinning = schedule.getThinning(dimension);
+        for (int sampleIdx = 0; sampleIdx < schedule.getBurnIn(); sampleIdx++)
+            chain.walk(random, thinning);
+        for (int sampleIdx = 0; sampleIdx < numberOfSamples; sampleIdx++) {
+            chain.walk(random, thinning);
+            samples[sampleIdx] = toVariables(chain.point);
+        }
+        return samples;
+    }
+
+    /**
+     * hit-and-run chain in the reduced coordinates, which draws the directions uniformly
+     * after mapping them with the rounding transformation
+     */
+    private class Chain {
+        private final double[] point;
+        private final double[][] transformation;
+        private final double[][] transformedLhs;
+        private final double[] slacks;
+        private final double[] direction;
+        private final double[] lhsDirection;
+
+        Chain(double[] point, double[][] transformation) {
+            this.point = point;
+            this.transformation = transformation;
+            this.transformedLhs = new double[lhs.length][dimension];
+            for (int i = 0; i < lhs.length; i++)
+                for (int j = 0; j < dimension; j++)
+                    for (int k = 0; k < dimension; k++)
+                        transformedLhs[i][j] += lhs[i][k] * transformation[k][j];
+            this.slacks = new double[lhs.length];
+            for (int i = 0; i < lhs.length; i++)
+                slacks[i] = rhs[i] - dot(lhs[i], point);
+            this.direction = new double[dimension];
+            this.lhsDirection = new double[lhs.length];
+        }
+
+        void walk(Random random, int steps) {
+            for (int step = 0; step < steps; step++)
+                makeStep(random);
+        }
+
+        private void makeStep(Random random) {
+            var directionNorm = 0.0;
+            while (directionNorm < EPSILON) {
+                directionNorm = 0.0;
+                for (int j = 0; j < dimension; j++) {
+                    direction[j] = random.nextGaussian();
+                    directionNorm += direction[j] * direction[j];
+                }
+                directionNorm = Math.sqrt(directionNorm);
+            }
+            var lower = Double.NEGATIVE_INFINITY;
+            var upper = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < lhs.length; i++) {
+                lhsDirection[i] = dot(transformedLhs[i], direction) / directionNorm;
+                var slack = Math.max(slacks[i], 0.0);
+                if (lhsDirection[i] > EPSILON)
+                    upper = Math.min(upper, slack / lhsDirection[i]);
+                else if (lhsDirection[i] < -EPSILON)
+                    lower = Math.max(lower, slack / lhsDirection[i]);
+            }
+            if (Double.isInfinite(lower) || Double.isInfinite(upper))
+                throw new RuntimeException("Weight space is unbounded");
+            var length = lower + random.nextDouble() * (upper - lower);
+            for (int k = 0; k < dimension; k++) {
+                var shift = 0.0;
+                for (int j = 0; j < dimension; j++)
+                    shift += transformation[k][j] * direction[j];
+                point[k] += length * shift / directionNorm;
+            }
+            for (int i = 0; i < lhs.length; i++)
+                slacks[i] -= length * lhsDirection[i];
+        }
+    }
+
+    /**
+     * calculates the Cholesky factor of the covariance of the pilot samples,
+     * which maps the unit ball to the ellipsoid approximating the polytope
+     *
+     * @return lower triangular factor or null if the covariance is singular
+     */
+    private double[][] estimateTransformation(double[][] pilotSamples) {
+        var mean = new double[dimension];
+        for (var sample : pilotSamples)
+            for (int j = 0; j < dimension; j++)
+                mean[j] += sample[j] / pilotSamples.length;
+        var covariance = new double[dimension][dimension];
+        for (var sample : pilotSamples)
+            for (int j = 0; j < dimension; j++)
+                for (int k = 0; k <= j; k++)
+                    covariance[j][k] += (sample[j] - mean[j]) * (sample[k] - mean[k]) / (pilotSamples.length - 1);
+        var factor = new double[dimension][dimension];
+        for (int j = 0; j < dimension; j++) {
+            for (int k = 0; k <= j; k++) {
+                var sum = covariance[j][k];
+                for (int l = 0; l < k; l++)
+                    sum -= factor[j][l] * factor[k][l];
+                if (j == k) {
+                    if (sum <= EPSILON * EPSILON)
+                        return null;
+                    factor[j][j] = Math.sqrt(sum);
+                } else {
+                    factor[j][k] = sum / factor[k][k];
+                }
+            }
+        }
+        return factor;
+    }
+
+    private double[] toVariables(double[] point) {
+        var variables = origin.clone();
+        for (int v = 0; v < variablesCount; v++)
+            for (int j = 0; j < dimension; j++)
+                variables[v] += basis[v][j] * point[j];
+        return variables;
+    }
+
+    private record ReducedEqualities(double[] origin, double[][] basis) {
+    }
+
+    /**
+     * finds a particular solution of the equality constraints (with Gauss-Jordan elimination)
+     * and an orthonormal basis of their null space (with Gram-Schmidt orthogonalization)
+     */
+    private static ReducedEqualities reduceEqualities(List<double[]> equalities,
+                                                      List<Double> equalityRhs,
+                                                      int variablesCount) {
+        var rows = new double[equalities.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new double[variablesCount + 1];
+            System.arraycopy(equalities.get(i), 0, rows[i], 0, variablesCount);
+            rows[i][variablesCount] = equalityRhs.get(i);
+        }
+        var pivotColumns = new ArrayList<Integer>();
+        var rank = 0;
+        for (int column = 0; column < variablesCount && rank < rows.length; column++) {
+            var pivot = rank;
+            for (int i = rank + 1; i < rows.length; i++)
+                if (Math.abs(rows[i][column]) > Math.abs(rows[pivot][column]))
+                    pivot = i;
+            if (Math.abs(rows[pivot][column]) < EPSILON)
+                continue;
+            var swapped = rows[pivot];
+            rows[pivot] = rows[rank];
+            rows[rank] = swapped;
+            var pivotValue = rows[rank][column];
+            for (int k = 0; k <= variablesCount; k++)
+                rows[rank][k] /= pivotValue;
+            for (int i = 0; i < rows.length; i++) {
+                if (i == rank || rows[i][column] == 0.0)
+                    continue;
+                var factor = rows[i][column];
+                for (int k = 0; k <= variablesCount; k++)
+                    rows[i][k] -= factor * rows[rank][k];
+            }
+            pivotColumns.add(column);
+            rank++;
+        }
+        for (int i = rank; i < rows.length; i++)
+            if (Math.abs(rows[i][variablesCount]) > EPSILON)
+                throw new RuntimeException("Weight constraints are infeasible");
+
+        var origin = new double[variablesCount];
+        for (int i = 0; i < rank; i++)
+            origin[pivotColumns.get(i)] = rows[i][variablesCount];
+        var nullSpace = new ArrayList<double[]>();
+        for (int column = 0; column < variablesCount; column++) {
+            if (pivotColumns.contains(column))
+                continue;
+            var vector = new double[variablesCount];
+            vector[column] = 1.0;
+            for (int i = 0; i < rank; i++)
+                vector[pivotColumns.get(i)] = -rows[i][column];
+            for (var previous : nullSpace) {
+                var projection = dot(vector, previous);
+                for (int v = 0; v < variablesCount; v++)
+                    vector[v] -= projection * previous[v];
+            }
+            var vectorNorm = norm(vector);
+            for (int v = 0; v < variablesCount; v++)
+                vector[v] /= vectorNorm;
+            nullSpace.add(vector);
+        }
+        var basis = new double[variablesCount][nullSpace.size()];
+        for (int j = 0; j < nullSpace.size(); j++)
+            for (int v = 0; v < variablesCount; v++)
+                basis[v][j] = nullSpace.get(j)[v];
+        return new ReducedEqualities(origin, basis);
+    }
+
+    /**
+     * finds the center of the largest ball inscribed in the polytope {@code lhs y <= rhs}
+     * by solving the LP: max r s.t. lhs_i y + ||lhs_i|| r &lt;= rhs_i, r &gt;= 0
+     *
+     * @return radius of the ball
+     */
+    private static double findChebyshevCenter(double[][] lhs, double[] rhs, double[] center) {
+        Loader.loadNativeLibraries();
+        var model = MPSolver.createSolver("GLOP");
+        if (model == null)
+            throw new RuntimeException("Cannot create solver");
+        try {
+            var variables = new MPVariable[center.length];
+            for (int j = 0; j < center.length; j++)
+                variables[j] = model.makeNumVar(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, "y" + j);
+            var radius = model.makeNumVar(0.0, Double.POSITIVE_INFINITY, "r");
+            for (int i = 0; i < lhs.length; i++) {
+                var constraint = model.makeConstraint(Double.NEGATIVE_INFINITY, rhs[i]);
+                for (int j = 0; j < center.length; j++)
+                    constraint.setCoefficient(variables[j], lhs[i][j]);
+                constraint.setCoefficient(radius, norm(lhs[i]));
+            }
+            model.objective().setCoefficient(radius, 1.0);
+            model.objective().setMaximization();
+            var result = model.solve();
+            if (result == MPSolver.ResultStatus.UNBOUNDED)
+                throw new RuntimeException("Weight space is unbounded");
+            if (result != MPSolver.ResultStatus.OPTIMAL)
+                throw new RuntimeException("Cannot find the Chebyshev center. Model is " + result.name());
+            if (radius.solutionValue() < EPSILON)
+                throw new RuntimeException("Weight space has an empty interior");
+            for (int j = 0; j < center.length; j++)
+                center[j] = variables[j].solutionValue();
+            return radius.solutionValue();
+        } finally {
+            model.delete();
+        }
+    }
+
+    private static double[][] identity(int dimension, double scale) {
+        var matrix = new double[dimension][dimension];
+        for (int j = 0; j < dimension; j++)
+            matrix[j][j] = scale;
+        return matrix;
+    }
+
+    private static double[] negate(double[] row) {
+        var result = new double[row.length];
+        for (int j = 0; j < row.length; j++)
+            result[j] = -row[j];
+        return result;
+    }
+
+    private static double dot(double[] first, double[] second) {
+        var result = 0.0;
+        for (int j = 0; j < first.length; j++)
+            result += first[j] * second[j];
+        return result;
+    }
+
+    private static double norm(double[] vector) {
+        return Math.sqrt(dot(vector, vector));
+    }
+}
@@ -0,0 +1,11 @@
+package put.dea.robustness;
+
+/**
+ * Receives DMUs' scores of one sample as a view of a block of a larger array:
+ * the score of DMU d is stored at index offset + d.
+ * The scores may be modified in place, but the array must not be retained after the call.
+ */
+@FunctionalInterface
+interface SampleScoresConsumer {
+    void accept(double[] scores, int offset);
+}
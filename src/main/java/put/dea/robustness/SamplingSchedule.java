@@ -0,0 +1,107 @@
+package put.dea.robustness;
+
+/**
+ * Defines how long the hit-and-run chains are run: the number of steps between consecutive samples
+ * (thinning), which grows with the dimension of the sampled polytope,
+ * and the number of samples discarded at the beginning of every chain (burn-in)
+ */
+public final class SamplingSchedule {
+    private enum Growth {
+        CONSTANT, LINEAR, CUBIC
+    }
+
+    private final Growth growth;
+    private final double coefficient;
+    private final int burnIn;
+
+    private SamplingSchedule(Growth growth, double coefficient, int burnIn) {
+        if (!(coefficient > 0) || Double.isInfinite(coefficient))
+            throw new IllegalArgumentException("Thinning coefficient must be positive");
+        if (burnIn < 0)
+            throw new IllegalArgumentException("Burn-in cannot be negative");
+        this.growth = growth;
+        this.coefficient = coefficient;
+        this.burnIn = burnIn;
+    }
+
+    /**
+     * creates the schedule with thinning equal to coefficient * n^3 steps for n-dimensional polytopes
+     * (the schedule used by default by {@link WeightSamplingMethod#HIT_AND_RUN}) and without burn-in
+     *
+     * @param coefficient thinning coefficient
+     * @return sampling schedule
+     */
+    public static SamplingSchedule cubic(double coefficient) {
+        return new SamplingSchedule(Growth.CUBIC, coefficient, 0);
+    }
+
+    /**
+     * creates the schedule with thinning equal to coefficient * n steps for n-dimensional polytopes
+     * (the schedule used by default by {@link WeightSamplingMethod#ROUNDED_HIT_AND_RUN}) and without burn-in
+     *
+     * @param coefficient thinning coefficient
+     * @return sampling schedule
+     */
+    public static SamplingSchedule linear(double coefficient) {
+        return new SamplingSchedule(Growth.LINEAR, coefficient, 0);
+    }
+
+    /**
+     * creates the schedule with given number of steps between consecutive samples and without burn-in
+     *
+     * @param steps number of steps between samples
+     * @return sampling schedule
+     */
+    public static SamplingSchedule constant(int steps) {
+        return new SamplingSchedule(Growth.CONSTANT, steps, 0);
+    }
+
+    /**
+     * creates the schedule with the same thinning and given burn-in
+     *
+     * @param burnIn number of (thinned) samples discarded at the beginning of every chain
+     * @return sampling schedule
+     */
+    public SamplingSchedule withBurnIn(int burnIn) {
+        return new SamplingSchedule(growth, coefficient, burnIn);
+    }
+
+    /**
+     * gets the number of (thinned) samples discarded at the beginning of every chain
+     *
+     * @return burn-in
+     */
+    public int getBurnIn() {
+        return burnIn;
+    }
+
+    /**
+     * gets the number of hit-and-run steps between consecutive samples
+     *
+     * @param dimension dimension of the sampled polytope
+     * @return number of steps
+     */
+    public int getThinning(int dimension) {
+        var steps = switch (growth) {
+            case CONSTANT -> coefficient;
+            case LINEAR -> coefficient * dimension;
+            case CUBIC -> coefficient * dimension * dimension * dimension;
+        };
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.ceil(steps)));
+    }
+
+    /**
+     * gets the coefficient of the cubic thinning function giving the thinning of this schedule
+     * (used with the samplers which accept only the cubic thinning)
+     */
+    double getCubicCoefficient(int dimension) {
+        if (growth == Growth.CUBIC)
+            return coefficient;
+        return getThinning(dimension) / ((double) dimension * dimension * dimension);
+    }
+
+    @Override
+    public String toString() {
+        return growth.name().toLowerCase() + '(' + coefficient + "), burn-in " + burnIn;
+    }
+}
@@ -0,0 +1,76 @@
+package put.dea.robustness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Samples uniformly from a product of unit simplices, i.e. from a polytope
+ * in which variables are non-negative and split into disjoint groups summing up to one.
+ * Each group is sampled independently from the Dirichlet(1, ..., 1) distribution,
+ * so every sample costs O(number of variables) and no Markov chain is needed.
+ */
+class SimplexProductSampler {
+    private final int variablesCount;
+    private final List<int[]> groups;
+
+    private SimplexProductSampler(int variablesCount, List<int[]> groups) {
+        this.variablesCount = variablesCount;
+        this.groups = groups;
+    }
+
+    /**
+     * creates the sampler if given constraints describe a product of simplices
+     *
+     * @param constraints    constraints defining the sampled polytope
+     * @param variablesCount number of variables
+     * @return sampler for the polytope or null if the polytope is not a product of simplices
+     */
+    static SimplexProductSampler fromConstraints(ConstraintsSet constraints, int variablesCount) {
+        var nonNegative = new boolean[variablesCount];
+        var grouped = new boolean[variablesCount];
+        var groups = new ArrayList<int[]>();
+        for (int i = 0; i < constraints.lhs().size(); i++) {
+            var lhs = constraints.lhs().get(i);
+            var dir = constraints.dir().get(i);
+            var rhs = constraints.rhs().get(i);
+            var nonZero = new ArrayList<Integer>();
+            for (int j = 0; j < lhs.length; j++) {
+                if (lhs[j] != 0.0)
+                    nonZero.add(j);
+            }
+            if (dir.equals(">=") && rhs == 0.0 && nonZero.size() == 1 && lhs[nonZero.get(0)] > 0) {
+                nonNegative[nonZero.get(0)] = true;
+            } else if (dir.equals("=") && rhs == 1.0
+                    && nonZero.stream().allMatch(j -> lhs[j] == 1.0 && !grouped[j])) {
+                nonZero.forEach(j -> grouped[j] = true);
+                groups.add(nonZero.stream().mapToInt(j -> j).toArray());
+            } else {
+                return null;
+            }
+        }
+        for (int j = 0; j < variablesCount; j++) {
+            if (!nonNegative[j] || !grouped[j])
+                return null;
+        }
+        return new SimplexProductSampler(variablesCount, groups);
+    }
+
+    double[][] generateSamples(Random random, int numberOfSamples) {
+        var samples = new double[numberOfSamples][];
+        for (int sampleIdx = 0; sampleIdx < numberOfSamples; sampleIdx++) {
+            var sample = new double[variablesCount];
+            for (var group : groups) {
+                var sum = 0.0;
+                for (var j : group) {
+                    sample[j] = -Math.log(1.0 - random.nextDouble());
+                    sum += sample[j];
+                }
+                for (var j : group)
+                    sample[j] /= sum;
+            }
+            samples[sampleIdx] = sample;
+        }
+        return samples;
+    }
+}
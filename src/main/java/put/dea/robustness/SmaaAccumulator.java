@@ -0,0 +1,50 @@
+package put.dea.robustness;
+
+/**
+ * Aggregates DMUs' scores sample by sample into the indices estimated by SMAA
+ * and reports the precision of the estimates
+ */
+interface SmaaAccumulator {
+    /**
+     * quantile of the standard normal distribution for the 95% confidence intervals
+     */
+    double CONFIDENCE_QUANTILE = 1.959964;
+
+    default void addSample(double[] scores) {
+        addSample(scores, 0);
+    }
+
+    /**
+     * adds one sample, the score of DMU d is stored at index offset + d of the array
+     *
+     * @param scores array containing DMUs' scores in the sample
+     * @param offset index of the first DMU's score
+     */
+    void addSample(double[] scores, int offset);
+
+    long getSampleCount();
+
+    /**
+     * gets the largest half-width of the 95% confidence intervals of the estimated indices
+     *
+     * @return maximal half-width (1 if no sample was added)
+     */
+    double getMaxHalfWidth();
+
+    /**
+     * calculates the half-width of the 95% Agresti-Coull confidence interval of a proportion;
+     * unlike the normal approximation, it does not collapse to zero for indices equal to 0 or 1
+     *
+     * @param successes   number of samples in which the event occurred
+     * @param sampleCount number of samples
+     * @return half-width of the interval
+     */
+    static double calculateHalfWidth(long successes, long sampleCount) {
+        if (sampleCount == 0)
+            return 1.0;
+        var z2 = CONFIDENCE_QUANTILE * CONFIDENCE_QUANTILE;
+        var adjustedCount = sampleCount + z2;
+        var adjustedProportion = (successes + z2 / 2) / adjustedCount;
+        return CONFIDENCE_QUANTILE * Math.sqrt(adjustedProportion * (1 - adjustedProportion) / adjustedCount);
+    }
+}
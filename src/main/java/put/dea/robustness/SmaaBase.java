@@ -7,18 +7,49 @@ import polyrun.exceptions.UnboundedSystemException;
 import polyrun.sampling.HitAndRun;
 import polyrun.thinning.NCubedThinningFunction;
 import tech.tablesaw.api.DoubleColumn;
-import tech.tablesaw.api.Row;
 import tech.tablesaw.api.Table;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
 import java.util.stream.IntStream;
 
 abstract class SmaaBase {
+    /**
+     * maximal number of efficiency scores calculated by a single task of the efficiency kernel
+     */
+    private static final int EFFICIENCY_TASK_SIZE = 1 << 15;
+    /**
+     * number of kernel tasks run at once before their scores are passed on,
+     * limits the memory used by the not yet processed scores
+     */
+    private static final int EFFICIENCY_TASKS_PER_WINDOW = 32;
     protected final int numberOfSamples;
     protected final Random random;
+    private WeightSamplingMethod weightSamplingMethod = WeightSamplingMethod.HIT_AND_RUN;
+    private int numberOfChains = 1;
+    private RankTieHandling rankTieHandling = RankTieHandling.INDEX_ORDER;
+    private ExecutionStrategy executionStrategy = ExecutionStrategy.sequential();
+    private volatile boolean retainEfficiencyMatrix = false;
+    protected volatile Table retainedEfficiencyMatrix;
+    private double targetHalfWidth = 0.0;
+    private int samplesPerBatch = 1000;
+    private volatile long usedNumberOfSamples = 0;
+    private volatile double achievedHalfWidth = Double.NaN;
+    private WeightSamplesCache weightSamplesCache;
+    private long weightSamplesSeed;
+    private long sampleOffset = 0;
+    private SamplingSchedule samplingSchedule;
+    private volatile ChainDiagnostics chainDiagnostics;
+    private boolean chainDiagnosticsEnabled = false;
 
     public SmaaBase(int numberOfSamples, Random random) {
         this.numberOfSamples = numberOfSamples;
@@ -27,6 +58,7 @@ abstract class SmaaBase {
 
     /**
      * gets the number of samples to be generated
+     * (the maximal number of samples if the adaptive sampling is enabled)
      *
      * @return number of samples
      */
@@ -34,48 +66,516 @@ abstract class SmaaBase {
         return numberOfSamples;
     }
 
-    protected List<Double> calculateExpectedValues(Table distribution) {
-        return distribution
-                .transpose()
-                .columns().stream().mapToDouble(column -> ((DoubleColumn) column).mean())
-                .boxed()
-                .toList();
+    /**
+     * gets the method used to sample the weights
+     *
+     * @return weight sampling method
+     */
+    public WeightSamplingMethod getWeightSamplingMethod() {
+        return weightSamplingMethod;
+    }
+
+    /**
+     * sets the method used to sample the weights;
+     * by default hit-and-run is always used, so the results obtained for given seed
+     * do not change between versions
+     *
+     * @param weightSamplingMethod weight sampling method
+     */
+    public void setWeightSamplingMethod(WeightSamplingMethod weightSamplingMethod) {
+        if (weightSamplingMethod == null)
+            throw new IllegalArgumentException("Weight sampling method cannot be null");
+        this.weightSamplingMethod = weightSamplingMethod;
+    }
+
+    /**
+     * gets the way of ranking DMUs with equal efficiencies in rank analyses
+     *
+     * @return rank tie handling
+     */
+    public RankTieHandling getRankTieHandling() {
+        return rankTieHandling;
+    }
+
+    /**
+     * sets the way of ranking DMUs with equal efficiencies in rank analyses,
+     * by default tied DMUs are ranked in the order of their indices
+     *
+     * @param rankTieHandling rank tie handling
+     */
+    public void setRankTieHandling(RankTieHandling rankTieHandling) {
+        if (rankTieHandling == null)
+            throw new IllegalArgumentException("Rank tie handling cannot be null");
+        this.rankTieHandling = rankTieHandling;
+    }
+
+    /**
+     * gets the number of independent hit-and-run chains used to generate the samples
+     *
+     * @return number of chains
+     */
+    public int getNumberOfChains() {
+        return numberOfChains;
+    }
+
+    /**
+     * sets the number of independent hit-and-run chains used to generate the samples.
+     * The samples are split evenly between the chains and concatenated in the order of chains.
+     * Each chain uses its own generator seeded from a {@link SplittableRandom}
+     * derived from the {@link Random} object of the analysis, so the results are reproducible
+     * for given seed and number of chains. With a single chain (default)
+     * the {@link Random} object is used directly.
+     *
+     * @param numberOfChains number of chains
+     */
+    public void setNumberOfChains(int numberOfChains) {
+        if (numberOfChains < 1)
+            throw new IllegalArgumentException("Number of chains must be positive");
+        this.numberOfChains = numberOfChains;
+    }
+
+    /**
+     * gets the schedule (thinning and burn-in) of the hit-and-run chains
+     *
+     * @return sampling schedule or null if the default schedule of the sampling method is used
+     */
+    public SamplingSchedule getSamplingSchedule() {
+        return samplingSchedule;
+    }
+
+    /**
+     * sets the schedule (thinning and burn-in) of the hit-and-run chains;
+     * by default (null) {@link WeightSamplingMethod#HIT_AND_RUN} uses the thinning of n^3 steps
+     * and {@link WeightSamplingMethod#ROUNDED_HIT_AND_RUN} of n steps, both without burn-in.
+     * The thinning of {@link WeightSamplingMethod#HIT_AND_RUN} is always passed to the sampler
+     * as a cubic function of the number of variables.
+     *
+     * @param samplingSchedule sampling schedule or null to use the default schedule
+     */
+    public void setSamplingSchedule(SamplingSchedule samplingSchedule) {
+        this.samplingSchedule = samplingSchedule;
+    }
+
+    /**
+     * gets the diagnostics of the chains which generated the weight samples in the last analysis
+     * (also returned with every {@link DistributionResult}); with the adaptive sampling,
+     * the batches are treated as independent chains
+     *
+     * @return chain diagnostics or null if no weights were sampled or the diagnostics are disabled
+     */
+    public ChainDiagnostics getChainDiagnostics() {
+        return chainDiagnostics;
+    }
+
+    /**
+     * checks if the diagnostics of the sampling chains are calculated
+     *
+     * @return true if the chain diagnostics are calculated, false otherwise
+     */
+    public boolean isChainDiagnosticsEnabled() {
+        return chainDiagnosticsEnabled;
+    }
+
+    /**
+     * enables or disables calculating the diagnostics of the sampling chains (disabled by default);
+     * their cost grows with the number of samples times the autocorrelation time of the chains,
+     * so for badly mixing chains it may exceed the cost of the sampling itself.
+     * Samples of the exact sampler are independent, so their diagnostics are reported without calculations.
+     *
+     * @param chainDiagnosticsEnabled true if the chain diagnostics should be calculated
+     */
+    public void setChainDiagnosticsEnabled(boolean chainDiagnosticsEnabled) {
+        this.chainDiagnosticsEnabled = chainDiagnosticsEnabled;
+    }
+
+    /**
+     * gets the strategy used to run multiple sampling chains and to calculate the efficiencies
+     *
+     * @return execution strategy
+     */
+    public ExecutionStrategy getExecutionStrategy() {
+        return executionStrategy;
+    }
+
+    /**
+     * sets the strategy used to run multiple sampling chains and to calculate the efficiencies
+     * for blocks of samples, by default everything is run sequentially in the calling thread;
+     * the caller remains responsible for closing the given strategy
+     *
+     * @param executionStrategy execution strategy
+     */
+    public void setExecutionStrategy(ExecutionStrategy executionStrategy) {
+        if (executionStrategy == null)
+            throw new IllegalArgumentException("Execution strategy cannot be null");
+        this.executionStrategy = executionStrategy;
+    }
+
+    /**
+     * checks if the efficiency scores of all DMUs in all samples are kept after the analysis
+     *
+     * @return true if the efficiency matrix is retained, false otherwise
+     */
+    public boolean isRetainEfficiencyMatrix() {
+        return retainEfficiencyMatrix;
+    }
+
+    /**
+     * enables or disables keeping the efficiency scores of all DMUs in all samples
+     * (e.g. for debugging); by default the samples are only aggregated on the fly
+     * and the matrix (of size samples x DMUs) is never created
+     *
+     * @param retainEfficiencyMatrix true if the efficiency matrix should be retained
+     */
+    public void setRetainEfficiencyMatrix(boolean retainEfficiencyMatrix) {
+        this.retainEfficiencyMatrix = retainEfficiencyMatrix;
+    }
+
+    /**
+     * gets the efficiency scores calculated in the last analysis,
+     * available only if retaining the efficiency matrix was enabled
+     *
+     * @return {@link Table} with one row per DMU and one column per sample or null if the matrix was not retained
+     */
+    public Table getRetainedEfficiencyMatrix() {
+        return retainedEfficiencyMatrix;
+    }
+
+    /**
+     * gets the target half-width of the 95% confidence intervals of the estimated indices
+     *
+     * @return target half-width or 0 if the adaptive sampling is disabled
+     */
+    public double getTargetHalfWidth() {
+        return targetHalfWidth;
+    }
+
+    /**
+     * enables the adaptive sampling: the samples are generated in batches until the half-widths
+     * of the 95% confidence intervals of all estimated indices (acceptability interval indices,
+     * rank acceptability indices or PEOIs) are not greater than the target,
+     * or the number of samples given in the constructor is reached.
+     * The intervals assume independent samples, so with hit-and-run sampling
+     * they are only approximate. By default (target equal to 0) all samples are always used.
+     *
+     * @param targetHalfWidth target half-width from range [0, 1), 0 disables the adaptive sampling
+     */
+    public void setTargetHalfWidth(double targetHalfWidth) {
+        if (!(targetHalfWidth >= 0.0 && targetHalfWidth < 1.0))
+            throw new IllegalArgumentException("Target half-width must be from range [0, 1)");
+        this.targetHalfWidth = targetHalfWidth;
+    }
+
+    /**
+     * gets the number of samples generated in one batch of the adaptive sampling
+     *
+     * @return number of samples in a batch
+     */
+    public int getSamplesPerBatch() {
+        return samplesPerBatch;
+    }
+
+    /**
+     * sets the number of samples generated in one batch of the adaptive sampling,
+     * the convergence is checked after every batch (default 1000)
+     *
+     * @param samplesPerBatch number of samples in a batch
+     */
+    public void setSamplesPerBatch(int samplesPerBatch) {
+        if (samplesPerBatch < 1)
+            throw new IllegalArgumentException("Number of samples in a batch must be positive");
+        this.samplesPerBatch = samplesPerBatch;
+    }
+
+    /**
+     * gets the number of samples used in the last analysis
+     *
+     * @return number of samples
+     */
+    public long getUsedNumberOfSamples() {
+        return usedNumberOfSamples;
+    }
+
+    /**
+     * gets the largest half-width of the 95% confidence intervals of the indices
+     * estimated in the last analysis
+     *
+     * @return achieved half-width
+     */
+    public double getAchievedHalfWidth() {
+        return achievedHalfWidth;
+    }
+
+    /**
+     * gets the cache of weight samples used by this object
+     *
+     * @return cache or null if the weight samples are always generated
+     */
+    public WeightSamplesCache getWeightSamplesCache() {
+        return weightSamplesCache;
+    }
+
+    /**
+     * gets the seed of the cached weight samples
+     *
+     * @return seed of the weight samples
+     */
+    public long getWeightSamplesSeed() {
+        return weightSamplesSeed;
+    }
+
+    /**
+     * sets the cache of weight samples, which can be shared between analyses of data sets
+     * with the same inputs, outputs and weight constraints. When the cache is used,
+     * the weights are sampled with a generator created from the given seed instead of
+     * the {@link Random} object of the analysis (which is still used e.g. for imprecise performances),
+     * so the same samples are generated for the same weight space and settings in every analysis.
+     * By default (null cache) the weights are always sampled with the {@link Random} object.
+     *
+     * @param weightSamplesCache cache of weight samples or null to disable caching
+     * @param seed               seed of the weight samples
+     */
+    public void setWeightSamplesCache(WeightSamplesCache weightSamplesCache, long seed) {
+        this.weightSamplesCache = weightSamplesCache;
+        this.weightSamplesSeed = seed;
+    }
+
+    /**
+     * runs the analysis with another SMAA object using the same settings as this object
+     * (used by the hierarchical analyses, which delegate to the analyses of a single hierarchy level)
+     */
+    protected <S extends SmaaBase, R> R analyzeWithDelegate(S delegate, Function<S, R> analysis) {
+        delegate.setWeightSamplingMethod(weightSamplingMethod);
+        delegate.setNumberOfChains(numberOfChains);
+        delegate.setRankTieHandling(rankTieHandling);
+        delegate.setExecutionStrategy(executionStrategy);
+        delegate.setRetainEfficiencyMatrix(retainEfficiencyMatrix);
+        delegate.setTargetHalfWidth(targetHalfWidth);
+        delegate.setSamplesPerBatch(samplesPerBatch);
+        delegate.setWeightSamplesCache(weightSamplesCache, weightSamplesSeed);
+        delegate.setSamplingSchedule(samplingSchedule);
+        delegate.setChainDiagnosticsEnabled(chainDiagnosticsEnabled);
+        var result = analysis.apply(delegate);
+        retainedEfficiencyMatrix = delegate.getRetainedEfficiencyMatrix();
+        usedNumberOfSamples = delegate.getUsedNumberOfSamples();
+        achievedHalfWidth = delegate.getAchievedHalfWidth();
+        chainDiagnostics = delegate.getChainDiagnostics();
+        return result;
+    }
+
+    /**
+     * generates and processes the samples, either all at once or, if the adaptive sampling
+     * is enabled, in batches until the accumulator's estimates are precise enough
+     *
+     * @param accumulator    accumulator filled by the processed samples
+     * @param processSamples generates and processes given number of samples
+     */
+    protected void sampleUntilConverged(SmaaAccumulator accumulator, IntConsumer processSamples) {
+        retainedEfficiencyMatrix = retainEfficiencyMatrix ? Table.create() : null;
+        chainDiagnostics = null;
+        if (targetHalfWidth <= 0.0) {
+            processSamples.accept(numberOfSamples);
+        } else {
+            var processed = 0;
+            try {
+                while (processed < numberOfSamples) {
+                    var batch = Math.min(samplesPerBatch, numberOfSamples - processed);
+                    sampleOffset = processed;
+                    processSamples.accept(batch);
+                    processed += batch;
+                    if (accumulator.getMaxHalfWidth() <= targetHalfWidth)
+                        break;
+                }
+            } finally {
+                sampleOffset = 0;
+            }
+        }
+        usedNumberOfSamples = accumulator.getSampleCount();
+        achievedHalfWidth = accumulator.getMaxHalfWidth();
+    }
+
+    protected void processEfficiencySamples(ProblemData data, int sampleCount, SampleScoresConsumer consumer) {
+        var samples = generateWeightSamples(data, sampleCount);
+        processEfficiencySamples(data.getInputMatrix(), data.getOutputMatrix(), samples, consumer);
+    }
+
+    protected void processEfficiencySamples(PerformanceMatrix inputs,
+                                            PerformanceMatrix outputs,
+                                            WeightSamplesCollection samples,
+                                            SampleScoresConsumer consumer) {
+        var sampleCount = samples.getSampleCount();
+        var dmuCount = inputs.getDmuCount();
+        var samplesPerTask = getSamplesPerEfficiencyTask(dmuCount);
+        var windowSize = samplesPerTask * EFFICIENCY_TASKS_PER_WINDOW;
+        for (int windowStart = 0; windowStart < sampleCount; windowStart += windowSize) {
+            var windowEnd = Math.min(windowStart + windowSize, sampleCount);
+            var blocks = calculateEfficiencyBlocks(inputs, outputs, samples, windowStart, windowEnd, samplesPerTask);
+            for (int sampleIdx = windowStart; sampleIdx < windowEnd; sampleIdx++) {
+                var block = blocks.get((sampleIdx - windowStart) / samplesPerTask);
+                var offset = (sampleIdx - windowStart) % samplesPerTask * dmuCount;
+                retainEfficiencies(block, offset, dmuCount);
+                consumer.accept(block, offset);
+            }
+        }
+    }
+
+    private int getSamplesPerEfficiencyTask(int dmuCount) {
+        var samples = Math.max(1, EFFICIENCY_TASK_SIZE / Math.max(1, dmuCount));
+        var tiles = (samples + EfficiencyKernel.SAMPLE_TILE_SIZE - 1) / EfficiencyKernel.SAMPLE_TILE_SIZE;
+        return tiles * EfficiencyKernel.SAMPLE_TILE_SIZE;
+    }
+
+    /**
+     * calculates the efficiencies for samples from given range with the efficiency kernel,
+     * split into blocks of consecutive samples processed as separate tasks of the execution strategy
+     * (all windows of an analysis share the executor of the strategy)
+     */
+    private List<double[]> calculateEfficiencyBlocks(PerformanceMatrix inputs,
+                                                     PerformanceMatrix outputs,
+                                                     WeightSamplesCollection samples,
+                                                     int fromSample,
+                                                     int toSample,
+                                                     int samplesPerTask) {
+        var kernel = getEfficiencyKernel();
+        var taskCount = (toSample - fromSample + samplesPerTask - 1) / samplesPerTask;
+        return executionStrategy.map(taskCount, taskIdx -> {
+            var taskStart = fromSample + taskIdx * samplesPerTask;
+            return kernel.calculate(inputs, outputs, samples, taskStart,
+                    Math.min(taskStart + samplesPerTask, toSample));
+        });
+    }
+
+    /**
+     * calculates DMUs' efficiencies for one sample at a time and passes them to the consumer,
+     * so only the efficiencies of the current sample are kept in memory
+     *
+     * @param sampleCount        number of samples
+     * @param sampleEfficiencies function calculating efficiencies of all DMUs for the sample with given index
+     * @param consumer           consumer of the efficiencies (may modify the passed array)
+     */
+    protected void processEfficiencySamples(int sampleCount,
+                                            IntFunction<double[]> sampleEfficiencies,
+                                            Consumer<double[]> consumer) {
+        for (int sampleIdx = 0; sampleIdx < sampleCount; sampleIdx++) {
+            var efficiencies = sampleEfficiencies.apply(sampleIdx);
+            retainEfficiencies(efficiencies, 0, efficiencies.length);
+            consumer.accept(efficiencies);
+        }
+    }
+
+    /**
+     * appends the efficiencies of one sample, stored in given range of the array,
+     * to the retained efficiency matrix of the current analysis (if it is retained)
+     */
+    private void retainEfficiencies(double[] efficiencies, int offset, int dmuCount) {
+        var retained = retainedEfficiencyMatrix;
+        if (retainEfficiencyMatrix && retained != null)
+            retained.addColumns(DoubleColumn.create(String.valueOf(retained.columnCount()),
+                    Arrays.copyOfRange(efficiencies, offset, offset + dmuCount)));
     }
 
     protected Table calculateEfficiencyMatrix(ProblemData data) {
         var samples = generateWeightSamples(data);
-        return calculateEfficiencyMatrixForSamples(data.getInputData(), data.getOutputData(), samples);
+        return calculateEfficiencyMatrixForSamples(data.getInputMatrix(), data.getOutputMatrix(), samples);
     }
 
     protected WeightSamplesCollection generateWeightSamples(ProblemData data) {
-        var constraints = prepareConstraintsSystem(data);
-        var samples = generateSamples(constraints);
+        return generateWeightSamples(data, numberOfSamples);
+    }
+
+    protected WeightSamplesCollection generateWeightSamples(ProblemData data, int sampleCount) {
+        var constraints = prepareConstraintsSet(data);
+        var cache = weightSamplesCache;
+        var offset = sampleOffset;
+        WeightSamplesCollection samples;
+        if (cache == null) {
+            samples = generateWeightSamples(data, constraints, random, sampleCount);
+        } else {
+            var seed = weightSamplesSeed;
+            var key = WeightSamplesCache.createKey(constraints, data.getInputCount(),
+                    weightSamplingMethod.name() + ':' + numberOfChains + ':' + samplingSchedule,
+                    seed, offset, sampleCount);
+            samples = cache.getOrGenerate(key, () -> generateWeightSamples(data, constraints,
+                    new Random(offset == 0 ? seed : seed ^ new SplittableRandom(offset).nextLong()), sampleCount));
+        }
+        if (chainDiagnosticsEnabled)
+            updateChainDiagnostics(samples, findExactSampler(data, constraints) != null, offset);
+        return samples;
+    }
+
+    private void updateChainDiagnostics(WeightSamplesCollection samples, boolean independentSamples, long offset) {
+        var diagnostics = independentSamples
+                ? ChainDiagnostics.independent(samples.getSampleCount())
+                : ChainDiagnostics.calculate(samples, getChainLengths(samples.getSampleCount()));
+        var previous = chainDiagnostics;
+        chainDiagnostics = offset == 0 || previous == null ? diagnostics : previous.combine(diagnostics);
+    }
+
+    /**
+     * creates the exact sampler if it is used for the given constraints
+     *
+     * @return exact sampler or null if the weights are sampled with Markov chains
+     */
+    private SimplexProductSampler findExactSampler(ProblemData data, ConstraintsSet constraints) {
+        if (weightSamplingMethod != WeightSamplingMethod.AUTOMATIC)
+            return null;
+        return SimplexProductSampler.fromConstraints(constraints, data.getInputCount() + data.getOutputCount());
+    }
+
+    private int[] getChainLengths(int numberOfSamples) {
+        var chainCount = Math.max(1, Math.min(numberOfChains, numberOfSamples));
+        var lengths = new int[chainCount];
+        for (int chainIdx = 0; chainIdx < chainCount; chainIdx++)
+            lengths[chainIdx] = numberOfSamples / chainCount + (chainIdx < numberOfSamples % chainCount ? 1 : 0);
+        return lengths;
+    }
+
+    private WeightSamplesCollection generateWeightSamples(ProblemData data,
+                                                          ConstraintsSet constraints,
+                                                          Random samplesRandom,
+                                                          int sampleCount) {
+        var exactSampler = findExactSampler(data, constraints);
+        if (exactSampler != null) {
+            return new WeightSamplesCollection(exactSampler.generateSamples(samplesRandom, sampleCount),
+                    data.getInputCount());
+        } else if (weightSamplingMethod == WeightSamplingMethod.ROUNDED_HIT_AND_RUN) {
+            var roundedSampler = RoundedHitAndRunSampler.fromConstraints(constraints,
+                    data.getInputCount() + data.getOutputCount());
+            var schedule = samplingSchedule == null ? SamplingSchedule.linear(1.0) : samplingSchedule;
+            return new WeightSamplesCollection(runChains(samplesRandom, sampleCount,
+                    (chainRandom, chainSamples) -> roundedSampler.generateSamples(chainRandom, chainSamples, schedule)),
+                    data.getInputCount());
+        }
+        var samples = generateSamples(constraints, samplesRandom, sampleCount);
         return new WeightSamplesCollection(samples, data.getInputCount());
     }
 
-    protected Table calculateEfficiencyMatrixForSamples(Table inputs,
-                                                        Table outputs,
+    protected Table calculateEfficiencyMatrixForSamples(PerformanceMatrix inputs,
+                                                        PerformanceMatrix outputs,
                                                         WeightSamplesCollection samples) {
         var efficiencies = Table.create();
-        for (int dmu = 0; dmu < inputs.rowCount(); dmu++) {
-            var dmuIdx = dmu;
-            efficiencies.addColumns(
-                    DoubleColumn.create(dmuIdx + "",
-                            IntStream.range(0, numberOfSamples)
-                                    .mapToDouble(idx -> calculateEfficiency(inputs,
-                                            outputs,
-                                            samples.getInputSamples().row(idx),
-                                            samples.getOutputSamples().row(idx),
-                                            dmuIdx))
-                                    .toArray()
-                    )
-            );
+        var dmuCount = inputs.getDmuCount();
+        var samplesPerTask = getSamplesPerEfficiencyTask(dmuCount);
+        var blocks = calculateEfficiencyBlocks(inputs, outputs, samples, 0, samples.getSampleCount(), samplesPerTask);
+        for (int sampleIdx = 0; sampleIdx < samples.getSampleCount(); sampleIdx++) {
+            var from = sampleIdx % samplesPerTask * dmuCount;
+            efficiencies.addColumns(DoubleColumn.create(String.valueOf(sampleIdx),
+                    Arrays.copyOfRange(blocks.get(sampleIdx / samplesPerTask), from, from + dmuCount)));
         }
+        return efficiencies;
+    }
 
-        return efficiencies.transpose();
+    /**
+     * calculates the efficiencies of all DMUs for one weight sample
+     * (used when the performances differ between the samples)
+     */
+    protected double[] calculateEfficienciesForSample(PerformanceMatrix inputs,
+                                                      PerformanceMatrix outputs,
+                                                      WeightSamplesCollection samples,
+                                                      int sampleIdx) {
+        return getEfficiencyKernel().calculate(inputs, outputs, samples, sampleIdx, sampleIdx + 1);
     }
 
-    private ConstraintsSystem prepareConstraintsSystem(ProblemData data) {
+    private ConstraintsSet prepareConstraintsSet(ProblemData data) {
         var constraints = new ConstraintsSet(
                 new ArrayList<>(createNonNegativeConstrains(data)),
                 new ArrayList<>(Collections.nCopies(data.getInputCount() + data.getOutputCount(), ">=")),
@@ -84,19 +584,10 @@ abstract class SmaaBase {
 
         constraints.merge(createModelSpecificConstraints(data));
         constraints.merge(parseCustomWeightConstraints(data));
-
-        return convertConstraintsToConstraintsSystem(constraints);
-    }
-
-    protected double[][] generateSamples(ConstraintsSystem constraints) {
-        return generateSamples(constraints, this.numberOfSamples);
+        return constraints;
     }
 
-    protected abstract double calculateEfficiency(Table inputs,
-                                                  Table outputs,
-                                                  Row inputsSample,
-                                                  Row outputsSample,
-                                                  int dmuIdx);
+    protected abstract EfficiencyKernel getEfficiencyKernel();
 
     private List<double[]> createNonNegativeConstrains(ProblemData data) {
         int variablesCount = data.getInputCount() + data.getOutputCount();
@@ -125,16 +616,65 @@ abstract class SmaaBase {
                 constraints.rhs().stream().mapToDouble(x -> x).toArray());
     }
 
-    protected double[][] generateSamples(ConstraintsSystem constraints, int numberOfSamples) {
+    protected double[][] generateSamples(ConstraintsSet constraints, int numberOfSamples) {
+        return generateSamples(constraints, random, numberOfSamples);
+    }
+
+    private double[][] generateSamples(ConstraintsSet constraints, Random samplesRandom, int numberOfSamples) {
+        var constraintsSystem = convertConstraintsToConstraintsSystem(constraints);
+        var variablesCount = constraints.lhs().get(0).length;
+        return runChains(samplesRandom, numberOfSamples,
+                (chainRandom, chainSamples) -> runChain(constraintsSystem, variablesCount, chainRandom, chainSamples));
+    }
+
+    /**
+     * splits the samples between the chains and runs them with the execution strategy
+     *
+     * @param samplesRandom   random object of a single chain or used to seed multiple chains
+     * @param numberOfSamples number of samples of all chains
+     * @param chain           generates given number of samples using given random object
+     * @return samples of all chains in the order of chains
+     */
+    private double[][] runChains(Random samplesRandom,
+                                 int numberOfSamples,
+                                 BiFunction<Random, Integer, double[][]> chain) {
+        var chainCount = Math.min(numberOfChains, numberOfSamples);
+        if (chainCount <= 1)
+            return chain.apply(samplesRandom, numberOfSamples);
+
+        var seedGenerator = new SplittableRandom(samplesRandom.nextLong());
+        var chainRandoms = new ArrayList<Random>(chainCount);
+        for (int chainIdx = 0; chainIdx < chainCount; chainIdx++)
+            chainRandoms.add(new Random(seedGenerator.split().nextLong()));
+        var chains = executionStrategy.map(chainCount, chainIdx -> chain.apply(chainRandoms.get(chainIdx),
+                numberOfSamples / chainCount + (chainIdx < numberOfSamples % chainCount ? 1 : 0)));
+
+        var samples = new double[numberOfSamples][];
+        var position = 0;
+        for (var chainSamples : chains) {
+            System.arraycopy(chainSamples, 0, samples, position, chainSamples.length);
+            position += chainSamples.length;
+        }
+        return samples;
+    }
+
+    private double[][] runChain(ConstraintsSystem constraints,
+                                int variablesCount,
+                                Random chainRandom,
+                                int numberOfSamples) {
+        var schedule = samplingSchedule == null ? SamplingSchedule.cubic(1.0) : samplingSchedule;
         var runner = new PolytopeRunner(constraints);
         try {
             runner.setAnyStartPoint();
         } catch (UnboundedSystemException | InfeasibleSystemException e) {
             throw new RuntimeException(e);
         }
-        return runner.chain(new HitAndRun(random),
-                new NCubedThinningFunction(1.0),
-                numberOfSamples);
+        var samples = runner.chain(new HitAndRun(chainRandom),
+                new NCubedThinningFunction(schedule.getCubicCoefficient(variablesCount)),
+                schedule.getBurnIn() + numberOfSamples);
+        if (schedule.getBurnIn() == 0)
+            return samples;
+        return Arrays.copyOfRange(samples, schedule.getBurnIn(), samples.length);
     }
 
     private double[] createNonNegativeConstraint(int varIdx, int variablesCount) {
@@ -3,32 +3,85 @@ package put.dea.robustness;
 import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.Table;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 
-class SmaaEfficiencyBase {
+/**
+ * Accumulates the distribution (acceptability interval indices) and the expected values
+ * of DMUs' scores (efficiencies or distances) sample by sample.
+ * Accumulators filled with disjoint sets of samples can be merged.
+ */
+class SmaaEfficiencyBase implements SmaaAccumulator {
 
     private final int numberOfIntervals;
-    private final int numberOfSamples;
+    private final int dmuCount;
+    private final long[] intervalCounts;
+    private final double[] sums;
+    private long sampleCount = 0;
 
-    public SmaaEfficiencyBase(int numberOfSamples, int numberOfIntervals) {
+    public SmaaEfficiencyBase(int dmuCount, int numberOfIntervals) {
         this.numberOfIntervals = numberOfIntervals;
-        this.numberOfSamples = numberOfSamples;
+        this.dmuCount = dmuCount;
+        this.intervalCounts = new long[dmuCount * numberOfIntervals];
+        this.sums = new double[dmuCount];
     }
 
-    public Table calculateDistribution(Table efficiencies) {
+    @Override
+    public void addSample(double[] scores, int offset) {
+        for (int dmu = 0; dmu < dmuCount; dmu++) {
+            var score = scores[offset + dmu];
+            var interval = (int) Math.max(Math.ceil(score * numberOfIntervals) - 1, 0);
+            intervalCounts[dmu * numberOfIntervals + interval]++;
+            sums[dmu] += score;
+        }
+        sampleCount++;
+    }
+
+    public void merge(SmaaEfficiencyBase other) {
+        for (int i = 0; i < intervalCounts.length; i++)
+            intervalCounts[i] += other.intervalCounts[i];
+        for (int dmu = 0; dmu < dmuCount; dmu++)
+            sums[dmu] += other.sums[dmu];
+        sampleCount += other.sampleCount;
+    }
+
+    @Override
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    @Override
+    public double getMaxHalfWidth() {
+        var max = sampleCount == 0 ? 1.0 : 0.0;
+        for (var count : intervalCounts)
+            max = Math.max(max, SmaaAccumulator.calculateHalfWidth(count, sampleCount));
+        return max;
+    }
+
+    public Table getDistribution() {
         var distribution = Table.create();
-        efficiencies.transpose().columns()
-                .stream()
-                .map(column -> calculateDistributionForRow((DoubleColumn) column))
-                .forEach(values -> distribution.addColumns(
-                        DoubleColumn.create(distribution.columnCount() + "", values)));
-        return distribution.transpose();
-    }
-
-    private double[] calculateDistributionForRow(DoubleColumn efficiencies) {
-        var distribution = new double[numberOfIntervals];
-        var indices = efficiencies.map(x -> Math.max(Math.ceil(x * numberOfIntervals) - 1, 0));
-        indices.forEach(idx -> distribution[idx.intValue()] += 1);
-        return Arrays.stream(distribution).map(x -> x / numberOfSamples).toArray();
+        for (int interval = 0; interval < numberOfIntervals; interval++) {
+            var values = new double[dmuCount];
+            for (int dmu = 0; dmu < dmuCount; dmu++)
+                values[dmu] = (double) intervalCounts[dmu * numberOfIntervals + interval] / sampleCount;
+            distribution.addColumns(DoubleColumn.create(String.valueOf(interval), values));
+        }
+        return distribution;
+    }
+
+    public List<Double> getExpectedValues() {
+        var expectedValues = new ArrayList<Double>(dmuCount);
+        for (int dmu = 0; dmu < dmuCount; dmu++)
+            expectedValues.add(sums[dmu] / sampleCount);
+        return expectedValues;
+    }
+
+    public DistributionResult toDistributionResult() {
+        return toDistributionResult(null);
+    }
+
+    public DistributionResult toDistributionResult(ChainDiagnostics diagnostics) {
+        return new DistributionResult(getDistribution(), getExpectedValues(), sampleCount,
+                getMaxHalfWidth(), diagnostics);
     }
 }
@@ -3,31 +3,138 @@ package put.dea.robustness;
 import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.Table;
 
-import java.util.function.Predicate;
+/**
+ * Accumulates the pairwise efficiency outranking indices sample by sample.
+ * Accumulators filled with disjoint sets of samples can be merged.
+ * <p>
+ * Since for every pair of DMUs exactly one of a &gt; b, a = b and a &lt; b holds,
+ * PEOI(a, b) + PEOI(b, a) - ties(a, b) = 1, so only the pairs with a &lt; b are compared
+ * and the numbers of wins and ties are counted (both stored as packed upper triangles).
+ * Samples are buffered and the buffer is scanned once per tile of DMU pairs;
+ * tiles of rows are processed in parallel with the given execution strategy,
+ * whose executor is created once and reused by all flushes of the analysis.
+ */
+class SmaaPreferenceRelationsBase implements SmaaAccumulator {
+    private static final int BUFFER_SIZE = 1 << 18;
+    private static final int ROW_TILE_SIZE = 32;
+    private static final int COLUMN_TILE_SIZE = 512;
 
-class SmaaPreferenceRelationsBase {
-    private final int numberOfSamples;
+    private final int dmuCount;
+    private final ExecutionStrategy executionStrategy;
+    private final long[] winCounts;
+    private final long[] tieCounts;
+    private final double[] buffer;
+    private int bufferedSamples = 0;
+    private long sampleCount = 0;
 
-    public SmaaPreferenceRelationsBase(int numberOfSamples) {
-        this.numberOfSamples = numberOfSamples;
+    public SmaaPreferenceRelationsBase(int dmuCount) {
+        this(dmuCount, ExecutionStrategy.sequential());
     }
 
+    public SmaaPreferenceRelationsBase(int dmuCount, ExecutionStrategy executionStrategy) {
+        this.dmuCount = dmuCount;
+        this.executionStrategy = executionStrategy;
+        var pairCount = (long) dmuCount * (dmuCount - 1) / 2;
+        if (pairCount > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Too many DMUs to calculate the pairwise outranking indices");
+        this.winCounts = new long[(int) pairCount];
+        this.tieCounts = new long[(int) pairCount];
+        this.buffer = new double[Math.max(1, BUFFER_SIZE / Math.max(1, dmuCount)) * dmuCount];
+    }
 
-    public Table calculatePeois(Table efficiencies) {
-        var peoi = Table.create();
-        efficiencies = efficiencies.transpose();
-
-        for (int dmuB = 0; dmuB < efficiencies.columnCount(); dmuB++) {
-            var efficienciesB = efficiencies.doubleColumn(dmuB);
-            var values = new double[efficiencies.columnCount()];
-            for (int dmuA = 0; dmuA < efficiencies.columnCount(); dmuA++) {
-                var efficienciesA = efficiencies.doubleColumn(dmuA);
-                var count = efficienciesA.subtract(efficienciesB).count((Predicate<? super Double>) x -> x >= 0.0);
-                values[dmuA] = (double) count / numberOfSamples;
+    @Override
+    public void addSample(double[] efficiencies, int offset) {
+        System.arraycopy(efficiencies, offset, buffer, bufferedSamples * dmuCount, dmuCount);
+        bufferedSamples++;
+        sampleCount++;
+        if ((bufferedSamples + 1) * dmuCount > buffer.length)
+            flush();
+    }
+
+    /**
+     * gets the position of the first pair (dmuA, b) with b &gt; dmuA in the packed triangles,
+     * the pairs of consecutive b follow it
+     */
+    private int getRowOffset(int dmuA) {
+        return (int) ((long) dmuA * dmuCount - (long) dmuA * (dmuA + 1) / 2);
+    }
+
+    private void flush() {
+        if (bufferedSamples == 0)
+            return;
+        var rowTiles = (dmuCount + ROW_TILE_SIZE - 1) / ROW_TILE_SIZE;
+        executionStrategy.map(rowTiles, tileIdx -> {
+            countRowTile(tileIdx * ROW_TILE_SIZE, Math.min((tileIdx + 1) * ROW_TILE_SIZE, dmuCount));
+            return tileIdx;
+        });
+        bufferedSamples = 0;
+    }
+
+    private void countRowTile(int fromRow, int toRow) {
+        for (int fromColumn = fromRow + 1; fromColumn < dmuCount; fromColumn += COLUMN_TILE_SIZE) {
+            var toColumn = Math.min(fromColumn + COLUMN_TILE_SIZE, dmuCount);
+            for (int sample = 0; sample < bufferedSamples; sample++) {
+                var sampleOffset = sample * dmuCount;
+                for (int dmuA = fromRow; dmuA < toRow; dmuA++) {
+                    var firstColumn = Math.max(fromColumn, dmuA + 1);
+                    if (firstColumn >= toColumn)
+                        continue;
+                    ArrayKernels.countWinsAndTies(buffer, sampleOffset + firstColumn, toColumn - firstColumn,
+                            buffer[sampleOffset + dmuA], winCounts, tieCounts,
+                            getRowOffset(dmuA) + firstColumn - dmuA - 1);
+                }
             }
-            peoi.addColumns(DoubleColumn.create(dmuB + "", values));
+        }
+    }
+
+    public void merge(SmaaPreferenceRelationsBase other) {
+        flush();
+        other.flush();
+        for (int i = 0; i < winCounts.length; i++) {
+            winCounts[i] += other.winCounts[i];
+            tieCounts[i] += other.tieCounts[i];
+        }
+        sampleCount += other.sampleCount;
+    }
+
+    @Override
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    @Override
+    public double getMaxHalfWidth() {
+        flush();
+        var max = sampleCount == 0 ? 1.0 : 0.0;
+        for (int i = 0; i < winCounts.length; i++) {
+            max = Math.max(max, SmaaAccumulator.calculateHalfWidth(winCounts[i] + tieCounts[i], sampleCount));
+            max = Math.max(max, SmaaAccumulator.calculateHalfWidth(sampleCount - winCounts[i], sampleCount));
+        }
+        return max;
+    }
+
+    public Table getPeois() {
+        flush();
+        var peoi = Table.create();
+        for (int dmuB = 0; dmuB < dmuCount; dmuB++) {
+            var values = new double[dmuCount];
+            for (int dmuA = 0; dmuA < dmuCount; dmuA++)
+                values[dmuA] = (double) countOutranking(dmuA, dmuB) / sampleCount;
+            peoi.addColumns(DoubleColumn.create(String.valueOf(dmuB), values));
         }
         return peoi;
+    }
 
+    /**
+     * gets the number of samples in which the efficiency of dmuA is not smaller than of dmuB
+     */
+    private long countOutranking(int dmuA, int dmuB) {
+        if (dmuA == dmuB)
+            return sampleCount;
+        if (dmuA < dmuB) {
+            var idx = getRowOffset(dmuA) + dmuB - dmuA - 1;
+            return winCounts[idx] + tieCounts[idx];
+        }
+        return sampleCount - winCounts[getRowOffset(dmuB) + dmuA - dmuB - 1];
     }
 }
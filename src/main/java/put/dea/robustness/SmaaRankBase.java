@@ -1,60 +1,173 @@
 package put.dea.robustness;
 
-import org.apache.commons.math3.util.Pair;
 import tech.tablesaw.api.DoubleColumn;
-import tech.tablesaw.api.Row;
 import tech.tablesaw.api.Table;
 
-import java.util.Arrays;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.IntStream;
 
-class SmaaRankBase {
+/**
+ * Accumulates the rank distribution (rank acceptability indices) and the expected ranks
+ * of DMUs sample by sample. Accumulators filled with disjoint sets of samples can be merged.
+ */
+class SmaaRankBase implements SmaaAccumulator {
 
-    private final int numberOfSamples;
+    private final int dmuCount;
+    private final RankTieHandling tieHandling;
+    private final long[] rankCounts;
+    private final double[] rankSums;
+    private final long[] sortKeys;
+    private final int[] order;
+    private final int[] mergeBuffer;
+    private final int[] ranks;
+    private long sampleCount = 0;
 
-    public SmaaRankBase(int numberOfSamples) {
-        this.numberOfSamples = numberOfSamples;
+    public SmaaRankBase(int dmuCount) {
+        this(dmuCount, RankTieHandling.INDEX_ORDER);
     }
 
-    public Table calculateRankDistribution(Table ranks) {
+    public SmaaRankBase(int dmuCount, RankTieHandling tieHandling) {
+        this.dmuCount = dmuCount;
+        this.tieHandling = tieHandling;
+        this.rankCounts = new long[dmuCount * dmuCount];
+        this.rankSums = new double[dmuCount];
+        this.sortKeys = new long[dmuCount];
+        this.order = new int[dmuCount];
+        this.mergeBuffer = new int[dmuCount];
+        this.ranks = new int[dmuCount];
+    }
+
+    @Override
+    public void addSample(double[] efficiencies, int offset) {
+        var ranks = calculateRanks(efficiencies, offset);
+        for (int dmu = 0; dmu < dmuCount; dmu++) {
+            rankCounts[dmu * dmuCount + ranks[dmu]]++;
+            rankSums[dmu] += ranks[dmu];
+        }
+        sampleCount++;
+    }
+
+    /**
+     * calculates 0-based ranks of DMUs in one sample (the best DMU has rank 0),
+     * DMUs with equal efficiencies are ranked according to the tie handling of this object.
+     * The returned array is reused by the next call, so every accumulator
+     * (used by a single thread at a time) sorts without allocations.
+     */
+    int[] calculateRanks(double[] efficiencies) {
+        return calculateRanks(efficiencies, 0);
+    }
+
+    /**
+     * calculates 0-based ranks of DMUs in one sample stored in the array from given offset
+     */
+    int[] calculateRanks(double[] efficiencies, int offset) {
+        for (int dmu = 0; dmu < dmuCount; dmu++) {
+            sortKeys[dmu] = toSortKey(-efficiencies[offset + dmu]);
+            order[dmu] = dmu;
+        }
+        sortOrder(0, dmuCount);
+        var groupStart = 0;
+        for (int position = 0; position < dmuCount; position++) {
+            if (position > 0 && sortKeys[order[position]] != sortKeys[order[position - 1]])
+                groupStart = position;
+            ranks[order[position]] = tieHandling == RankTieHandling.SHARED_BEST ? groupStart : position;
+        }
+        if (tieHandling == RankTieHandling.SHARED_WORST) {
+            var groupEnd = dmuCount - 1;
+            for (int position = dmuCount - 1; position >= 0; position--) {
+                if (position < dmuCount - 1 && sortKeys[order[position]] != sortKeys[order[position + 1]])
+                    groupEnd = position;
+                ranks[order[position]] = groupEnd;
+            }
+        }
+        return ranks;
+    }
+
+    /**
+     * maps a double to a long with the same ordering as {@link Double#compare(double, double)}
+     */
+    private static long toSortKey(double value) {
+        var bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * stable merge sort of the DMU indices in given range of the order by their sort keys
+     */
+    private void sortOrder(int from, int to) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                var idx = order[i];
+                var key = sortKeys[idx];
+                var j = i - 1;
+                for (; j >= from && sortKeys[order[j]] > key; j--)
+                    order[j + 1] = order[j];
+                order[j + 1] = idx;
+            }
+            return;
+        }
+        var middle = (from + to) >>> 1;
+        sortOrder(from, middle);
+        sortOrder(middle, to);
+        if (sortKeys[order[middle - 1]] <= sortKeys[order[middle]])
+            return;
+        System.arraycopy(order, from, mergeBuffer, from, middle - from);
+        int left = from, right = middle, target = from;
+        while (left < middle && right < to) {
+            if (sortKeys[order[right]] < sortKeys[mergeBuffer[left]])
+                order[target++] = order[right++];
+            else
+                order[target++] = mergeBuffer[left++];
+        }
+        while (left < middle)
+            order[target++] = mergeBuffer[left++];
+    }
+
+    public void merge(SmaaRankBase other) {
+        for (int i = 0; i < rankCounts.length; i++)
+            rankCounts[i] += other.rankCounts[i];
+        for (int dmu = 0; dmu < dmuCount; dmu++)
+            rankSums[dmu] += other.rankSums[dmu];
+        sampleCount += other.sampleCount;
+    }
+
+    @Override
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    @Override
+    public double getMaxHalfWidth() {
+        var max = sampleCount == 0 ? 1.0 : 0.0;
+        for (var count : rankCounts)
+            max = Math.max(max, SmaaAccumulator.calculateHalfWidth(count, sampleCount));
+        return max;
+    }
+
+    public Table getDistribution() {
         var distribution = Table.create();
-        ranks.forEach(row -> distribution.addColumns(
-                        DoubleColumn.create(distribution.columnCount() + "",
-                                calculateDistributionForRow(row, ranks.rowCount()))
-                )
-        );
-        return distribution.transpose();
-    }
-
-    private List<Double> calculateDistributionForRow(Row row, int dmuCount) {
-        var distribution = new double[dmuCount];
-        IntStream.range(0, row.columnCount())
-                .mapToDouble(row::getDouble)
-                .forEach(rank -> distribution[(int) rank] += 1);
-        return Arrays.stream(distribution).map(x -> x / numberOfSamples).boxed().toList();
-    }
-
-    public Table calculateRanksMatrix(Table efficiencies) {
-        var result = Table.create();
-        for (int sampleIdx = 0; sampleIdx < numberOfSamples; sampleIdx++) {
-            var sample = efficiencies.doubleColumn(sampleIdx).asDoubleArray();
-            var sortedSample = indicesSortedByValue(sample, true);
-
-            var rankList = indicesSortedByValue(sortedSample.stream().mapToDouble(x -> (double) x).toArray(),
-                    false);
-            result.addColumns(DoubleColumn.create(sampleIdx + "", rankList.stream().mapToDouble(x -> x)));
+        for (int rank = 0; rank < dmuCount; rank++) {
+            var values = new double[dmuCount];
+            for (int dmu = 0; dmu < dmuCount; dmu++)
+                values[dmu] = (double) rankCounts[dmu * dmuCount + rank] / sampleCount;
+            distribution.addColumns(DoubleColumn.create(String.valueOf(rank), values));
         }
-        return result;
+        return distribution;
+    }
+
+    public List<Double> getExpectedRanks() {
+        var expectedRanks = new ArrayList<Double>(dmuCount);
+        for (int dmu = 0; dmu < dmuCount; dmu++)
+            expectedRanks.add(rankSums[dmu] / sampleCount + 1);
+        return expectedRanks;
+    }
+
+    public DistributionResult toDistributionResult() {
+        return toDistributionResult(null);
     }
 
-    private List<Integer> indicesSortedByValue(double[] values, boolean descending) {
-        var sign = descending ? -1 : 1;
-        return IntStream.range(0, values.length)
-                .mapToObj(idx -> new Pair<>(values[idx], idx))
-                .sorted(Comparator.comparing(pair -> sign * pair.getFirst()))
-                .map(Pair::getSecond)
-                .toList();
+    public DistributionResult toDistributionResult(ChainDiagnostics diagnostics) {
+        return new DistributionResult(getDistribution(), getExpectedRanks(), sampleCount,
+                getMaxHalfWidth(), diagnostics);
     }
 }
@@ -0,0 +1,18 @@
+package put.dea.robustness;
+
+import tech.tablesaw.api.Table;
+
+/**
+ * record representing the combined result of SMAA analyses calculated from one set of samples,
+ * the parts which were not requested are null
+ *
+ * @param efficiencyDistribution efficiency distribution and expected efficiencies
+ * @param rankDistribution       rank distribution and expected ranks
+ * @param peoi                   pairwise efficiency outranking indices
+ * @param distanceDistribution   distance distribution and expected distances
+ */
+public record SmaaReport(DistributionResult efficiencyDistribution,
+                         DistributionResult rankDistribution,
+                         Table peoi,
+                         DistributionResult distanceDistribution) {
+}
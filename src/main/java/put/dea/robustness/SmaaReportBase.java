@@ -0,0 +1,100 @@
+package put.dea.robustness;
+
+import java.util.Set;
+
+/**
+ * Feeds the efficiencies of every sample to the accumulators of all requested report parts,
+ * so the samples and efficiencies are calculated only once for the whole report.
+ * Ranks and PEOIs are calculated from the raw efficiencies,
+ * then the efficiency scores and the distances are derived from them in place.
+ */
+class SmaaReportBase implements SmaaAccumulator {
+    private final SmaaEfficiencyBase efficiencyBase;
+    private final SmaaRankBase rankBase;
+    private final SmaaPreferenceRelationsBase preferenceRelationsBase;
+    private final SmaaEfficiencyBase distanceBase;
+    private final SampleScoresConsumer efficiencyScores;
+    private final SampleScoresConsumer distances;
+    private long sampleCount = 0;
+
+    /**
+     * @param dmuCount          number of DMUs
+     * @param numberOfIntervals number of intervals of the efficiency and distance distributions
+     * @param parts             requested report parts
+     * @param tieHandling       handling of ties in ranks
+     * @param executionStrategy strategy used to count the PEOIs
+     * @param efficiencyScores  transforms efficiencies to scores of the efficiency distribution in place
+     *                          (null if the efficiencies are used directly)
+     * @param distances         transforms efficiency scores to distances to the best DMU in place
+     */
+    SmaaReportBase(int dmuCount,
+                   int numberOfIntervals,
+                   Set<SmaaReportPart> parts,
+                   RankTieHandling tieHandling,
+                   ExecutionStrategy executionStrategy,
+                   SampleScoresConsumer efficiencyScores,
+                   SampleScoresConsumer distances) {
+        if (parts.isEmpty())
+            throw new IllegalArgumentException("At least one report part must be requested");
+        this.efficiencyBase = parts.contains(SmaaReportPart.EFFICIENCY)
+                ? new SmaaEfficiencyBase(dmuCount, numberOfIntervals)
+                : null;
+        this.rankBase = parts.contains(SmaaReportPart.RANKS)
+                ? new SmaaRankBase(dmuCount, tieHandling)
+                : null;
+        this.preferenceRelationsBase = parts.contains(SmaaReportPart.PREFERENCE_RELATIONS)
+                ? new SmaaPreferenceRelationsBase(dmuCount, executionStrategy)
+                : null;
+        this.distanceBase = parts.contains(SmaaReportPart.DISTANCE)
+                ? new SmaaEfficiencyBase(dmuCount, numberOfIntervals)
+                : null;
+        this.efficiencyScores = efficiencyScores;
+        this.distances = distances;
+    }
+
+    @Override
+    public void addSample(double[] efficiencies, int offset) {
+        if (rankBase != null)
+            rankBase.addSample(efficiencies, offset);
+        if (preferenceRelationsBase != null)
+            preferenceRelationsBase.addSample(efficiencies, offset);
+        if (efficiencyBase != null || distanceBase != null) {
+            if (efficiencyScores != null)
+                efficiencyScores.accept(efficiencies, offset);
+            if (efficiencyBase != null)
+                efficiencyBase.addSample(efficiencies, offset);
+            if (distanceBase != null) {
+                distances.accept(efficiencies, offset);
+                distanceBase.addSample(efficiencies, offset);
+            }
+        }
+        sampleCount++;
+    }
+
+    @Override
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    @Override
+    public double getMaxHalfWidth() {
+        var max = 0.0;
+        if (efficiencyBase != null)
+            max = Math.max(max, efficiencyBase.getMaxHalfWidth());
+        if (rankBase != null)
+            max = Math.max(max, rankBase.getMaxHalfWidth());
+        if (preferenceRelationsBase != null)
+            max = Math.max(max, preferenceRelationsBase.getMaxHalfWidth());
+        if (distanceBase != null)
+            max = Math.max(max, distanceBase.getMaxHalfWidth());
+        return max;
+    }
+
+    public SmaaReport toReport(ChainDiagnostics diagnostics) {
+        return new SmaaReport(
+                efficiencyBase == null ? null : efficiencyBase.toDistributionResult(diagnostics),
+                rankBase == null ? null : rankBase.toDistributionResult(diagnostics),
+                preferenceRelationsBase == null ? null : preferenceRelationsBase.getPeois(),
+                distanceBase == null ? null : distanceBase.toDistributionResult(diagnostics));
+    }
+}
@@ -0,0 +1,24 @@
+package put.dea.robustness;
+
+/**
+ * Defines the parts of the combined SMAA report calculated from one set of samples
+ */
+public enum SmaaReportPart {
+    /**
+     * efficiency distribution (efficiency acceptability interval indices) and expected efficiencies
+     */
+    EFFICIENCY,
+    /**
+     * rank distribution (rank acceptability indices) and expected ranks
+     */
+    RANKS,
+    /**
+     * pairwise efficiency outranking indices
+     */
+    PREFERENCE_RELATIONS,
+    /**
+     * distribution of efficiency distance to the best DMU (distance acceptability interval indices)
+     * and expected distances, available only for the VDEA model
+     */
+    DISTANCE
+}
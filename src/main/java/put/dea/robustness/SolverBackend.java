@@ -0,0 +1,33 @@
+package put.dea.robustness;
+
+/**
+ * Defines which OR-Tools solvers are used for the optimization models built during the analysis
+ */
+public enum SolverBackend {
+    /**
+     * models with continuous variables only are solved with GLOP simplex solver,
+     * models with binary variables with SCIP
+     */
+    AUTOMATIC("GLOP", "SCIP"),
+    /**
+     * models with continuous variables only are solved with PDLP first-order solver,
+     * models with binary variables with SCIP
+     */
+    PDLP("PDLP", "SCIP"),
+    /**
+     * all models are solved with SCIP
+     */
+    SCIP("SCIP", "SCIP");
+
+    private final String linearSolverId;
+    private final String integerSolverId;
+
+    SolverBackend(String linearSolverId, String integerSolverId) {
+        this.linearSolverId = linearSolverId;
+        this.integerSolverId = integerSolverId;
+    }
+
+    String getSolverId(boolean integerVariables) {
+        return integerVariables ? integerSolverId : linearSolverId;
+    }
+}
@@ -3,13 +3,54 @@ package put.dea.robustness;
 import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPSolver;
 import com.google.ortools.linearsolver.MPVariable;
-import tech.tablesaw.api.Table;
 
 import java.util.List;
 
 abstract class VDEABase extends RobustnessLPBase {
     protected static final Double C = 10000.0;
+    /**
+     * maximal violation of the efficiency difference accepted for the preference relations,
+     * shared by the LP models and the vertex enumeration so that both give the same relations
+     */
+    static final double PREFERENCE_TOLERANCE = 1e-9;
     private final PerformanceToValueConverter performanceConverter = new PerformanceToValueConverter();
+    private boolean vertexEnumeration = false;
+
+    /**
+     * returns if the extreme values are found by enumerating the vertices of the weight polytope
+     *
+     * @return true if the vertices are enumerated; false if an LP model is solved for each DMU
+     */
+    public boolean isVertexEnumeration() {
+        return vertexEnumeration;
+    }
+
+    /**
+     * sets if the extreme values are found by enumerating the vertices of the weight polytope.
+     * With few inputs and outputs the polytope has few vertices, so evaluating all DMUs at them
+     * replaces solving LP models for each DMU (or pair of DMUs);
+     * if there are too many vertices, the LP models are solved anyway
+     *
+     * @param vertexEnumeration true to enumerate the vertices; false to solve an LP model for each DMU
+     */
+    public void setVertexEnumeration(boolean vertexEnumeration) {
+        this.vertexEnumeration = vertexEnumeration;
+    }
+
+    /**
+     * enumerates the vertices of the weight polytope if the vertex enumeration is enabled;
+     * the *ForAll methods call it once and, if it returns null, solve the LP models directly
+     *
+     * @param data data set specification
+     * @return efficiencies of all DMUs at the vertices or null if the LP models should be solved
+     */
+    WeightPolytopeVertices calculateVertices(VDEAProblemData data) {
+        if (!vertexEnumeration)
+            return null;
+        return WeightPolytopeVertices.calculate(data,
+                transformInputsToUtilities(data),
+                transformOutputsToUtilities(data));
+    }
 
     protected void addSumWeightsToOneConstraint(MPSolver model,
                                                 List<MPVariable> inputWeights,
@@ -20,31 +61,87 @@ abstract class VDEABase extends RobustnessLPBase {
     }
 
     protected MPConstraint createEffDistanceConstraint(MPSolver model,
-                                                       Table inputs,
-                                                       Table outputs,
+                                                       PerformanceMatrix inputs,
+                                                       PerformanceMatrix outputs,
                                                        int subjectDmuIdx,
                                                        int relativeDmuIdx,
                                                        List<MPVariable> inputWeights,
                                                        List<MPVariable> outputWeights) {
         var constraint = model.makeConstraint();
-        for (int i = 0; i < inputs.columnCount(); i++)
-            constraint.setCoefficient(inputWeights.get(i), inputs.row(relativeDmuIdx).getDouble(i)
-                    - inputs.row(subjectDmuIdx).getDouble(i));
-        for (int i = 0; i < outputs.columnCount(); i++)
-            constraint.setCoefficient(outputWeights.get(i), outputs.row(relativeDmuIdx).getDouble(i)
-                    - outputs.row(subjectDmuIdx).getDouble(i));
+        for (int i = 0; i < inputs.getFactorCount(); i++)
+            constraint.setCoefficient(inputWeights.get(i), inputs.get(relativeDmuIdx, i)
+                    - inputs.get(subjectDmuIdx, i));
+        for (int i = 0; i < outputs.getFactorCount(); i++)
+            constraint.setCoefficient(outputWeights.get(i), outputs.get(relativeDmuIdx, i)
+                    - outputs.get(subjectDmuIdx, i));
         return constraint;
     }
 
-    protected List<MPVariable> makeWeightVariables(MPSolver model, Table data) {
+    protected List<MPVariable> makeWeightVariables(MPSolver model, PerformanceMatrix data) {
         return makeWeightVariables(model, data, 1);
     }
 
-    protected Table transformInputsToUtilities(VDEAProblemData data) {
+    /**
+     * calculates the big-M constant bounding the difference between efficiencies of two DMUs:
+     * for non-negative weights summing up to 1 the difference is at most the maximal difference
+     * of single utilities, so the constant is valid for any custom weight constraints
+     *
+     * @param inputs       inputs' utilities
+     * @param outputs      outputs' utilities
+     * @param betterDmuIdx index of the DMU with greater efficiency
+     * @param worseDmuIdx  index of the DMU with lower efficiency
+     * @return maximal difference between efficiencies (non-negative)
+     */
+    protected double calculateBigM(PerformanceMatrix inputs,
+                                   PerformanceMatrix outputs,
+                                   int betterDmuIdx,
+                                   int worseDmuIdx) {
+        return Math.max(0.0,
+                DominanceScreening.calculateDifferenceBounds(inputs, outputs, betterDmuIdx, worseDmuIdx)[1]);
+    }
+
+    /**
+     * calculates the big-M constant bounding the distance between efficiencies of the best DMU and given DMU:
+     * the distance is at most the maximal gap between the column maximum and the DMU's utility
+     *
+     * @param inputs       inputs' utilities
+     * @param inputMaxima  maximal utilities of inputs, see {@link #calculateColumnMaxima(PerformanceMatrix)}
+     * @param outputs      outputs' utilities
+     * @param outputMaxima maximal utilities of outputs, see {@link #calculateColumnMaxima(PerformanceMatrix)}
+     * @param dmuIdx       index of the DMU
+     * @return maximal distance to the best DMU (non-negative)
+     */
+    protected double calculateDistanceBigM(PerformanceMatrix inputs,
+                                           double[] inputMaxima,
+                                           PerformanceMatrix outputs,
+                                           double[] outputMaxima,
+                                           int dmuIdx) {
+        var bigM = 0.0;
+        for (int factor = 0; factor < inputMaxima.length; factor++)
+            bigM = Math.max(bigM, inputMaxima[factor] - inputs.get(dmuIdx, factor));
+        for (int factor = 0; factor < outputMaxima.length; factor++)
+            bigM = Math.max(bigM, outputMaxima[factor] - outputs.get(dmuIdx, factor));
+        return bigM;
+    }
+
+    /**
+     * returns maximal utilities of all factors
+     *
+     * @param utilities factors' utilities
+     * @return array with the maximal utility of each factor
+     */
+    protected double[] calculateColumnMaxima(PerformanceMatrix utilities) {
+        var maxima = new double[utilities.getFactorCount()];
+        for (int factor = 0; factor < maxima.length; factor++)
+            maxima[factor] = utilities.getColumnMax(factor);
+        return maxima;
+    }
+
+    protected PerformanceMatrix transformInputsToUtilities(VDEAProblemData data) {
         return performanceConverter.transformInputsToUtilities(data);
     }
 
-    protected Table transformOutputsToUtilities(VDEAProblemData data) {
+    protected PerformanceMatrix transformOutputsToUtilities(VDEAProblemData data) {
         return performanceConverter.transformOutputsToUtilities(data);
     }
 }
@@ -3,6 +3,8 @@ package put.dea.robustness;
 import com.google.ortools.linearsolver.MPVariable;
 
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * Class providing methods for finding the extreme (minimal and maximal) efficiency distance
@@ -11,13 +13,41 @@ import java.util.Arrays;
  */
 public class VDEAExtremeDistances extends VDEABase implements ExtremeDistances<VDEAProblemData> {
 
+    @Override
+    public List<Double> minDistanceForAll(VDEAProblemData data) {
+        var vertices = calculateVertices(data);
+        return getExecutionStrategy().map(data.getDmuCount(), idx -> minDistance(data, idx, vertices));
+    }
+
     @Override
     public double minDistance(VDEAProblemData data, int subjectDmuIdx) {
+        return minDistance(data, subjectDmuIdx, calculateVertices(data));
+    }
+
+    /**
+     * the distance is 0 if the DMU is the best one at any vertex; otherwise the minimal distance
+     * may be attained inside the polytope, so the LP model is solved
+     */
+    private double minDistance(VDEAProblemData data, int subjectDmuIdx, WeightPolytopeVertices vertices) {
+        if (vertices != null && vertices.isBestAtAnyVertex(subjectDmuIdx))
+            return 0.0;
         return findMinOrMaxDistance(data, subjectDmuIdx, OptimizationSense.MINIMIZE, false);
     }
 
+    @Override
+    public List<Double> maxDistanceForAll(VDEAProblemData data) {
+        var vertices = calculateVertices(data);
+        if (vertices == null)
+            return getExecutionStrategy().map(data.getDmuCount(),
+                    idx -> findMinOrMaxDistance(data, idx, OptimizationSense.MAXIMIZE, false));
+        return IntStream.range(0, data.getDmuCount()).mapToObj(vertices::getMaxDistance).toList();
+    }
+
     @Override
     public double maxDistance(VDEAProblemData data, int subjectDmuIdx) {
+        var vertices = calculateVertices(data);
+        if (vertices != null)
+            return vertices.getMaxDistance(subjectDmuIdx);
         return findMinOrMaxDistance(data, subjectDmuIdx, OptimizationSense.MAXIMIZE, false);
     }
 
@@ -29,14 +59,18 @@ public class VDEAExtremeDistances extends VDEABase implements ExtremeDistances<V
     private double findMinOrMaxDistance(VDEAProblemData data, int subjectDmuIdx, OptimizationSense sense, boolean superDistance) {
         var inputs = transformInputsToUtilities(data);
         var outputs = transformOutputsToUtilities(data);
-        var model = makeModel(sense);
+        var model = makeModel(sense, sense.isMaximize());
         var dVariable = model.makeNumVar(-1, 1, "d");
         model.objective().setCoefficient(dVariable, 1);
         var inputWeights = makeWeightVariables(model, inputs, 1);
         var outputWeights = makeWeightVariables(model, outputs, 1);
 
         MPVariable[] binVariables = new MPVariable[0];
+        double[] inputMaxima = null;
+        double[] outputMaxima = null;
         if (sense.isMaximize()) {
+            inputMaxima = calculateColumnMaxima(inputs);
+            outputMaxima = calculateColumnMaxima(outputs);
             binVariables = model.makeBoolVarArray(data.getDmuCount());
             var binSumConstraint = model.makeConstraint(1, 1);
             Arrays.stream(binVariables).forEach(variable -> binSumConstraint.setCoefficient(variable, 1));
@@ -47,14 +81,14 @@ public class VDEAExtremeDistances extends VDEABase implements ExtremeDistances<V
             if (!superDistance || k != subjectDmuIdx) {
                 var constraint = createEffDistanceConstraint(model, inputs, outputs,
                         subjectDmuIdx, k, inputWeights, outputWeights);
-                if (sense.isMaximize())
-                    constraint.setLb(-C);
-                else
+                if (sense.isMaximize()) {
+                    var bigM = calculateDistanceBigM(inputs, inputMaxima, outputs, outputMaxima, k);
+                    constraint.setLb(-bigM);
+                    constraint.setCoefficient(binVariables[k], -bigM);
+                } else
                     constraint.setUb(0);
 
                 constraint.setCoefficient(dVariable, -1);
-                if (sense.isMaximize())
-                    constraint.setCoefficient(binVariables[k], -C);
             }
         }
 
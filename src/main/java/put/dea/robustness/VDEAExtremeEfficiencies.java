@@ -1,5 +1,8 @@
 package put.dea.robustness;
 
+import java.util.List;
+import java.util.stream.IntStream;
+
 /**
  * Class providing methods for finding the extreme (minimal and maximal) efficiency scores
  * of analysed DMUs
@@ -9,13 +12,37 @@ public class VDEAExtremeEfficiencies
         extends VDEABase
         implements ExtremeEfficiency<VDEAProblemData> {
 
+    @Override
+    public List<Double> maxEfficiencyForAll(VDEAProblemData data) {
+        var vertices = calculateVertices(data);
+        if (vertices == null)
+            return getExecutionStrategy().map(data.getDmuCount(),
+                    idx -> findMinOrMaxEfficiency(data, idx, OptimizationSense.MAXIMIZE));
+        return IntStream.range(0, data.getDmuCount()).mapToObj(vertices::getMaxEfficiency).toList();
+    }
+
     @Override
     public double maxEfficiency(VDEAProblemData data, int subjectDmuIdx) {
+        var vertices = calculateVertices(data);
+        if (vertices != null)
+            return vertices.getMaxEfficiency(subjectDmuIdx);
         return findMinOrMaxEfficiency(data, subjectDmuIdx, OptimizationSense.MAXIMIZE);
     }
 
+    @Override
+    public List<Double> minEfficiencyForAll(VDEAProblemData data) {
+        var vertices = calculateVertices(data);
+        if (vertices == null)
+            return getExecutionStrategy().map(data.getDmuCount(),
+                    idx -> findMinOrMaxEfficiency(data, idx, OptimizationSense.MINIMIZE));
+        return IntStream.range(0, data.getDmuCount()).mapToObj(vertices::getMinEfficiency).toList();
+    }
+
     @Override
     public double minEfficiency(VDEAProblemData data, int subjectDmuIdx) {
+        var vertices = calculateVertices(data);
+        if (vertices != null)
+            return vertices.getMinEfficiency(subjectDmuIdx);
         return findMinOrMaxEfficiency(data, subjectDmuIdx, OptimizationSense.MINIMIZE);
     }
 
@@ -30,9 +57,9 @@ public class VDEAExtremeEfficiencies
         var objective = model.objective();
         objective.setOptimizationDirection(sense.isMaximize());
         for (int i = 0; i < data.getInputCount(); i++)
-            objective.setCoefficient(inputWeights.get(i), inputs.row(subjectDmuIdx).getDouble(i));
+            objective.setCoefficient(inputWeights.get(i), inputs.get(subjectDmuIdx, i));
         for (int i = 0; i < data.getOutputCount(); i++)
-            objective.setCoefficient(outputWeights.get(i), outputs.row(subjectDmuIdx).getDouble(i));
+            objective.setCoefficient(outputWeights.get(i), outputs.get(subjectDmuIdx, i));
 
         addSumWeightsToOneConstraint(model, inputWeights, outputWeights);
         addCustomWeightConstraints(data, model);
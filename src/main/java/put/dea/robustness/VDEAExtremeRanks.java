@@ -14,22 +14,24 @@ public class VDEAExtremeRanks
 
     @Override
     public int minRank(VDEAProblemData data, int subjectDmuIdx) {
-        return createModel(data, subjectDmuIdx, OptimizationSense.MINIMIZE,
-                NEGATIVE_INFINITY, 0.0);
+        return createModel(data, subjectDmuIdx, OptimizationSense.MINIMIZE);
     }
 
     @Override
     public int maxRank(VDEAProblemData data, int subjectDmuIdx) {
-        return createModel(data, subjectDmuIdx, OptimizationSense.MAXIMIZE,
-                -C, POSITIVE_INFINITY);
+        return createModel(data, subjectDmuIdx, OptimizationSense.MAXIMIZE);
     }
 
-    private int createModel(VDEAProblemData data, int subjectDmuIdx, OptimizationSense sense, Double constraintsLower, Double constraintUpper) {
+    /**
+     * creates the rank model; the big-M constant of the constraint for each relative DMU
+     * is the maximal difference between its and subject DMU's efficiencies in the relaxed direction
+     */
+    private int createModel(VDEAProblemData data, int subjectDmuIdx, OptimizationSense sense) {
         var extremeRanksBase = new ExtremeRanksBase();
         var inputs = transformInputsToUtilities(data);
         var outputs = transformOutputsToUtilities(data);
 
-        var model = makeModel(sense);
+        var model = makeModel(sense, true);
 
         var inputWeights = makeWeightVariables(model, inputs);
         var outputWeights = makeWeightVariables(model, outputs);
@@ -41,8 +43,15 @@ public class VDEAExtremeRanks
             if (k != subjectDmuIdx) {
                 var constraint = createEffDistanceConstraint(model, inputs, outputs,
                         subjectDmuIdx, k, inputWeights, outputWeights);
-                constraint.setBounds(constraintsLower, constraintUpper);
-                constraint.setCoefficient(binVariables[k], -C);
+                if (sense.isMaximize()) {
+                    var bigM = calculateBigM(inputs, outputs, subjectDmuIdx, k);
+                    constraint.setBounds(-bigM, POSITIVE_INFINITY);
+                    constraint.setCoefficient(binVariables[k], -bigM);
+                } else {
+                    var bigM = calculateBigM(inputs, outputs, k, subjectDmuIdx);
+                    constraint.setBounds(NEGATIVE_INFINITY, 0.0);
+                    constraint.setCoefficient(binVariables[k], -bigM);
+                }
             }
         }
         addCustomWeightConstraints(data, model);
@@ -1,26 +1,119 @@
 package put.dea.robustness;
 
+import java.util.Arrays;
 
 /**
  * Class providing methods for verification of presence of the necessary and possible efficiency preference relations
  * for standard (precise) problems with VDEA efficiency model
  */
 public class VDEAPreferenceRelations extends VDEABase implements PreferenceRelations<VDEAProblemData> {
+    private int savedModelCount = 0;
+
+    @Override
+    public PreferenceMatrix necessaryPreferenceMatrix(VDEAProblemData data) {
+        var vertices = calculateVertices(data);
+        if (vertices == null) {
+            var inputs = transformInputsToUtilities(data);
+            var outputs = transformOutputsToUtilities(data);
+            var scores = new double[data.getDmuCount()];
+            for (int dmu = 0; dmu < scores.length; dmu++)
+                scores[dmu] = Arrays.stream(inputs.getRow(dmu)).sum() + Arrays.stream(outputs.getRow(dmu)).sum();
+            var closure = new NecessaryPreferenceClosure(data.getDmuCount());
+            var result = closure.checkForAll(scores,
+                    subjectDmuIdx -> screenRelations(inputs, outputs, subjectDmuIdx),
+                    (subjectDmuIdx, relativeDmuIdx) -> solvePreferenceRelationProblem(data,
+                            subjectDmuIdx, relativeDmuIdx, OptimizationSense.MINIMIZE),
+                    PREFERENCE_TOLERANCE);
+            savedModelCount = closure.getSavedModelCount();
+            return result;
+        }
+        savedModelCount = data.getDmuCount() * data.getDmuCount();
+        return createRelationMatrix(data, vertices, OptimizationSense.MINIMIZE);
+    }
+
+    /**
+     * gets the number of models not solved in the last call of {@link #necessaryPreferenceMatrix}
+     * (or {@link #checkNecessaryPreferenceForAll}),
+     * as the relations followed from the dominance of performances or from the transitivity
+     * of the necessary preference relation (compared to solving a model for every pair of DMUs)
+     *
+     * @return number of saved models
+     */
+    public int getSavedModelCount() {
+        return savedModelCount;
+    }
+
     @Override
     public boolean isNecessarilyPreferred(VDEAProblemData data, int subjectDmuIdx, int relativeDmuIdx) {
+        var vertices = calculateVertices(data);
+        if (vertices != null)
+            return vertices.isNecessarilyPreferred(subjectDmuIdx, relativeDmuIdx);
         return createPreferenceRelationProblem(data, subjectDmuIdx, relativeDmuIdx, OptimizationSense.MINIMIZE);
     }
 
+    @Override
+    public PreferenceMatrix possiblePreferenceMatrix(VDEAProblemData data) {
+        var vertices = calculateVertices(data);
+        if (vertices == null) {
+            var inputs = transformInputsToUtilities(data);
+            var outputs = transformOutputsToUtilities(data);
+            return DominanceScreening.checkForAll(data.getDmuCount(),
+                    subjectDmuIdx -> screenRelations(inputs, outputs, subjectDmuIdx),
+                    (subjectDmuIdx, relativeDmuIdx) -> createPreferenceRelationProblem(data,
+                            subjectDmuIdx, relativeDmuIdx, OptimizationSense.MAXIMIZE));
+        }
+        return createRelationMatrix(data, vertices, OptimizationSense.MAXIMIZE);
+    }
+
     @Override
     public boolean isPossiblyPreferred(VDEAProblemData data, int subjectDmuIdx, int relativeDmuIdx) {
+        var vertices = calculateVertices(data);
+        if (vertices != null)
+            return vertices.isPossiblyPreferred(subjectDmuIdx, relativeDmuIdx);
         return createPreferenceRelationProblem(data, subjectDmuIdx, relativeDmuIdx, OptimizationSense.MAXIMIZE);
 
     }
 
+    /**
+     * the relation is present if the subject DMU has no lower utility than the relative DMU on every factor
+     * and not present if it has lower utilities on all factors by more than the tolerance
+     * (in which case it is neither necessary nor possible)
+     */
+    private Boolean[] screenRelations(PerformanceMatrix inputs, PerformanceMatrix outputs, int subjectDmuIdx) {
+        var relations = new Boolean[inputs.getDmuCount()];
+        for (int relativeDmuIdx = 0; relativeDmuIdx < inputs.getDmuCount(); relativeDmuIdx++) {
+            var bounds = DominanceScreening.calculateDifferenceBounds(inputs, outputs, subjectDmuIdx, relativeDmuIdx);
+            if (bounds[0] >= 0)
+                relations[relativeDmuIdx] = true;
+            else if (bounds[1] < -PREFERENCE_TOLERANCE)
+                relations[relativeDmuIdx] = false;
+        }
+        return relations;
+    }
+
+    private PreferenceMatrix createRelationMatrix(VDEAProblemData data,
+                                                  WeightPolytopeVertices vertices,
+                                                  OptimizationSense sense) {
+        var matrix = new PreferenceMatrix(data.getDmuCount());
+        for (int subjectDmu = 0; subjectDmu < data.getDmuCount(); subjectDmu++)
+            for (int relativeDmu = 0; relativeDmu < data.getDmuCount(); relativeDmu++)
+                matrix.set(subjectDmu, relativeDmu, sense.isMaximize()
+                        ? vertices.isPossiblyPreferred(subjectDmu, relativeDmu)
+                        : vertices.isNecessarilyPreferred(subjectDmu, relativeDmu));
+        return matrix;
+    }
+
     private boolean createPreferenceRelationProblem(VDEAProblemData data,
                                                     int subjectDmuIdx,
                                                     int relativeDmuIdx,
                                                     OptimizationSense sense) {
+        return solvePreferenceRelationProblem(data, subjectDmuIdx, relativeDmuIdx, sense) >= -PREFERENCE_TOLERANCE;
+    }
+
+    private double solvePreferenceRelationProblem(VDEAProblemData data,
+                                                  int subjectDmuIdx,
+                                                  int relativeDmuIdx,
+                                                  OptimizationSense sense) {
         var inputs = transformInputsToUtilities(data);
         var outputs = transformOutputsToUtilities(data);
 
@@ -43,6 +136,6 @@ public class VDEAPreferenceRelations extends VDEABase implements PreferenceRelat
 
         addCustomWeightConstraints(data, model);
 
-        return getModelResult(model) >= 0;
+        return getModelResult(model);
     }
 }
@@ -4,6 +4,7 @@ import org.apache.commons.math3.util.Pair;
 import tech.tablesaw.api.Table;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -41,10 +42,28 @@ public class VDEAProblemData extends ProblemData {
         super(inputData, outputData, inputNames, outputNames);
     }
 
+    /**
+     * Constructor creating {@link VDEAProblemData} object from a stream of DMUs' performances,
+     * each row containing the input performances followed by the output performances
+     *
+     * @param rows        {@link Iterator} over DMUs' performances (e.g. {@link CsvPerformanceReader})
+     * @param inputNames  {@link List} of names for inputs
+     * @param outputNames {@link List} of names for outputs
+     */
+    public VDEAProblemData(Iterator<double[]> rows,
+                           List<String> inputNames,
+                           List<String> outputNames) {
+        super(rows, inputNames, outputNames);
+    }
+
     VDEAProblemData(Table inputData, Table outputData) {
         super(inputData, outputData);
     }
 
+    VDEAProblemData(PerformanceMatrix inputMatrix, PerformanceMatrix outputMatrix) {
+        super(inputMatrix, outputMatrix);
+    }
+
     /**
      * gets the lower boundaries for all columns
      *
@@ -108,12 +127,12 @@ public class VDEAProblemData extends ProblemData {
                                                           String column) {
         if (shapes.containsKey(column))
             return shapes.get(column);
-        if (this.getInputData().containsColumn(column))
+        if (this.getInputMatrix().containsFactor(column))
             return List.of(
                     new Pair<>(getLowerBound(column), 1.0),
                     new Pair<>(getUpperBound(column), 0.0)
             );
-        if (this.getOutputData().containsColumn(column))
+        if (this.getOutputMatrix().containsFactor(column))
             return List.of(
                     new Pair<>(getLowerBound(column), 0.0),
                     new Pair<>(getUpperBound(column), 1.0)
@@ -130,10 +149,10 @@ public class VDEAProblemData extends ProblemData {
     public Double getLowerBound(String column) {
         if (this.lowerBounds.containsKey(column))
             return this.lowerBounds.get(column);
-        if (this.getInputData().containsColumn(column))
-            return this.getInputData().doubleColumn(column).min();
-        if (this.getOutputData().containsColumn(column))
-            return this.getOutputData().doubleColumn(column).min();
+        if (this.getInputMatrix().containsFactor(column))
+            return getInputMatrix().getColumnMin(getInputMatrix().getFactorIndex(column));
+        if (this.getOutputMatrix().containsFactor(column))
+            return getOutputMatrix().getColumnMin(getOutputMatrix().getFactorIndex(column));
         throw new IllegalArgumentException("Column with given name does not exist");
     }
 
@@ -146,10 +165,10 @@ public class VDEAProblemData extends ProblemData {
     public Double getUpperBound(String column) {
         if (this.upperBounds.containsKey(column))
             return this.upperBounds.get(column);
-        if (this.getInputData().containsColumn(column))
-            return this.getInputData().doubleColumn(column).max();
-        if (this.getOutputData().containsColumn(column))
-            return this.getOutputData().doubleColumn(column).max();
+        if (this.getInputMatrix().containsFactor(column))
+            return getInputMatrix().getColumnMax(getInputMatrix().getFactorIndex(column));
+        if (this.getOutputMatrix().containsFactor(column))
+            return getOutputMatrix().getColumnMax(getOutputMatrix().getFactorIndex(column));
         throw new IllegalArgumentException("Column with given name does not exist");
     }
 
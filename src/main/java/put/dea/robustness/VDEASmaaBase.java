@@ -1,14 +1,11 @@
 package put.dea.robustness;
 
-import tech.tablesaw.api.DoubleColumn;
-import tech.tablesaw.api.Row;
 import tech.tablesaw.api.Table;
-import tech.tablesaw.columns.Column;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.stream.IntStream;
 
 abstract class VDEASmaaBase extends SmaaBase {
 
@@ -18,21 +15,25 @@ abstract class VDEASmaaBase extends SmaaBase {
         super(numberOfSamples, random);
     }
 
-    protected Table calculateEfficiencyMatrix(ProblemData data, Table inputValues, Table outputValues) {
+    protected Table calculateEfficiencyMatrix(ProblemData data,
+                                              PerformanceMatrix inputValues,
+                                              PerformanceMatrix outputValues) {
         var samples = generateWeightSamples(data);
         return calculateEfficiencyMatrixForSamples(inputValues, outputValues, samples);
     }
 
+    protected void processEfficiencySamples(ProblemData data,
+                                            PerformanceMatrix inputValues,
+                                            PerformanceMatrix outputValues,
+                                            int sampleCount,
+                                            SampleScoresConsumer consumer) {
+        var samples = generateWeightSamples(data, sampleCount);
+        processEfficiencySamples(inputValues, outputValues, samples, consumer);
+    }
+
     @Override
-    protected double calculateEfficiency(Table inputs, Table outputs,
-                                         Row inputsSample, Row outputsSample, int dmuIdx) {
-        var efficiency = IntStream.range(0, inputs.columnCount())
-                .mapToDouble(idx -> inputs.row(dmuIdx).getDouble(idx) * inputsSample.getDouble(idx))
-                .sum();
-        efficiency += IntStream.range(0, outputs.columnCount())
-                .mapToDouble(idx -> outputs.row(dmuIdx).getDouble(idx) * outputsSample.getDouble(idx))
-                .sum();
-        return efficiency;
+    protected EfficiencyKernel getEfficiencyKernel() {
+        return EfficiencyKernel.ADDITIVE;
     }
 
     @Override
@@ -48,17 +49,17 @@ abstract class VDEASmaaBase extends SmaaBase {
         );
     }
 
-    protected Table calculateDistanceMatrix(Table efficiencyMatrix) {
-        return Table.create(
-                efficiencyMatrix.columns()
-                        .stream()
-                        .map(this::calculateDistancesForColumn)
-        );
+    protected double[] calculateDistances(double[] efficiencies) {
+        return calculateDistances(efficiencies, 0, efficiencies.length);
     }
 
-    private DoubleColumn calculateDistancesForColumn(Column<?> column) {
-        var doubleColumn = (DoubleColumn) column;
-        var max = doubleColumn.max();
-        return doubleColumn.map(v -> max - v);
+    /**
+     * replaces the efficiencies from given range of the array with their distances to the maximal one
+     */
+    protected double[] calculateDistances(double[] efficiencies, int offset, int dmuCount) {
+        var max = dmuCount == 0 ? 0.0 : Arrays.stream(efficiencies, offset, offset + dmuCount).max().getAsDouble();
+        for (int i = offset; i < offset + dmuCount; i++)
+            efficiencies[i] = max - efficiencies[i];
+        return efficiencies;
     }
 }
@@ -49,13 +49,12 @@ public class VDEASmaaDistance extends VDEASmaaBase implements SmaaDistance<VDEAP
 
     @Override
     public DistributionResult distanceDistribution(VDEAProblemData data) {
-        var efficiencyBase = new SmaaEfficiencyBase(numberOfSamples, numberOfIntervals);
+        var efficiencyBase = new SmaaEfficiencyBase(data.getDmuCount(), numberOfIntervals);
         var inputs = performanceToValueConverter.transformInputsToUtilities(data);
         var outputs = performanceToValueConverter.transformOutputsToUtilities(data);
-        var efficiencyMatrix = calculateEfficiencyMatrix(data, inputs, outputs);
-        var distanceMatrix = calculateDistanceMatrix(efficiencyMatrix);
-        var distribution = efficiencyBase.calculateDistribution(distanceMatrix);
-        var expectedEfficiency = calculateExpectedValues(distanceMatrix);
-        return new DistributionResult(distribution, expectedEfficiency);
+        sampleUntilConverged(efficiencyBase, sampleCount -> processEfficiencySamples(data, inputs, outputs,
+                sampleCount, (scores, offset) -> efficiencyBase.addSample(
+                        calculateDistances(scores, offset, data.getDmuCount()), offset)));
+        return efficiencyBase.toDistributionResult(getChainDiagnostics());
     }
 }
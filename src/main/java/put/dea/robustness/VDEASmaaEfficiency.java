@@ -49,13 +49,12 @@ public class VDEASmaaEfficiency extends VDEASmaaBase implements SmaaEfficiency<V
 
     @Override
     public DistributionResult efficiencyDistribution(VDEAProblemData data) {
-        var efficiencyBase = new SmaaEfficiencyBase(numberOfSamples, numberOfIntervals);
+        var efficiencyBase = new SmaaEfficiencyBase(data.getDmuCount(), numberOfIntervals);
         var inputs = performanceToValueConverter.transformInputsToUtilities(data);
         var outputs = performanceToValueConverter.transformOutputsToUtilities(data);
-        var efficiencyMatrix = calculateEfficiencyMatrix(data, inputs, outputs);
-        var distribution = efficiencyBase.calculateDistribution(efficiencyMatrix);
-        var expectedEfficiency = calculateExpectedValues(efficiencyMatrix);
-        return new DistributionResult(distribution, expectedEfficiency);
+        sampleUntilConverged(efficiencyBase, sampleCount -> processEfficiencySamples(data, inputs, outputs,
+                sampleCount, efficiencyBase::addSample));
+        return efficiencyBase.toDistributionResult(getChainDiagnostics());
     }
 
 }
@@ -34,8 +34,9 @@ public class VDEASmaaPreferenceRelations extends VDEASmaaBase implements SmaaPre
     public Table peoi(VDEAProblemData data) {
         var inputs = performanceToValueConverter.transformInputsToUtilities(data);
         var outputs = performanceToValueConverter.transformOutputsToUtilities(data);
-        var efficiencyMatrix = calculateEfficiencyMatrix(data, inputs, outputs);
-        var preferenceRelationsBase = new SmaaPreferenceRelationsBase(numberOfSamples);
-        return preferenceRelationsBase.calculatePeois(efficiencyMatrix);
+        var preferenceRelationsBase = new SmaaPreferenceRelationsBase(data.getDmuCount(), getExecutionStrategy());
+        sampleUntilConverged(preferenceRelationsBase, sampleCount -> processEfficiencySamples(data, inputs, outputs,
+                sampleCount, preferenceRelationsBase::addSample));
+        return preferenceRelationsBase.getPeois();
     }
 }
@@ -32,13 +32,11 @@ public class VDEASmaaRanks extends VDEASmaaBase implements SmaaRanks<VDEAProblem
 
     @Override
     public DistributionResult rankDistribution(VDEAProblemData data) {
-        var rankBase = new SmaaRankBase(numberOfSamples);
+        var rankBase = new SmaaRankBase(data.getDmuCount(), getRankTieHandling());
         var inputs = performanceToValueConverter.transformInputsToUtilities(data);
         var outputs = performanceToValueConverter.transformOutputsToUtilities(data);
-        var efficiencyMatrix = calculateEfficiencyMatrix(data, inputs, outputs);
-        var ranks = rankBase.calculateRanksMatrix(efficiencyMatrix);
-        var distribution = rankBase.calculateRankDistribution(ranks);
-        var expectedEfficiency = calculateExpectedValues(ranks).stream().map(x -> x + 1).toList();
-        return new DistributionResult(distribution, expectedEfficiency);
+        sampleUntilConverged(rankBase, sampleCount -> processEfficiencySamples(data, inputs, outputs,
+                sampleCount, rankBase::addSample));
+        return rankBase.toDistributionResult(getChainDiagnostics());
     }
 }
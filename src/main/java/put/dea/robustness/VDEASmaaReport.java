@@ -0,0 +1,86 @@
+package put.dea.robustness;
+
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Calculates the efficiency distribution, rank distribution, pairwise efficiency outranking indices
+ * and distance distribution in standard (precise) problems with VDEA efficiency model in a single pass:
+ * the weights are sampled and the efficiencies are calculated once for all requested analyses.
+ * For the same {@link Random} seed the results are equal to the results of
+ * {@link VDEASmaaEfficiency}, {@link VDEASmaaRanks}, {@link VDEASmaaPreferenceRelations}
+ * and {@link VDEASmaaDistance}.
+ */
+public class VDEASmaaReport extends VDEASmaaBase {
+    private final int numberOfIntervals;
+
+    /**
+     * Creates new object with given number of samples and 10 intervals
+     *
+     * @param numberOfSamples number of samples
+     */
+    public VDEASmaaReport(int numberOfSamples) {
+        this(numberOfSamples, 10);
+    }
+
+    /**
+     * Creates new object with given number of samples and intervals
+     *
+     * @param numberOfSamples   number of samples
+     * @param numberOfIntervals number of intervals of the efficiency and distance distributions
+     */
+    public VDEASmaaReport(int numberOfSamples, int numberOfIntervals) {
+        this(numberOfSamples, numberOfIntervals, new Random());
+    }
+
+    /**
+     * Creates new object with given number of samples and intervals
+     * and a specific {@link Random} object used for sampling
+     *
+     * @param numberOfSamples   number of samples
+     * @param numberOfIntervals number of intervals of the efficiency and distance distributions
+     * @param random            {@link Random} object for sampling
+     */
+    public VDEASmaaReport(int numberOfSamples, int numberOfIntervals, Random random) {
+        super(numberOfSamples, random);
+        this.numberOfIntervals = numberOfIntervals;
+    }
+
+    /**
+     * gets the number of intervals (buckets) in the efficiency and distance distributions
+     *
+     * @return number of intervals
+     */
+    public int getNumberOfIntervals() {
+        return numberOfIntervals;
+    }
+
+    /**
+     * calculates all parts of the report for all DMUs
+     *
+     * @param data data set specification
+     * @return combined report
+     */
+    public SmaaReport report(VDEAProblemData data) {
+        return report(data, EnumSet.allOf(SmaaReportPart.class));
+    }
+
+    /**
+     * calculates the requested parts of the report for all DMUs
+     *
+     * @param data  data set specification
+     * @param parts requested parts
+     * @return combined report with null values in place of the parts which were not requested
+     */
+    public SmaaReport report(VDEAProblemData data, Set<SmaaReportPart> parts) {
+        var reportBase = new SmaaReportBase(data.getDmuCount(), numberOfIntervals, parts,
+                getRankTieHandling(), getExecutionStrategy(),
+                null, (scores, offset) -> calculateDistances(scores, offset, data.getDmuCount()));
+        var inputs = performanceToValueConverter.transformInputsToUtilities(data);
+        var outputs = performanceToValueConverter.transformOutputsToUtilities(data);
+        sampleUntilConverged(reportBase, sampleCount -> processEfficiencySamples(data, inputs, outputs,
+                sampleCount, reportBase::addSample));
+        return reportBase.toReport(getChainDiagnostics());
+    }
+}
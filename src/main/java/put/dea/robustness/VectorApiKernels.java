@@ -0,0 +1,64 @@
+package put.dea.robustness;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementations of {@link ArrayKernels} loops with the JDK Vector API (incubator module).
+ * The class is only compiled in the {@code vector-api} build profile and is loaded reflectively
+ * by {@link ArrayKernels#getVectorApiLoops()}.
+ */
+final class VectorApiKernels implements ArrayKernels.Loops {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    VectorApiKernels() {
+    }
+
+    @Override
+    public boolean isSupported() {
+        return DOUBLES.length() > 1 && DOUBLES.length() == LONGS.length();
+    }
+
+    @Override
+    public void addScaled(double[] values, int valuesOffset, double scalar,
+                          double[] sums, int sumsOffset, int length) {
+        var i = 0;
+        var bound = DOUBLES.loopBound(length);
+        for (; i < bound; i += DOUBLES.length()) {
+            var products = DoubleVector.fromArray(DOUBLES, values, valuesOffset + i).mul(scalar);
+            DoubleVector.fromArray(DOUBLES, sums, sumsOffset + i)
+                    .add(products)
+                    .intoArray(sums, sumsOffset + i);
+        }
+        for (; i < length; i++)
+            sums[sumsOffset + i] += values[valuesOffset + i] * scalar;
+    }
+
+    @Override
+    public void countWinsAndTies(double[] values, int valuesOffset, int length, double reference,
+                                 long[] winCounts, long[] tieCounts, int countsOffset) {
+        var i = 0;
+        var bound = DOUBLES.loopBound(length);
+        for (; i < bound; i += DOUBLES.length()) {
+            var vector = DoubleVector.fromArray(DOUBLES, values, valuesOffset + i);
+            var wins = vector.compare(VectorOperators.LT, reference).cast(LONGS);
+            var ties = vector.compare(VectorOperators.EQ, reference).cast(LONGS);
+            LongVector.fromArray(LONGS, winCounts, countsOffset + i)
+                    .add(1L, wins)
+                    .intoArray(winCounts, countsOffset + i);
+            LongVector.fromArray(LONGS, tieCounts, countsOffset + i)
+                    .add(1L, ties)
+                    .intoArray(tieCounts, countsOffset + i);
+        }
+        for (; i < length; i++) {
+            var value = values[valuesOffset + i];
+            if (reference > value)
+                winCounts[countsOffset + i]++;
+            else if (reference == value)
+                tieCounts[countsOffset + i]++;
+        }
+    }
+}
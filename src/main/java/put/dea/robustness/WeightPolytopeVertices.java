@@ -0,0 +1,289 @@
+package put.dea.robustness;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Vertices of the VDEA weight polytope (non-negative weights summing up to one,
+ * restricted by the custom weight constraints) and the efficiencies of all DMUs at them.
+ * The polytope does not depend on the analyzed DMU and every linear function attains its extremes
+ * over it at the vertices, so with few factors the extreme efficiencies and the preference relations
+ * of all DMUs are found with a single (vertices x DMUs) matrix product and min/max reductions.
+ * The vertices are enumerated by solving the systems of equations for all subsets
+ * of active inequality constraints, so the enumeration is only attempted when the number
+ * of such subsets is small.
+ */
+final class WeightPolytopeVertices {
+    /**
+     * maximal number of subsets of active inequality constraints checked during the enumeration
+     */
+    static final long MAX_CANDIDATES = 1L << 20;
+    /**
+     * maximal number of vertices for which the efficiencies are calculated
+     */
+    static final int MAX_VERTICES = 1 << 14;
+    private static final double EPSILON = 1e-9;
+
+    private final int vertexCount;
+    private final int dmuCount;
+    /**
+     * efficiencies of all DMUs at the vertices, stored vertex after vertex
+     */
+    private final double[] efficiencies;
+
+    private WeightPolytopeVertices(int vertexCount, int dmuCount, double[] efficiencies) {
+        this.vertexCount = vertexCount;
+        this.dmuCount = dmuCount;
+        this.efficiencies = efficiencies;
+    }
+
+    /**
+     * enumerates the vertices of the weight polytope and calculates the efficiencies of all DMUs at them
+     *
+     * @param data    data set specification
+     * @param inputs  inputs' values (utilities)
+     * @param outputs outputs' values (utilities)
+     * @return efficiencies at the vertices or null if there are too many vertices to enumerate
+     * (or the polytope is empty or degenerate), in which case the LP models should be solved
+     */
+    static WeightPolytopeVertices calculate(ProblemData data, PerformanceMatrix inputs, PerformanceMatrix outputs) {
+        var vertices = enumerateVertices(data);
+        if (vertices == null || vertices.isEmpty())
+            return null;
+        var weights = new WeightSamplesCollection(vertices.toArray(new double[0][]), data.getInputCount());
+        var efficiencies = EfficiencyKernel.ADDITIVE.calculate(inputs, outputs, weights, 0, vertices.size());
+        return new WeightPolytopeVertices(vertices.size(), inputs.getDmuCount(), efficiencies);
+    }
+
+    int getVertexCount() {
+        return vertexCount;
+    }
+
+    double getMaxEfficiency(int dmu) {
+        var max = Double.NEGATIVE_INFINITY;
+        for (int vertex = 0; vertex < vertexCount; vertex++)
+            max = Math.max(max, efficiencies[vertex * dmuCount + dmu]);
+        return max;
+    }
+
+    double getMinEfficiency(int dmu) {
+        var min = Double.POSITIVE_INFINITY;
+        for (int vertex = 0; vertex < vertexCount; vertex++)
+            min = Math.min(min, efficiencies[vertex * dmuCount + dmu]);
+        return min;
+    }
+
+    /**
+     * gets the minimal difference between the efficiencies of two DMUs
+     * (non-negative if dmuA is necessarily preferred to dmuB)
+     */
+    double getMinDifference(int dmuA, int dmuB) {
+        var min = Double.POSITIVE_INFINITY;
+        for (int vertex = 0; vertex < vertexCount; vertex++)
+            min = Math.min(min, efficiencies[vertex * dmuCount + dmuA] - efficiencies[vertex * dmuCount + dmuB]);
+        return min;
+    }
+
+    /**
+     * gets the maximal difference between the efficiencies of two DMUs
+     * (non-negative if dmuA is possibly preferred to dmuB)
+     */
+    double getMaxDifference(int dmuA, int dmuB) {
+        var max = Double.NEGATIVE_INFINITY;
+        for (int vertex = 0; vertex < vertexCount; vertex++)
+            max = Math.max(max, efficiencies[vertex * dmuCount + dmuA] - efficiencies[vertex * dmuCount + dmuB]);
+        return max;
+    }
+
+    boolean isNecessarilyPreferred(int dmuA, int dmuB) {
+        return getMinDifference(dmuA, dmuB) >= -VDEABase.PREFERENCE_TOLERANCE;
+    }
+
+    boolean isPossiblyPreferred(int dmuA, int dmuB) {
+        return getMaxDifference(dmuA, dmuB) >= -VDEABase.PREFERENCE_TOLERANCE;
+    }
+
+    /**
+     * gets the maximal distance of the DMU to the best one; the distance is a convex function
+     * of the weights, so its maximum is attained at a vertex
+     */
+    double getMaxDistance(int dmu) {
+        var max = 0.0;
+        for (int vertex = 0; vertex < vertexCount; vertex++)
+            max = Math.max(max, getBestEfficiency(vertex) - efficiencies[vertex * dmuCount + dmu]);
+        return max;
+    }
+
+    /**
+     * checks if the DMU is the best one at any vertex, i.e. its minimal distance to the best DMU is 0
+     * (otherwise the minimum of the convex distance function may lie inside the polytope)
+     */
+    boolean isBestAtAnyVertex(int dmu) {
+        for (int vertex = 0; vertex < vertexCount; vertex++)
+            if (efficiencies[vertex * dmuCount + dmu] >= getBestEfficiency(vertex) - EPSILON)
+                return true;
+        return false;
+    }
+
+    private double getBestEfficiency(int vertex) {
+        var best = Double.NEGATIVE_INFINITY;
+        for (int dmu = 0; dmu < dmuCount; dmu++)
+            best = Math.max(best, efficiencies[vertex * dmuCount + dmu]);
+        return best;
+    }
+
+    /**
+     * enumerates the vertices: for every subset of inequality constraints which together with
+     * the equality constraints gives a square system, the system is solved and its solution
+     * is kept if it satisfies all constraints
+     *
+     * @return vertices or null if there are too many subsets or vertices
+     */
+    static List<double[]> enumerateVertices(ProblemData data) {
+        var variablesCount = data.getInputCount() + data.getOutputCount();
+        var equalities = new ArrayList<double[]>();
+        var inequalities = new ArrayList<double[]>();
+        var sumRow = new double[variablesCount + 1];
+        Arrays.fill(sumRow, 1.0);
+        equalities.add(sumRow);
+        for (int i = 0; i < variablesCount; i++) {
+            var row = new double[variablesCount + 1];
+            row[i] = 1.0;
+            inequalities.add(row);
+        }
+        for (var constraint : data.getWeightConstraints()) {
+            var row = new double[variablesCount + 1];
+            for (var element : constraint.getElements().entrySet()) {
+                var index = data.getColumnIndices().get(element.getKey());
+                if (index == null)
+                    throw new IllegalArgumentException("Given input or output name does not exist");
+                row[index] = element.getValue();
+            }
+            row[variablesCount] = constraint.getRhs();
+            switch (constraint.getOperator()) {
+                case EQ -> equalities.add(row);
+                case GEQ -> inequalities.add(row);
+                case LEQ -> {
+                    for (int i = 0; i <= variablesCount; i++)
+                        row[i] = -row[i];
+                    inequalities.add(row);
+                }
+            }
+        }
+
+        var activeCount = variablesCount - equalities.size();
+        if (activeCount < 0 || countSubsets(inequalities.size(), activeCount) > MAX_CANDIDATES)
+            return null;
+        var vertices = new ArrayList<double[]>();
+        var vertexKeys = new HashSet<List<Long>>();
+        var subset = new int[activeCount];
+        for (int i = 0; i < activeCount; i++)
+            subset[i] = i;
+        while (true) {
+            var vertex = solveSystem(equalities, inequalities, subset, variablesCount);
+            if (vertex != null && isFeasible(vertex, equalities, inequalities) && vertexKeys.add(toKey(vertex))) {
+                if (vertices.size() == MAX_VERTICES)
+                    return null;
+                vertices.add(vertex);
+            }
+            if (!nextSubset(subset, inequalities.size()))
+                return vertices;
+        }
+    }
+
+    private static long countSubsets(int n, int k) {
+        var count = 1L;
+        for (int i = 0; i < k; i++) {
+            count = count * (n - i) / (i + 1);
+            if (count > MAX_CANDIDATES)
+                return count;
+        }
+        return count;
+    }
+
+    private static boolean nextSubset(int[] subset, int n) {
+        var k = subset.length;
+        var i = k - 1;
+        while (i >= 0 && subset[i] == n - k + i)
+            i--;
+        if (i < 0)
+            return false;
+        subset[i]++;
+        for (int j = i + 1; j < k; j++)
+            subset[j] = subset[j - 1] + 1;
+        return true;
+    }
+
+    /**
+     * solves the system of the equality constraints and the selected inequality constraints
+     * (treated as equalities) with Gaussian elimination
+     *
+     * @return solution or null if the system is singular
+     */
+    private static double[] solveSystem(List<double[]> equalities,
+                                        List<double[]> inequalities,
+                                        int[] subset,
+                                        int variablesCount) {
+        var rows = new double[variablesCount][];
+        for (int i = 0; i < equalities.size(); i++)
+            rows[i] = equalities.get(i).clone();
+        for (int i = 0; i < subset.length; i++)
+            rows[equalities.size() + i] = inequalities.get(subset[i]).clone();
+        for (int column = 0; column < variablesCount; column++) {
+            var pivot = column;
+            for (int i = column + 1; i < variablesCount; i++)
+                if (Math.abs(rows[i][column]) > Math.abs(rows[pivot][column]))
+                    pivot = i;
+            if (Math.abs(rows[pivot][column]) < EPSILON)
+                return null;
+            var swapped = rows[pivot];
+            rows[pivot] = rows[column];
+            rows[column] = swapped;
+            for (int i = column + 1; i < variablesCount; i++) {
+                var factor = rows[i][column] / rows[column][column];
+                if (factor == 0.0)
+                    continue;
+                for (int k = column; k <= variablesCount; k++)
+                    rows[i][k] -= factor * rows[column][k];
+            }
+        }
+        var solution = new double[variablesCount];
+        for (int i = variablesCount - 1; i >= 0; i--) {
+            var value = rows[i][variablesCount];
+            for (int k = i + 1; k < variablesCount; k++)
+                value -= rows[i][k] * solution[k];
+            solution[i] = value / rows[i][i];
+        }
+        return solution;
+    }
+
+    private static boolean isFeasible(double[] point, List<double[]> equalities, List<double[]> inequalities) {
+        for (var row : equalities)
+            if (Math.abs(evaluate(row, point) - row[point.length]) > EPSILON)
+                return false;
+        for (var row : inequalities)
+            if (evaluate(row, point) < row[point.length] - EPSILON)
+                return false;
+        return true;
+    }
+
+    private static double evaluate(double[] row, double[] point) {
+        var value = 0.0;
+        for (int i = 0; i < point.length; i++)
+            value += row[i] * point[i];
+        return value;
+    }
+
+    /**
+     * rounds the coordinates, so degenerate vertices (defined by many subsets of constraints)
+     * are kept only once
+     */
+    private static List<Long> toKey(double[] vertex) {
+        var key = new ArrayList<Long>(vertex.length);
+        for (var value : vertex)
+            key.add(Math.round(value / EPSILON));
+        return key;
+    }
+}
@@ -0,0 +1,262 @@
+package put.dea.robustness;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of weight samples shared between SMAA analyses.
+ * The weight space depends only on the numbers of inputs and outputs, the efficiency model
+ * and the custom weight constraints, not on the performances, so analyses of many data sets
+ * with the same structure can reuse the samples instead of running the Markov chains again.
+ * <p>
+ * The samples are identified by a fingerprint of the constraints (independent of their order),
+ * the sampling settings, the seed and the range of generated samples.
+ * The most recently used samples are kept in memory; if a directory is given,
+ * all generated samples are also stored there in binary files, which are memory-mapped when read,
+ * so they can be reused by other processes and later runs.
+ * The cache is thread-safe and can be shared by many analyses.
+ */
+public final class WeightSamplesCache {
+    private static final int FILE_MAGIC = 0x44454157;
+    private static final int FILE_VERSION = 1;
+    private static final int HEADER_SIZE = 5 * Integer.BYTES;
+    private static final String FILE_EXTENSION = ".samples";
+
+    private final int maxEntries;
+    private final Path directory;
+    private final Map<String, WeightSamplesCollection> entries;
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates the cache keeping given number of sample sets in memory
+     *
+     * @param maxEntries maximal number of sample sets kept in memory
+     */
+    public WeightSamplesCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * Creates the cache keeping given number of sample sets in memory
+     * and storing all sample sets in files in the given directory
+     *
+     * @param maxEntries maximal number of sample sets kept in memory (0 to use only the files)
+     * @param directory  directory of the sample files (created if it does not exist), null to use only memory
+     */
+    public WeightSamplesCache(int maxEntries, Path directory) {
+        if (maxEntries < 0)
+            throw new IllegalArgumentException("Number of cached sample sets cannot be negative");
+        this.maxEntries = maxEntries;
+        this.directory = directory;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, WeightSamplesCollection> eldest) {
+                return size() > WeightSamplesCache.this.maxEntries;
+            }
+        };
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * gets the maximal number of sample sets kept in memory
+     *
+     * @return maximal number of sample sets
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * gets the directory of the sample files
+     *
+     * @return directory or null if the samples are kept only in memory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * gets the number of sample sets currently kept in memory
+     *
+     * @return number of sample sets
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * removes all sample sets from memory (the sample files are kept)
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * gets the number of requests served from memory
+     *
+     * @return number of memory hits
+     */
+    public long getMemoryHitCount() {
+        return memoryHits.get();
+    }
+
+    /**
+     * gets the number of requests served from the sample files
+     *
+     * @return number of file hits
+     */
+    public long getDiskHitCount() {
+        return diskHits.get();
+    }
+
+    /**
+     * gets the number of requests for which the samples had to be generated
+     *
+     * @return number of misses
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * gets the samples with given key, generating (and storing) them if they are not cached;
+     * the returned samples must not be modified
+     *
+     * @param key       key created by {@link #createKey}
+     * @param generator generates the samples
+     * @return cached or generated samples
+     */
+    WeightSamplesCollection getOrGenerate(String key, Supplier<WeightSamplesCollection> generator) {
+        synchronized (this) {
+            var cached = entries.get(key);
+            if (cached != null) {
+                memoryHits.incrementAndGet();
+                return cached;
+            }
+        }
+        var samples = directory == null ? null : readSamples(getFile(key));
+        if (samples != null) {
+            diskHits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            samples = generator.get();
+            if (directory != null)
+                writeSamples(key, samples);
+        }
+        synchronized (this) {
+            if (maxEntries > 0)
+                entries.put(key, samples);
+        }
+        return samples;
+    }
+
+    /**
+     * creates the key of the samples: a SHA-256 fingerprint of the constraints
+     * (sorted, so it does not depend on the order of constraints) and all settings affecting the samples
+     *
+     * @param constraints        constraints defining the weight space
+     * @param inputCount         number of inputs (the first variables)
+     * @param samplerDescription description of the sampling method and its settings
+     * @param seed               seed of the samples
+     * @param sampleOffset       number of samples generated with the same seed before these samples
+     * @param sampleCount        number of samples
+     * @return key of the samples
+     */
+    static String createKey(ConstraintsSet constraints,
+                            int inputCount,
+                            String samplerDescription,
+                            long seed,
+                            long sampleOffset,
+                            int sampleCount) {
+        var rows = new ArrayList<String>(constraints.lhs().size());
+        for (int i = 0; i < constraints.lhs().size(); i++) {
+            var row = new StringBuilder();
+            for (var value : constraints.lhs().get(i))
+                row.append(Long.toHexString(Double.doubleToLongBits(value + 0.0))).append(',');
+            row.append(constraints.dir().get(i)).append(',')
+                    .append(Long.toHexString(Double.doubleToLongBits(constraints.rhs().get(i) + 0.0)));
+            rows.add(row.toString());
+        }
+        rows.sort(null);
+        var description = String.join(";", rows) + '|' + inputCount + '|' + samplerDescription
+                + '|' + seed + '|' + sampleOffset + '|' + sampleCount;
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(description.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Path getFile(String key) {
+        return directory.resolve(key + FILE_EXTENSION);
+    }
+
+    private WeightSamplesCollection readSamples(Path file) {
+        if (!Files.isRegularFile(file))
+            return null;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE)
+                return null;
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != FILE_MAGIC || buffer.getInt() != FILE_VERSION)
+                return null;
+            var sampleCount = buffer.getInt();
+            var inputCount = buffer.getInt();
+            var outputCount = buffer.getInt();
+            var valueCount = (long) sampleCount * (inputCount + outputCount);
+            if (sampleCount < 0 || inputCount < 0 || outputCount < 0
+                    || buffer.remaining() != valueCount * Double.BYTES)
+                return null;
+            var values = new double[(int) valueCount];
+            buffer.asDoubleBuffer().get(values);
+            return new WeightSamplesCollection(values, inputCount, outputCount);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeSamples(String key, WeightSamplesCollection samples) {
+        var values = samples.getValues();
+        var size = HEADER_SIZE + (long) values.length * Double.BYTES;
+        try {
+            var temporaryFile = Files.createTempFile(directory, key, ".tmp");
+            try (var channel = FileChannel.open(temporaryFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(FILE_MAGIC)
+                        .putInt(FILE_VERSION)
+                        .putInt(samples.getSampleCount())
+                        .putInt(samples.getInputCount())
+                        .putInt(samples.getOutputCount());
+                buffer.asDoubleBuffer().put(values);
+                buffer.force();
+            }
+            Files.move(temporaryFile, getFile(key),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
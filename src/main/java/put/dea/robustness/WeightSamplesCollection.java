@@ -5,29 +5,145 @@ import tech.tablesaw.api.Table;
 
 import java.util.Arrays;
 
+/**
+ * Weight samples stored in a single primitive array, one sample after another.
+ * Each sample occupies {@code inputCount + outputCount} consecutive values,
+ * input weights first, so the weights of a sample are read with a fixed stride.
+ */
 class WeightSamplesCollection {
-    private final Table inputSamples;
-    private final Table outputSamples;
+    private final double[] values;
+    private final int sampleCount;
+    private final int inputCount;
+    private final int outputCount;
+    private volatile Table inputSamples;
+    private volatile Table outputSamples;
 
     public WeightSamplesCollection(double[][] samples, int inputCount) {
-        var tmpInputSamples = Table.create();
-        var tmpOutputSamples = Table.create();
-        for (var sample : samples) {
-            var inSample = Arrays.stream(sample).boxed().limit(inputCount).toList();
-            var outSample = Arrays.stream(sample).boxed().skip(inputCount).toList();
-            tmpInputSamples.addColumns(DoubleColumn.create(tmpInputSamples.columnCount() + "", inSample));
-            tmpOutputSamples.addColumns(DoubleColumn.create(tmpOutputSamples.columnCount() + "", outSample));
+        this.sampleCount = samples.length;
+        this.inputCount = inputCount;
+        this.outputCount = samples.length == 0 ? 0 : samples[0].length - inputCount;
+        this.values = new double[sampleCount * getStride()];
+        for (int sampleIdx = 0; sampleIdx < sampleCount; sampleIdx++) {
+            if (samples[sampleIdx].length != getStride())
+                throw new IllegalArgumentException("All weight samples must have the same length");
+            System.arraycopy(samples[sampleIdx], 0, values, sampleIdx * getStride(), getStride());
         }
-        inputSamples = tmpInputSamples.transpose();
-        outputSamples = tmpOutputSamples.transpose();
     }
 
+    /**
+     * wraps the samples stored one after another in given array, without copying it
+     *
+     * @param values      weights of all samples
+     * @param inputCount  number of input weights in a sample
+     * @param outputCount number of output weights in a sample
+     */
+    WeightSamplesCollection(double[] values, int inputCount, int outputCount) {
+        if (inputCount + outputCount <= 0 || values.length % (inputCount + outputCount) != 0)
+            throw new IllegalArgumentException("All weight samples must have the same length");
+        this.values = values;
+        this.sampleCount = values.length / (inputCount + outputCount);
+        this.inputCount = inputCount;
+        this.outputCount = outputCount;
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    public int getInputCount() {
+        return inputCount;
+    }
+
+    public int getOutputCount() {
+        return outputCount;
+    }
+
+    /**
+     * gets the distance between the beginnings of consecutive samples in the backing array
+     *
+     * @return number of weights (inputs and outputs) in one sample
+     */
+    int getStride() {
+        return inputCount + outputCount;
+    }
+
+    /**
+     * gets the backing array of all samples; it must not be modified
+     *
+     * @return array of samples stored one after another
+     */
+    double[] getValues() {
+        return values;
+    }
+
+    /**
+     * gets the position of the first input weight of the sample in the backing array
+     *
+     * @param sampleIdx index of the sample
+     * @return offset of the input weights
+     */
+    int getInputOffset(int sampleIdx) {
+        return sampleIdx * getStride();
+    }
+
+    /**
+     * gets the position of the first output weight of the sample in the backing array
+     *
+     * @param sampleIdx index of the sample
+     * @return offset of the output weights
+     */
+    int getOutputOffset(int sampleIdx) {
+        return sampleIdx * getStride() + inputCount;
+    }
+
+    public double getInputWeight(int sampleIdx, int inputIdx) {
+        return values[getInputOffset(sampleIdx) + inputIdx];
+    }
+
+    public double getOutputWeight(int sampleIdx, int outputIdx) {
+        return values[getOutputOffset(sampleIdx) + outputIdx];
+    }
+
+    public double[] getInputSample(int sampleIdx) {
+        var from = getInputOffset(sampleIdx);
+        return Arrays.copyOfRange(values, from, from + inputCount);
+    }
+
+    public double[] getOutputSample(int sampleIdx) {
+        var from = getOutputOffset(sampleIdx);
+        return Arrays.copyOfRange(values, from, from + outputCount);
+    }
+
+    /**
+     * gets the input weights as a table, created on first use
+     *
+     * @return table with samples in rows and inputs in columns
+     */
     public Table getInputSamples() {
+        if (inputSamples == null)
+            inputSamples = createTable(0, inputCount);
         return inputSamples;
     }
 
+    /**
+     * gets the output weights as a table, created on first use
+     *
+     * @return table with samples in rows and outputs in columns
+     */
     public Table getOutputSamples() {
+        if (outputSamples == null)
+            outputSamples = createTable(inputCount, outputCount);
         return outputSamples;
     }
-}
 
+    private Table createTable(int firstWeight, int weightCount) {
+        var table = Table.create();
+        for (int weight = 0; weight < weightCount; weight++) {
+            var column = new double[sampleCount];
+            for (int sampleIdx = 0; sampleIdx < sampleCount; sampleIdx++)
+                column[sampleIdx] = values[sampleIdx * getStride() + firstWeight + weight];
+            table.addColumns(DoubleColumn.create(String.valueOf(weight), column));
+        }
+        return table;
+    }
+}
@@ -0,0 +1,25 @@
+package put.dea.robustness;
+
+/**
+ * Defines how the weight vectors are sampled in SMAA analyses
+ */
+public enum WeightSamplingMethod {
+    /**
+     * weights are always sampled with hit-and-run Markov chains
+     */
+    HIT_AND_RUN,
+    /**
+     * weights are sampled with hit-and-run Markov chains started in the Chebyshev center of the weight space,
+     * which is rounded (transformed with the covariance estimated by short pilot chains) before sampling,
+     * so consecutive samples are separated by a number of steps linear (instead of cubic) in the dimension;
+     * suitable for narrow weight spaces created by tight weight constraints
+     */
+    ROUNDED_HIT_AND_RUN,
+    /**
+     * weights are sampled exactly and independently (uniformly from a simplex or a product of simplices)
+     * when the weight space is not restricted by custom weight constraints,
+     * and with hit-and-run Markov chains otherwise;
+     * positions of imprecise performances within their ranges are drawn directly from the uniform distribution
+     */
+    AUTOMATIC
+}
@@ -3,7 +3,10 @@ package put.dea.robustness;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class CCRExtremeEfficienciesTest extends CCRTestBase {
     private static CCRExtremeEfficiencies extremeEfficiencies;
@@ -66,4 +69,87 @@ public class CCRExtremeEfficienciesTest extends CCRTestBase {
                 .stream().mapToDouble(x -> x).toArray();
         assertArrayEquals(expected, actual, 1e-6);
     }
+
+    @Test
+    public void maxEfficiencyInThreadPoolTest() {
+        var expected = new double[]{
+                1.0, 0.962982, 0.554985, 0.922027, 0.779551, 0.282738,
+                1.0, 0.260742, 0.954653, 0.383013, 0.188988};
+
+        addWeightConstraints();
+        try (var strategy = ExecutionStrategy.threadPool(4)) {
+            var parallelExtremeEfficiencies = new CCRExtremeEfficiencies();
+            parallelExtremeEfficiencies.setExecutionStrategy(strategy);
+            for (int repetition = 0; repetition < 3; repetition++) {
+                var actual = parallelExtremeEfficiencies.maxEfficiencyForAll(data)
+                        .stream().mapToDouble(x -> x).toArray();
+                assertArrayEquals(expected, actual, 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void nestedCallsInThreadPoolTest() {
+        var expected = new double[]{1.0, 1.0, 0.591209, 1.0, 0.799801,
+                0.300036, 1.0, 0.270787, 1.0, 0.409183, 0.258475};
+
+        try (var strategy = ExecutionStrategy.threadPool(2)) {
+            var parallelExtremeEfficiencies = new CCRExtremeEfficiencies();
+            parallelExtremeEfficiencies.setExecutionStrategy(strategy);
+            var results = strategy.map(4, idx -> parallelExtremeEfficiencies.maxEfficiencyForAll(data));
+            for (var result : results)
+                assertArrayEquals(expected, result.stream().mapToDouble(x -> x).toArray(), 1e-6);
+        }
+    }
+
+    @Test
+    public void alternatingMaxAndSuperEfficiencyTest() {
+        var expectedMax = new double[]{1.0, 1.0, 0.591209, 1.0, 0.799801,
+                0.300036, 1.0, 0.270787, 1.0, 0.409183, 0.258475};
+        var expectedSuper = new double[]{
+                2.277949, 1.123783, 0.591209, 1.0399456, 0.799801, 0.300036,
+                2.0, 0.270787, 1.745932, 0.409183, 0.258475};
+
+        for (int i = 0; i < data.getDmuCount(); i++) {
+            assertEquals(expectedSuper[i], extremeEfficiencies.superEfficiency(data, i), 1e-6);
+            assertEquals(expectedMax[i], extremeEfficiencies.maxEfficiency(data, i), 1e-6);
+        }
+    }
+
+    @Test
+    public void superEfficiencyAfterSolverBackendChangeTest() {
+        var expected = new double[]{
+                2.277949, 1.123783, 0.591209, 1.0399456, 0.799801, 0.300036,
+                2.0, 0.270787, 1.745932, 0.409183, 0.258475};
+
+        var efficiencies = new CCRExtremeEfficiencies();
+        for (var solverBackend : new SolverBackend[]{SolverBackend.AUTOMATIC, SolverBackend.SCIP}) {
+            efficiencies.setSolverBackend(solverBackend);
+            var actual = efficiencies.superEfficiencyForAll(data)
+                    .stream().mapToDouble(x -> x).toArray();
+            assertArrayEquals(expected, actual, 1e-6, solverBackend.name());
+        }
+    }
+
+    @Test
+    public void minEfficiencyForDifferentlyScaledFactorsTest() {
+        var inputScales = new double[]{1e-4, 1, 1e5, 1};
+        var outputScales = new double[]{1e6, 1e-3};
+        var inputs = new double[data.getDmuCount()][data.getInputCount()];
+        var outputs = new double[data.getDmuCount()][data.getOutputCount()];
+        for (int dmu = 0; dmu < data.getDmuCount(); dmu++) {
+            for (int i = 0; i < data.getInputCount(); i++)
+                inputs[dmu][i] = data.getInputMatrix().get(dmu, i) * inputScales[i];
+            for (int r = 0; r < data.getOutputCount(); r++)
+                outputs[dmu][r] = data.getOutputMatrix().get(dmu, r) * outputScales[r];
+        }
+        var scaledData = new ProblemData(inputs, outputs,
+                List.of("i1", "i2", "i3", "i4"), List.of("o1", "o2"));
+
+        var expected = extremeEfficiencies.minEfficiencyForAll(data)
+                .stream().mapToDouble(x -> x).toArray();
+        var actual = extremeEfficiencies.minEfficiencyForAll(scaledData)
+                .stream().mapToDouble(x -> x).toArray();
+        assertArrayEquals(expected, actual, 1e-6);
+    }
 }
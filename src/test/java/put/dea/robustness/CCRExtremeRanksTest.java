@@ -48,4 +48,23 @@ public class CCRExtremeRanksTest extends CCRTestBase {
         var actual = extremeRanks.minRankForAll(data);
         assertIterableEquals(expected, actual);
     }
+
+    @Test
+    public void ranksForDifferentlyScaledFactorsTest() {
+        var inputScales = new double[]{1e-4, 1, 1e5, 1};
+        var outputScales = new double[]{1e6, 1e-3};
+        var inputs = new double[data.getDmuCount()][data.getInputCount()];
+        var outputs = new double[data.getDmuCount()][data.getOutputCount()];
+        for (int dmu = 0; dmu < data.getDmuCount(); dmu++) {
+            for (int i = 0; i < data.getInputCount(); i++)
+                inputs[dmu][i] = data.getInputMatrix().get(dmu, i) * inputScales[i];
+            for (int r = 0; r < data.getOutputCount(); r++)
+                outputs[dmu][r] = data.getOutputMatrix().get(dmu, r) * outputScales[r];
+        }
+        var scaledData = new ProblemData(inputs, outputs,
+                List.of("i1", "i2", "i3", "i4"), List.of("o1", "o2"));
+
+        assertIterableEquals(extremeRanks.maxRankForAll(data), extremeRanks.maxRankForAll(scaledData));
+        assertIterableEquals(extremeRanks.minRankForAll(data), extremeRanks.minRankForAll(scaledData));
+    }
 }
@@ -5,7 +5,10 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CCRPreferenceRelationsTest extends CCRTestBase {
     private static CCRPreferenceRelations preferenceRelations;
@@ -92,4 +95,57 @@ public class CCRPreferenceRelationsTest extends CCRTestBase {
         var actual = preferenceRelations.checkPossiblePreferenceForAll(data);
         assertIterableEquals(expected, actual);
     }
+
+    @Test
+    public void screenedRelationsEqualToModelResults() {
+        addWeightConstraints();
+        var necessary = preferenceRelations.checkNecessaryPreferenceForAll(data);
+        var possible = preferenceRelations.checkPossiblePreferenceForAll(data);
+        for (int subject = 0; subject < data.getDmuCount(); subject++) {
+            for (int relative = 0; relative < data.getDmuCount(); relative++) {
+                assertEquals(preferenceRelations.isNecessarilyPreferred(data, subject, relative),
+                        necessary.get(subject).get(relative));
+                assertEquals(preferenceRelations.isPossiblyPreferred(data, subject, relative),
+                        possible.get(subject).get(relative));
+            }
+        }
+    }
+
+    @Test
+    public void necessaryPreferenceInferredFromTransitivity() {
+        var relations = new CCRPreferenceRelations();
+        var actual = relations.checkNecessaryPreferenceForAll(data);
+        for (int subject = 0; subject < data.getDmuCount(); subject++)
+            for (int relative = 0; relative < data.getDmuCount(); relative++)
+                assertEquals(relations.isNecessarilyPreferred(data, subject, relative),
+                        actual.get(subject).get(relative));
+        assertTrue(relations.getSavedModelCount() > data.getDmuCount());
+    }
+
+    @Test
+    public void necessaryPreferenceWithinToleranceNotInferredFromTransitivity() {
+        var inputs = new double[][]{
+                new double[]{1.0, 1.0},
+                new double[]{1.0, 1.0},
+                new double[]{1.0, 1.0},
+                new double[]{2.0, 2.0}
+        };
+        var outputs = new double[][]{
+                new double[]{1.0},
+                new double[]{1.0 + 6e-11},
+                new double[]{1.0 + 1.2e-10},
+                new double[]{1.0}
+        };
+        var closeData = new ProblemData(inputs, outputs, List.of("i1", "i2"), List.of("o1"));
+
+        var relations = new CCRPreferenceRelations();
+        var actual = relations.checkNecessaryPreferenceForAll(closeData);
+        for (int subject = 0; subject < closeData.getDmuCount(); subject++)
+            for (int relative = 0; relative < closeData.getDmuCount(); relative++)
+                assertEquals(relations.isNecessarilyPreferred(closeData, subject, relative),
+                        actual.get(subject).get(relative));
+        assertTrue(actual.get(0).get(1));
+        assertTrue(actual.get(1).get(2));
+        assertFalse(actual.get(0).get(2));
+    }
 }
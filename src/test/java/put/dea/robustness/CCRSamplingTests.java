@@ -3,10 +3,15 @@ package put.dea.robustness;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.Table;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 public class CCRSamplingTests extends CCRTestBase {
     private static CCRSmaaBase sampling;
@@ -71,4 +76,196 @@ public class CCRSamplingTests extends CCRTestBase {
         }
     }
 
+    @Test
+    public void checkMultipleChainsAreReproducible() {
+        var first = new CCRSmaaEfficiency(11, 10, SmaaTestUtils.getRandom());
+        var second = new CCRSmaaEfficiency(11, 10, SmaaTestUtils.getRandom());
+        first.setNumberOfChains(4);
+        second.setNumberOfChains(4);
+
+        WeightSamplesCollection firstSamples;
+        try (var strategy = ExecutionStrategy.threadPool(4)) {
+            first.setExecutionStrategy(strategy);
+            firstSamples = first.generateWeightSamples(data);
+        }
+        var secondSamples = second.generateWeightSamples(data);
+        Assertions.assertEquals(11, firstSamples.getInputSamples().rowCount());
+        for (int sampleIdx = 0; sampleIdx < 11; sampleIdx++) {
+            Assertions.assertArrayEquals(firstSamples.getInputSample(sampleIdx), secondSamples.getInputSample(sampleIdx));
+            Assertions.assertArrayEquals(firstSamples.getOutputSample(sampleIdx), secondSamples.getOutputSample(sampleIdx));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> first.setNumberOfChains(0));
+    }
+
+    @Test
+    public void checkExactSamplesWithoutWeightConstraints() {
+        var exactSampling = new CCRSmaaEfficiency(sampling.getNumberOfSamples(), 10, SmaaTestUtils.getRandom());
+        exactSampling.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        var samples = exactSampling.generateWeightSamples(data);
+        verifySizeAndBasicConstraints(samples);
+    }
+
+    @Test
+    public void checkExactSamplingIsNotUsedWithWeightConstraints() {
+        var constraints = new ConstraintsSet(
+                new ArrayList<>(List.of(new double[]{1, 0}, new double[]{0, 1}, new double[]{1, 1})),
+                new ArrayList<>(List.of(">=", ">=", "=")),
+                new ArrayList<>(List.of(0.0, 0.0, 1.0)));
+        Assertions.assertNotNull(SimplexProductSampler.fromConstraints(constraints, 2));
+        constraints.merge(new ConstraintsSet(List.of(new double[]{1, -2}), List.of(">="), List.of(0.0)));
+        Assertions.assertNull(SimplexProductSampler.fromConstraints(constraints, 2));
+
+        addWeightConstraints();
+        var exactSampling = new CCRSmaaEfficiency(sampling.getNumberOfSamples(), 10, SmaaTestUtils.getRandom());
+        exactSampling.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        var samples = exactSampling.generateWeightSamples(data);
+        verifySizeAndBasicConstraints(samples);
+        verifyWeightConstrains(samples);
+    }
+
+    @Test
+    public void checkRoundedSamplesWithWeightConstraints() {
+        addWeightConstraints();
+        var roundedSampling = new CCRSmaaEfficiency(sampling.getNumberOfSamples(), 10, SmaaTestUtils.getRandom());
+        roundedSampling.setWeightSamplingMethod(WeightSamplingMethod.ROUNDED_HIT_AND_RUN);
+        roundedSampling.setNumberOfChains(2);
+        var samples = roundedSampling.generateWeightSamples(data);
+        verifySizeAndBasicConstraints(samples);
+        verifyWeightConstrains(samples);
+    }
+
+    @Test
+    public void checkRoundedSamplerFindsChebyshevCenterAndSamplesUniformly() {
+        var simplex = RoundedHitAndRunSampler.fromConstraints(new ConstraintsSet(
+                new ArrayList<>(List.of(new double[]{1, 0}, new double[]{0, 1}, new double[]{1, 1})),
+                new ArrayList<>(List.of(">=", ">=", "=")),
+                new ArrayList<>(List.of(0.0, 0.0, 1.0))), 2);
+        Assertions.assertEquals(1, simplex.getDimension());
+        Assertions.assertArrayEquals(new double[]{0.5, 0.5}, simplex.getChebyshevCenter(), 1e-9);
+        Assertions.assertEquals(Math.sqrt(0.5), simplex.getChebyshevRadius(), 1e-9);
+
+        var narrowTriangle = RoundedHitAndRunSampler.fromConstraints(new ConstraintsSet(
+                new ArrayList<>(List.of(new double[]{1, 0}, new double[]{0, 1}, new double[]{1, 1000})),
+                new ArrayList<>(List.of(">=", ">=", "<=")),
+                new ArrayList<>(List.of(0.0, 0.0, 1.0))), 2);
+        Assertions.assertEquals(2, narrowTriangle.getDimension());
+        var samples = narrowTriangle.generateSamples(SmaaTestUtils.getRandom(), 20000,
+                SamplingSchedule.linear(1.0));
+        var mean = new double[2];
+        for (var sample : samples) {
+            Assertions.assertTrue(sample[0] >= -1e-12 && sample[1] >= -1e-12);
+            Assertions.assertTrue(sample[0] + 1000 * sample[1] <= 1 + 1e-12);
+            mean[0] += sample[0] / samples.length;
+            mean[1] += sample[1] / samples.length;
+        }
+        Assertions.assertEquals(1.0 / 3, mean[0], 0.01);
+        Assertions.assertEquals(1.0 / 3000, mean[1], 1e-5);
+    }
+
+    @Test
+    public void checkSamplingSchedule() {
+        Assertions.assertEquals(27, SamplingSchedule.cubic(1.0).getThinning(3));
+        Assertions.assertEquals(1.0, SamplingSchedule.cubic(1.0).getCubicCoefficient(3));
+        Assertions.assertEquals(6, SamplingSchedule.linear(2.0).getThinning(3));
+        Assertions.assertEquals(5, SamplingSchedule.constant(5).getThinning(3));
+        Assertions.assertEquals(10, SamplingSchedule.constant(5).withBurnIn(10).getBurnIn());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SamplingSchedule.linear(0.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SamplingSchedule.cubic(1.0).withBurnIn(-1));
+    }
+
+    @Test
+    public void checkChainDiagnostics() {
+        var roundedSampling = new CCRSmaaRanks(2000, SmaaTestUtils.getRandom());
+        roundedSampling.setWeightSamplingMethod(WeightSamplingMethod.ROUNDED_HIT_AND_RUN);
+        roundedSampling.setSamplingSchedule(SamplingSchedule.linear(2.0).withBurnIn(50));
+        roundedSampling.setNumberOfChains(4);
+        roundedSampling.setChainDiagnosticsEnabled(true);
+        var result = roundedSampling.rankDistribution(data);
+        var diagnostics = result.diagnostics();
+        Assertions.assertEquals(roundedSampling.getChainDiagnostics(), diagnostics);
+        Assertions.assertTrue(diagnostics.effectiveSampleSize() > 0 && diagnostics.effectiveSampleSize() <= 2000);
+        Assertions.assertTrue(diagnostics.autocorrelation() < 1.0);
+        Assertions.assertTrue(diagnostics.rHat() < 1.1);
+
+        var exactSampling = new CCRSmaaRanks(2000, SmaaTestUtils.getRandom());
+        exactSampling.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        Assertions.assertNull(exactSampling.rankDistribution(data).diagnostics());
+        exactSampling.setChainDiagnosticsEnabled(true);
+        var independent = exactSampling.rankDistribution(data).diagnostics();
+        Assertions.assertTrue(independent.effectiveSampleSize() > 1000);
+        Assertions.assertTrue(independent.autocorrelation() < 0.1);
+        Assertions.assertTrue(Double.isNaN(independent.rHat()));
+
+        var separatedChains = new double[40][];
+        for (int sampleIdx = 0; sampleIdx < separatedChains.length; sampleIdx++)
+            separatedChains[sampleIdx] = new double[]{(sampleIdx < 20 ? 0.0 : 10.0) + sampleIdx % 2, 1.0};
+        var separated = ChainDiagnostics.calculate(new WeightSamplesCollection(separatedChains, 1),
+                new int[]{20, 20});
+        Assertions.assertTrue(separated.rHat() > 2.0);
+        Assertions.assertTrue(separated.autocorrelation() > 0.9);
+    }
+
+    @Test
+    public void checkCachedSamplesAreReused(@TempDir Path directory) {
+        var cache = new WeightSamplesCache(1, directory);
+        var cached = new CCRSmaaEfficiency(10, 10, new Random());
+        cached.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        cached.setWeightSamplesCache(cache, SmaaTestUtils.RANDOM_SEED);
+        var samples = cached.generateWeightSamples(data);
+        Assertions.assertSame(samples, cached.generateWeightSamples(data));
+        Assertions.assertEquals(1, cache.getMissCount());
+        Assertions.assertEquals(1, cache.getMemoryHitCount());
+
+        var notCached = new CCRSmaaEfficiency(10, 10, SmaaTestUtils.getRandom());
+        notCached.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        Assertions.assertArrayEquals(notCached.generateWeightSamples(data).getValues(), samples.getValues());
+
+        var fileCache = new WeightSamplesCache(0, directory);
+        cached.setWeightSamplesCache(fileCache, SmaaTestUtils.RANDOM_SEED);
+        Assertions.assertArrayEquals(samples.getValues(), cached.generateWeightSamples(data).getValues());
+        Assertions.assertEquals(1, fileCache.getDiskHitCount());
+        Assertions.assertEquals(0, fileCache.getMissCount());
+        Assertions.assertEquals(0, fileCache.size());
+
+        cached.setWeightSamplesCache(cache, SmaaTestUtils.RANDOM_SEED);
+        addWeightConstraints();
+        var constrained = cached.generateWeightSamples(data);
+        verifyWeightConstrains(constrained);
+        Assertions.assertEquals(2, cache.getMissCount());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void checkCacheKeyDoesNotDependOnConstraintsOrder() {
+        var first = new ConstraintsSet(
+                new ArrayList<>(List.of(new double[]{1, 0}, new double[]{0, 1}, new double[]{1, 1})),
+                new ArrayList<>(List.of(">=", ">=", "=")),
+                new ArrayList<>(List.of(0.0, 0.0, 1.0)));
+        var second = new ConstraintsSet(
+                new ArrayList<>(List.of(new double[]{1, 1}, new double[]{0, 1}, new double[]{1, 0})),
+                new ArrayList<>(List.of("=", ">=", ">=")),
+                new ArrayList<>(List.of(1.0, 0.0, 0.0)));
+        var key = WeightSamplesCache.createKey(first, 1, "HIT_AND_RUN:1", 1L, 0, 10);
+        Assertions.assertEquals(key, WeightSamplesCache.createKey(second, 1, "HIT_AND_RUN:1", 1L, 0, 10));
+        Assertions.assertNotEquals(key, WeightSamplesCache.createKey(first, 1, "HIT_AND_RUN:1", 2L, 0, 10));
+        Assertions.assertNotEquals(key, WeightSamplesCache.createKey(first, 1, "HIT_AND_RUN:1", 1L, 10, 10));
+        Assertions.assertNotEquals(key, WeightSamplesCache.createKey(first, 1, "HIT_AND_RUN:2", 1L, 0, 10));
+    }
+
+    @Test
+    public void checkFlatSamplesAccessors() {
+        var samples = new WeightSamplesCollection(new double[][]{
+                new double[]{0.2, 0.8, 1.0},
+                new double[]{0.6, 0.4, 1.0}
+        }, 2);
+        Assertions.assertEquals(2, samples.getSampleCount());
+        Assertions.assertEquals(1, samples.getOutputCount());
+        Assertions.assertEquals(0.4, samples.getInputWeight(1, 1));
+        Assertions.assertEquals(1.0, samples.getOutputWeight(1, 0));
+        Assertions.assertArrayEquals(new double[]{0.6, 0.4}, samples.getInputSample(1));
+        Assertions.assertArrayEquals(new double[]{0.2, 0.6}, samples.getInputSamples().doubleColumn(0).asDoubleArray());
+        Assertions.assertArrayEquals(new double[]{1.0, 1.0}, samples.getOutputSamples().doubleColumn(0).asDoubleArray());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new WeightSamplesCollection(new double[][]{new double[]{1, 0}, new double[]{1}}, 1));
+    }
 }
@@ -1,9 +1,11 @@
 package put.dea.robustness;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.stream.IntStream;
 
 import static put.dea.robustness.TestUtils.tranformTableToArray;
@@ -41,8 +43,8 @@ public class CCRSmaaBaseTests extends CCRTestBase {
         };
         var samples = new WeightSamplesCollection(samplesArray, data.getInputCount());
         var actualEfficiencies = efficiency.calculateEfficiencyMatrixForSamples(
-                data.getInputData(),
-                data.getOutputData(),
+                data.getInputMatrix(),
+                data.getOutputMatrix(),
                 samples);
         assert2DDoubleArrayEquals(efficiencies, tranformTableToArray(actualEfficiencies));
     }
@@ -72,4 +74,58 @@ public class CCRSmaaBaseTests extends CCRTestBase {
         assert2DDoubleArrayEquals(expected, actualEfficiencies);
     }
 
+    @Test
+    public void verifyKernelTilesMatchDotProducts() {
+        var random = SmaaTestUtils.getRandom();
+        var dmuCount = EfficiencyKernel.DMU_TILE_SIZE + 3;
+        var sampleCount = EfficiencyKernel.SAMPLE_TILE_SIZE * 2 + 5;
+        var inputRows = new double[dmuCount][2];
+        var outputRows = new double[dmuCount][1];
+        for (int dmu = 0; dmu < dmuCount; dmu++) {
+            inputRows[dmu] = new double[]{random.nextDouble() + 0.1, random.nextDouble() + 0.1};
+            outputRows[dmu] = new double[]{random.nextDouble()};
+        }
+        var weightRows = new double[sampleCount][];
+        for (int sample = 0; sample < sampleCount; sample++)
+            weightRows[sample] = new double[]{random.nextDouble(), random.nextDouble(), random.nextDouble()};
+        var inputs = PerformanceMatrix.fromRows(inputRows, List.of("i1", "i2"));
+        var outputs = PerformanceMatrix.fromRows(outputRows, List.of("o1"));
+        var weights = new WeightSamplesCollection(weightRows, 2);
+
+        var ratios = EfficiencyKernel.RATIO.calculate(inputs, outputs, weights, 1, sampleCount);
+        var sums = EfficiencyKernel.ADDITIVE.calculate(inputs, outputs, weights, 1, sampleCount);
+        for (int sample = 1; sample < sampleCount; sample++) {
+            for (int dmu = 0; dmu < dmuCount; dmu++) {
+                var w = weightRows[sample];
+                var inputsValue = 0.0 + inputRows[dmu][0] * w[0] + inputRows[dmu][1] * w[1];
+                var outputsValue = 0.0 + outputRows[dmu][0] * w[2];
+                Assertions.assertEquals(outputsValue / inputsValue, ratios[(sample - 1) * dmuCount + dmu]);
+                Assertions.assertEquals(inputsValue + outputsValue, sums[(sample - 1) * dmuCount + dmu]);
+            }
+        }
+    }
+
+    @Test
+    public void verifyVectorKernelsMatchScalarLoops() {
+        var vectorLoops = ArrayKernels.getVectorApiLoops();
+        Assumptions.assumeTrue(vectorLoops != null);
+        var random = SmaaTestUtils.getRandom();
+        var values = random.doubles(37).toArray();
+        var scalarSums = random.doubles(40).toArray();
+        var vectorSums = scalarSums.clone();
+        ArrayKernels.addScaledScalar(values, 1, 0.37, scalarSums, 3, 35);
+        vectorLoops.addScaled(values, 1, 0.37, vectorSums, 3, 35);
+        Assertions.assertArrayEquals(scalarSums, vectorSums);
+
+        var scalarWins = new long[values.length + 2];
+        var scalarTies = new long[values.length + 2];
+        var vectorWins = new long[values.length + 2];
+        var vectorTies = new long[values.length + 2];
+        for (var reference : values) {
+            ArrayKernels.countWinsAndTiesScalar(values, 0, values.length, reference, scalarWins, scalarTies, 2);
+            vectorLoops.countWinsAndTies(values, 0, values.length, reference, vectorWins, vectorTies, 2);
+        }
+        Assertions.assertArrayEquals(scalarWins, vectorWins);
+        Assertions.assertArrayEquals(scalarTies, vectorTies);
+    }
 }
@@ -32,4 +32,45 @@ public class CCRSmaaPreferenceRelationsTests extends CCRTestBase {
         var result = TestUtils.tranformTableToArray(preferenceRelations.peoi(data));
         Assertions.assertArrayEquals(peoi, result);
     }
+
+    @Test
+    public void verifyTiledCountsMatchPairwiseComparisons() {
+        var random = SmaaTestUtils.getRandom();
+        var dmuCount = 70;
+        var samples = new double[25][dmuCount];
+        for (var sample : samples) {
+            for (int dmu = 0; dmu < dmuCount; dmu++)
+                sample[dmu] = random.nextInt(5) / 4.0;
+        }
+        var first = new SmaaPreferenceRelationsBase(dmuCount, ExecutionStrategy.threadPool(3));
+        var second = new SmaaPreferenceRelationsBase(dmuCount);
+        for (int sampleIdx = 0; sampleIdx < samples.length; sampleIdx++)
+            (sampleIdx % 2 == 0 ? first : second).addSample(samples[sampleIdx].clone());
+        first.merge(second);
+
+        var actual = TestUtils.tranformTableToArray(first.getPeois());
+        for (int dmuA = 0; dmuA < dmuCount; dmuA++) {
+            for (int dmuB = 0; dmuB < dmuCount; dmuB++) {
+                var count = 0;
+                for (var sample : samples) {
+                    if (sample[dmuA] - sample[dmuB] >= 0)
+                        count++;
+                }
+                Assertions.assertEquals((double) count / samples.length, actual[dmuA][dmuB]);
+            }
+        }
+    }
+
+    @Test
+    public void verifyHalfWidthIgnoresDiagonal() {
+        var single = new SmaaPreferenceRelationsBase(1);
+        Assertions.assertEquals(1.0, single.getMaxHalfWidth());
+        single.addSample(new double[]{0.5});
+        Assertions.assertEquals(0.0, single.getMaxHalfWidth());
+
+        var pair = new SmaaPreferenceRelationsBase(2);
+        for (int sampleIdx = 0; sampleIdx < 10; sampleIdx++)
+            pair.addSample(new double[]{sampleIdx % 2, 0.5});
+        Assertions.assertEquals(SmaaAccumulator.calculateHalfWidth(5, 10), pair.getMaxHalfWidth(), 1e-12);
+    }
 }
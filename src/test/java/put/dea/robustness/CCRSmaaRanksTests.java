@@ -1,8 +1,11 @@
 package put.dea.robustness;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.stream.IntStream;
+
 public class CCRSmaaRanksTests extends CCRTestBase {
     private static CCRSmaaRanks ranks;
 
@@ -33,4 +36,78 @@ public class CCRSmaaRanksTests extends CCRTestBase {
 
 
     }
+
+    @Test
+    public void verifyRetainedEfficienciesMatchMergedAccumulators() {
+        var numberOfSamples = 20;
+        var smaaRanks = new CCRSmaaRanks(numberOfSamples, SmaaTestUtils.getRandom());
+        Assertions.assertFalse(smaaRanks.isRetainEfficiencyMatrix());
+        smaaRanks.setRetainEfficiencyMatrix(true);
+        var actual = smaaRanks.rankDistribution(data);
+
+        var efficiencies = smaaRanks.getRetainedEfficiencyMatrix();
+        Assertions.assertEquals(data.getDmuCount(), efficiencies.rowCount());
+        Assertions.assertEquals(numberOfSamples, efficiencies.columnCount());
+
+        var firstHalf = new SmaaRankBase(data.getDmuCount());
+        var secondHalf = new SmaaRankBase(data.getDmuCount());
+        for (int sampleIdx = 0; sampleIdx < numberOfSamples; sampleIdx++) {
+            var accumulator = sampleIdx < numberOfSamples / 2 ? firstHalf : secondHalf;
+            accumulator.addSample(efficiencies.doubleColumn(sampleIdx).asDoubleArray());
+        }
+        firstHalf.merge(secondHalf);
+        Assertions.assertEquals(numberOfSamples, firstHalf.getSampleCount());
+        SmaaTestUtils.verifyExpectedValuesAndDistribution(
+                TestUtils.tranformTableToArray(firstHalf.getDistribution()),
+                firstHalf.getExpectedRanks().stream().mapToDouble(x -> x).toArray(),
+                actual);
+    }
+
+    @Test
+    public void verifyAdaptiveSamplingStopsAtTargetHalfWidth() {
+        var numberOfSamples = 100000;
+        var smaaRanks = new CCRSmaaRanks(numberOfSamples, SmaaTestUtils.getRandom());
+        smaaRanks.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        var fixed = smaaRanks.rankDistribution(data);
+        Assertions.assertEquals(numberOfSamples, fixed.numberOfSamples());
+        Assertions.assertEquals(numberOfSamples, smaaRanks.getUsedNumberOfSamples());
+
+        smaaRanks.setTargetHalfWidth(0.05);
+        smaaRanks.setSamplesPerBatch(100);
+        var adaptive = smaaRanks.rankDistribution(data);
+        Assertions.assertTrue(adaptive.numberOfSamples() < numberOfSamples);
+        Assertions.assertEquals(0, adaptive.numberOfSamples() % 100);
+        Assertions.assertEquals(smaaRanks.getUsedNumberOfSamples(), adaptive.numberOfSamples());
+        Assertions.assertTrue(adaptive.halfWidth() <= 0.05);
+        Assertions.assertEquals(smaaRanks.getAchievedHalfWidth(), adaptive.halfWidth());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> smaaRanks.setTargetHalfWidth(1.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> smaaRanks.setSamplesPerBatch(0));
+    }
+
+    @Test
+    public void verifyRankTieHandling() {
+        var efficiencies = new double[]{0.5, 1.0, 0.5, 0.2, 1.0, 0.5};
+        Assertions.assertArrayEquals(new int[]{2, 0, 3, 5, 1, 4},
+                new SmaaRankBase(6).calculateRanks(efficiencies));
+        Assertions.assertArrayEquals(new int[]{2, 0, 2, 5, 0, 2},
+                new SmaaRankBase(6, RankTieHandling.SHARED_BEST).calculateRanks(efficiencies));
+        Assertions.assertArrayEquals(new int[]{4, 1, 4, 5, 1, 4},
+                new SmaaRankBase(6, RankTieHandling.SHARED_WORST).calculateRanks(efficiencies));
+    }
+
+    @Test
+    public void verifyRanksOfManyDmusMatchStableSort() {
+        var random = SmaaTestUtils.getRandom();
+        var efficiencies = new double[100];
+        for (int dmu = 0; dmu < efficiencies.length; dmu++)
+            efficiencies[dmu] = random.nextInt(30) / 10.0;
+        var expectedOrder = IntStream.range(0, efficiencies.length)
+                .boxed()
+                .sorted((a, b) -> Double.compare(-efficiencies[a], -efficiencies[b]))
+                .mapToInt(x -> x)
+                .toArray();
+        var ranks = new SmaaRankBase(efficiencies.length).calculateRanks(efficiencies);
+        for (int position = 0; position < expectedOrder.length; position++)
+            Assertions.assertEquals(position, ranks[expectedOrder[position]]);
+    }
 }
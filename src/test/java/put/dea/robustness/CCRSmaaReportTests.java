@@ -0,0 +1,55 @@
+package put.dea.robustness;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+public class CCRSmaaReportTests extends CCRTestBase {
+    private static final int NUMBER_OF_SAMPLES = 200;
+
+    @Test
+    public void verifyReportMatchesSeparateAnalyses() {
+        var smaaReport = new CCRSmaaReport(NUMBER_OF_SAMPLES, SmaaTestUtils.NUMBER_OF_INTERVALS,
+                SmaaTestUtils.getRandom());
+        smaaReport.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        var report = smaaReport.report(data);
+        Assertions.assertNull(report.distanceDistribution());
+
+        var efficiency = new CCRSmaaEfficiency(NUMBER_OF_SAMPLES, SmaaTestUtils.NUMBER_OF_INTERVALS,
+                SmaaTestUtils.getRandom());
+        efficiency.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        verifySameResult(efficiency.efficiencyDistribution(data), report.efficiencyDistribution());
+
+        var ranks = new CCRSmaaRanks(NUMBER_OF_SAMPLES, SmaaTestUtils.getRandom());
+        ranks.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        verifySameResult(ranks.rankDistribution(data), report.rankDistribution());
+
+        var preferenceRelations = new CCRSmaaPreferenceRelations(NUMBER_OF_SAMPLES, SmaaTestUtils.getRandom());
+        preferenceRelations.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        Assertions.assertArrayEquals(TestUtils.tranformTableToArray(preferenceRelations.peoi(data)),
+                TestUtils.tranformTableToArray(report.peoi()));
+    }
+
+    @Test
+    public void verifyOnlyRequestedPartsAreCalculated() {
+        var smaaReport = new CCRSmaaReport(NUMBER_OF_SAMPLES, SmaaTestUtils.NUMBER_OF_INTERVALS,
+                SmaaTestUtils.getRandom());
+        var report = smaaReport.report(data, EnumSet.of(SmaaReportPart.RANKS));
+        Assertions.assertNull(report.efficiencyDistribution());
+        Assertions.assertNull(report.peoi());
+        Assertions.assertEquals(NUMBER_OF_SAMPLES, report.rankDistribution().numberOfSamples());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> smaaReport.report(data, EnumSet.of(SmaaReportPart.DISTANCE)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> smaaReport.report(data, EnumSet.noneOf(SmaaReportPart.class)));
+    }
+
+    static void verifySameResult(DistributionResult expected, DistributionResult actual) {
+        SmaaTestUtils.verifyExpectedValuesAndDistribution(
+                TestUtils.tranformTableToArray(expected.distribution()),
+                expected.expectedValues().stream().mapToDouble(x -> x).toArray(),
+                actual);
+        Assertions.assertEquals(expected.numberOfSamples(), actual.numberOfSamples());
+    }
+}
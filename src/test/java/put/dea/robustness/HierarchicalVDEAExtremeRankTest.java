@@ -64,4 +64,13 @@ public class HierarchicalVDEAExtremeRankTest extends HierarchicalVDEATestBase {
         var expected = new int[]{15, 1, 7, 14, 3, 5, 1, 10, 1, 14, 5, 6, 9, 1, 5, 1};
         verifyRanks("satisfaction", expected, true);
     }
+
+    @Test
+    public void verifyMaxRanksAtIndexLevelInVirtualThreads() {
+        var expected = new int[]{13, 3, 13, 16, 3, 3, 13, 13, 13, 16, 16, 16, 16, 13, 15, 16};
+        var extremeRanks = new HierarchicalVDEAExtremeRanks();
+        extremeRanks.setExecutionStrategy(ExecutionStrategy.virtualThreads());
+        var actual = extremeRanks.maxRankForAll(data, "index");
+        Assertions.assertIterableEquals(Arrays.stream(expected).boxed().toList(), actual);
+    }
 }
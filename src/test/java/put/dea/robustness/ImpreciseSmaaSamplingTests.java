@@ -4,7 +4,6 @@ import org.apache.commons.math3.util.Pair;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import tech.tablesaw.api.DoubleColumn;
-import tech.tablesaw.api.Table;
 
 import java.util.Comparator;
 import java.util.List;
@@ -18,11 +17,34 @@ public class ImpreciseSmaaSamplingTests extends ImpreciseCCRTestBase {
                 SmaaTestUtils.NUMBER_OF_INTERVALS,
                 SmaaTestUtils.getRandom()));
         var samples = smaaUtils.generatePerformanceSamples(data.getImpreciseInformation(), false);
-        verifyOrdinalInput(samples.getInputPerformances().stream().map(x -> x.doubleColumn("reputation")).toList());
-        verifyIntervalOutput(samples.getOutputPerformances().stream().map(x -> x.doubleColumn("capacity")).toList());
+        verifyOrdinalInput(getInputColumnSamples(samples, "reputation"));
+        verifyIntervalOutput(getOutputColumnSamples(samples, "capacity"));
         verifyPreciseFactors(samples);
     }
 
+    @Test
+    public void verifyDirectlyGeneratedSamples() {
+        var smaa = new ImpreciseCCRSmaaEfficiency(100,
+                SmaaTestUtils.NUMBER_OF_INTERVALS,
+                SmaaTestUtils.getRandom());
+        smaa.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        var samples = new ImpreciseSmaaUtils(smaa).generatePerformanceSamples(data.getImpreciseInformation(), false);
+        Assertions.assertEquals(100, samples.getSampleCount());
+        verifyOrdinalInput(getInputColumnSamples(samples, "reputation"));
+        verifyIntervalOutput(getOutputColumnSamples(samples, "capacity"));
+        verifyPreciseFactors(samples);
+    }
+
+    @Test
+    public void verifyTooManySamplesAreRejected() {
+        var smaa = new ImpreciseCCRSmaaEfficiency(100,
+                SmaaTestUtils.NUMBER_OF_INTERVALS,
+                SmaaTestUtils.getRandom());
+        var smaaUtils = new ImpreciseSmaaUtils(smaa);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> smaaUtils.generatePerformanceSamples(data.getImpreciseInformation(), false, 100_000_000));
+    }
+
     private void verifyOrdinalInput(List<DoubleColumn> reputation) {
         var expectedSortedIndices = new int[]{16, 9, 5, 24, 19, 26, 1, 6, 8, 11, 14, 18, 21,
                 23, 0, 3, 7, 10, 13, 15, 17, 25, 2, 4, 12, 20, 22};
@@ -51,21 +73,27 @@ public class ImpreciseSmaaSamplingTests extends ImpreciseCCRTestBase {
     }
 
     private void verifyPreciseFactors(PerformanceSamplesCollection samples) {
-        var actualVelocity = samples.getOutputPerformances()
-                .stream().map(x -> x.doubleColumn("velocity"))
-                .toList();
-        for (var sample : actualVelocity) {
+        for (var sample : getOutputColumnSamples(samples, "velocity")) {
             Assertions.assertIterableEquals(data.getOutputData().doubleColumn("velocity"), sample);
         }
 
-        var actualCost = samples.getInputPerformances()
-                .stream().map(x -> x.doubleColumn("cost"))
-                .toList();
-        for (var sample : actualCost) {
+        for (var sample : getInputColumnSamples(samples, "cost")) {
             Assertions.assertIterableEquals(data.getInputData().doubleColumn("cost"), sample);
         }
     }
 
+    private List<DoubleColumn> getInputColumnSamples(PerformanceSamplesCollection samples, String factor) {
+        return IntStream.range(0, samples.getSampleCount())
+                .mapToObj(idx -> samples.getInputSample(idx).toTable().doubleColumn(factor))
+                .toList();
+    }
+
+    private List<DoubleColumn> getOutputColumnSamples(PerformanceSamplesCollection samples, String factor) {
+        return IntStream.range(0, samples.getSampleCount())
+                .mapToObj(idx -> samples.getOutputSample(idx).toTable().doubleColumn(factor))
+                .toList();
+    }
+
     @Test
     public void verifyEfficiencyCalculation() {
         var weightSamples = new WeightSamplesCollection(new double[][]{
@@ -110,24 +138,15 @@ public class ImpreciseSmaaSamplingTests extends ImpreciseCCRTestBase {
                 new double[]{0.729, 0.537, 0.929, 0.329, 0.606}
         };
 
-        var performanceSamples = new PerformanceSamplesCollection();
+        var performanceSamples = new PerformanceSamplesCollection(10, 5,
+                List.of("i1", "i2"),
+                List.of("o1", "o2"));
 
         for (int i = 0; i < 10; i++) {
-            var inputSample = Table.create();
-            var outputSample = Table.create();
-
-            for (int dmu = 0; dmu < 5; dmu++) {
-                inputSample.addColumns(
-                        DoubleColumn.create(dmu + "", List.of(i1Performance[dmu], i2Samples[i][dmu]))
-                );
-            }
-            for (int dmu = 0; dmu < 5; dmu++) {
-                outputSample.addColumns(
-                        DoubleColumn.create(dmu + "", List.of(o1Performance[dmu], o2Samples[i][dmu]))
-                );
-            }
-            performanceSamples.getInputPerformances().add(inputSample.transpose());
-            performanceSamples.getOutputPerformances().add(outputSample.transpose());
+            performanceSamples.setInputColumn(i, 0, i1Performance);
+            performanceSamples.setInputColumn(i, 1, i2Samples[i]);
+            performanceSamples.setOutputColumn(i, 0, o1Performance);
+            performanceSamples.setOutputColumn(i, 1, o2Samples[i]);
         }
 
         var expectedEfficiencyMatrix = new double[][]{
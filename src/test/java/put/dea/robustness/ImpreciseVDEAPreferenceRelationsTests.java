@@ -53,4 +53,19 @@ public class ImpreciseVDEAPreferenceRelationsTests extends ImpreciseVDEATestBase
 
         Assertions.assertIterableEquals(expected, result);
     }
+
+    @Test
+    public void verifyScreenedRelationsEqualToModelResults() {
+        var relations = new ImpreciseVDEAPreferenceRelations(1.0001, 1e-8, 1);
+        var necessary = relations.checkNecessaryPreferenceForAll(data);
+        var possible = relations.checkPossiblePreferenceForAll(data);
+        for (int subject = 0; subject < data.getDmuCount(); subject++) {
+            for (int relative = 0; relative < data.getDmuCount(); relative++) {
+                Assertions.assertEquals(relations.isNecessarilyPreferred(data, subject, relative),
+                        necessary.get(subject).get(relative));
+                Assertions.assertEquals(relations.isPossiblyPreferred(data, subject, relative),
+                        possible.get(subject).get(relative));
+            }
+        }
+    }
 }
@@ -0,0 +1,102 @@
+package put.dea.robustness;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PerformanceMatrixTests extends CCRTestBase {
+
+    @Test
+    public void verifyMatrixMatchesTableView() {
+        var expected = TestUtils.tranformTableToArray(data.getInputData());
+        for (int dmu = 0; dmu < data.getDmuCount(); dmu++)
+            Assertions.assertArrayEquals(expected[dmu], data.getInputMatrix().getRow(dmu));
+        Assertions.assertEquals(List.of("i1", "i2", "i3", "i4"), data.getInputMatrix().getFactorNames());
+        Assertions.assertEquals(List.of("o1", "o2"), data.getOutputData().columnNames());
+        Assertions.assertEquals(129.7, data.getOutputMatrix().get(0, "o2"));
+        Assertions.assertEquals(0.1, data.getInputMatrix().getColumnMin(0));
+    }
+
+    @Test
+    public void verifySelectingFactorsDoesNotModifyMatrix() {
+        var selected = data.getInputMatrix().selectFactors(List.of("i3", "i1"));
+        Assertions.assertEquals(2, selected.getFactorCount());
+        Assertions.assertArrayEquals(data.getInputMatrix().getColumn(2), selected.getColumn(0));
+        Assertions.assertArrayEquals(data.getInputMatrix().getColumn(0), selected.getColumn(1));
+        Assertions.assertEquals(4, data.getInputMatrix().getFactorCount());
+        Assertions.assertEquals(4, data.getInputData().columnCount());
+    }
+
+    @Test
+    public void verifyModifyingSourceTablesDoesNotAffectProblemData() {
+        var inputs = data.getInputData().copy();
+        var outputs = data.getOutputData().copy();
+        var tableData = new ProblemData(inputs, outputs);
+        inputs.doubleColumn("i1").set(0, 1000.0);
+        outputs.removeColumns("o2");
+
+        Assertions.assertEquals(data.getInputMatrix().get(0, 0), tableData.getInputMatrix().get(0, 0));
+        Assertions.assertEquals(data.getInputMatrix().get(0, 0), tableData.getInputData().doubleColumn("i1").getDouble(0));
+        Assertions.assertEquals(List.of("o1", "o2"), tableData.getOutputData().columnNames());
+    }
+
+    @Test
+    public void verifyModifyingReturnedTablesDoesNotAffectProblemData() {
+        var originalValue = data.getInputMatrix().get(0, 0);
+        var inputs = data.getInputData();
+        inputs.doubleColumn("i1").set(0, 1000.0);
+        data.getOutputData().removeColumns("o2");
+
+        Assertions.assertEquals(originalValue, data.getInputMatrix().get(0, 0));
+        Assertions.assertEquals(originalValue, data.getInputData().doubleColumn("i1").getDouble(0));
+        Assertions.assertEquals(List.of("o1", "o2"), data.getOutputData().columnNames());
+    }
+
+    @Test
+    public void verifyInconsistentRowsAreRejected() {
+        var inputs = new double[][]{new double[]{1, 2}, new double[]{1}};
+        var outputs = new double[][]{new double[]{1}, new double[]{2}};
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ProblemData(inputs, outputs));
+    }
+
+    @Test
+    public void verifyStreamedRowsMatchArrayConstruction() {
+        var rows = new ArrayList<double[]>();
+        for (int dmu = 0; dmu < data.getDmuCount(); dmu++) {
+            var row = new double[data.getInputCount() + data.getOutputCount()];
+            System.arraycopy(data.getInputMatrix().getRow(dmu), 0, row, 0, data.getInputCount());
+            System.arraycopy(data.getOutputMatrix().getRow(dmu), 0, row, data.getInputCount(), data.getOutputCount());
+            rows.add(row);
+        }
+        var streamed = new ProblemData(rows.iterator(), data.getInputMatrix().getFactorNames(),
+                data.getOutputMatrix().getFactorNames());
+        Assertions.assertEquals(data.getDmuCount(), streamed.getDmuCount());
+        for (int factor = 0; factor < data.getInputCount(); factor++)
+            Assertions.assertArrayEquals(data.getInputMatrix().getColumn(factor), streamed.getInputMatrix().getColumn(factor));
+        for (int factor = 0; factor < data.getOutputCount(); factor++)
+            Assertions.assertArrayEquals(data.getOutputMatrix().getColumn(factor), streamed.getOutputMatrix().getColumn(factor));
+    }
+
+    @Test
+    public void verifyReadingFromCsv() {
+        var csv = """
+                name,cost,quality,profit
+                a, 1.5, 7, 10
+                b, 2, 3.25, 20
+
+                c, 0.5, 1, 5
+                """;
+        var reader = new CsvPerformanceReader(new StringReader(csv), List.of("cost", "quality", "profit"));
+        var csvData = new ProblemData(reader, List.of("cost", "quality"), List.of("profit"));
+        Assertions.assertEquals(3, csvData.getDmuCount());
+        Assertions.assertArrayEquals(new double[]{1.5, 2, 0.5}, csvData.getInputMatrix().getColumn(0));
+        Assertions.assertArrayEquals(new double[]{7, 3.25, 1}, csvData.getInputMatrix().getColumn(1));
+        Assertions.assertArrayEquals(new double[]{10, 20, 5}, csvData.getOutputMatrix().getColumn(0));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new CsvPerformanceReader(new StringReader(csv), List.of("cost", "missing")));
+    }
+}
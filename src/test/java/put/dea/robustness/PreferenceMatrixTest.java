@@ -0,0 +1,74 @@
+package put.dea.robustness;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.BitSet;
+import java.util.List;
+
+public class PreferenceMatrixTest extends CCRTestBase {
+
+    /**
+     * preorder: 0 ~ 1 (indifferent), both preferred to 2, 2 preferred to 3; 4 incomparable with all
+     */
+    private static PreferenceMatrix createPreorder() {
+        return PreferenceMatrix.fromList(List.of(
+                List.of(true, true, true, true, false),
+                List.of(true, true, true, true, false),
+                List.of(false, false, true, true, false),
+                List.of(false, false, false, true, false),
+                List.of(false, false, false, false, true)
+        ));
+    }
+
+    @Test
+    public void verifyRowsColumnsAndDegrees() {
+        var matrix = createPreorder();
+        Assertions.assertEquals(5, matrix.getDmuCount());
+        Assertions.assertTrue(matrix.get(1, 3));
+        Assertions.assertFalse(matrix.get(3, 1));
+        Assertions.assertEquals(BitSet.valueOf(new long[]{0b01100}), matrix.getRow(2));
+        Assertions.assertEquals(BitSet.valueOf(new long[]{0b01111}), matrix.getColumn(3));
+        Assertions.assertEquals(4, matrix.getOutrankingDegree(0));
+        Assertions.assertEquals(3, matrix.getOutrankedDegree(2));
+        Assertions.assertEquals(12, matrix.getRelationCount());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> matrix.get(5, 0));
+    }
+
+    @Test
+    public void verifyTransitiveReduction() {
+        var expected = List.of(
+                List.of(false, true, true, false, false),
+                List.of(true, false, true, false, false),
+                List.of(false, false, false, true, false),
+                List.of(false, false, false, false, false),
+                List.of(false, false, false, false, false)
+        );
+        Assertions.assertIterableEquals(expected, createPreorder().getTransitiveReduction().toList());
+    }
+
+    @Test
+    public void verifyBinaryExportOfLargeMatrix() {
+        var matrix = new PreferenceMatrix(130);
+        for (int dmu = 0; dmu < 130; dmu++) {
+            matrix.set(dmu, dmu, true);
+            matrix.set(dmu, (dmu * 7) % 130, true);
+        }
+        var output = new ByteArrayOutputStream();
+        matrix.writeTo(output);
+        Assertions.assertEquals(3 * Integer.BYTES + 130 * 3 * Long.BYTES, output.size());
+        var read = PreferenceMatrix.readFrom(new ByteArrayInputStream(output.toByteArray()));
+        Assertions.assertEquals(matrix, read);
+        Assertions.assertEquals(matrix.toList(), PreferenceMatrix.fromList(read.toList()).toList());
+    }
+
+    @Test
+    public void verifyMatrixEqualToListResult() {
+        var relations = new CCRPreferenceRelations();
+        var matrix = relations.necessaryPreferenceMatrix(data);
+        Assertions.assertIterableEquals(relations.checkNecessaryPreferenceForAll(data), matrix.toList());
+        Assertions.assertEquals(matrix.getRow(0).cardinality(), matrix.getOutrankingDegree(0));
+    }
+}
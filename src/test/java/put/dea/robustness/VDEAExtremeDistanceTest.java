@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 public class VDEAExtremeDistanceTest extends VDEATestBase {
     private static VDEAExtremeDistances distances;
 
@@ -121,4 +123,41 @@ public class VDEAExtremeDistanceTest extends VDEATestBase {
         var actual = distances.maxDistanceForAll(data).stream().mapToDouble(x -> x).toArray();
         Assertions.assertArrayEquals(expected, actual, 1e-6);
     }
+
+    @Test
+    public void extremeDistancesWithVertexEnumerationEqualToLPResults() {
+        var vertexDistances = new VDEAExtremeDistances();
+        vertexDistances.setVertexEnumeration(true);
+        addWeightConstraints();
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertArrayEquals(
+                    distances.minDistanceForAll(data).stream().mapToDouble(x -> x).toArray(),
+                    vertexDistances.minDistanceForAll(data).stream().mapToDouble(x -> x).toArray(),
+                    1e-6);
+            Assertions.assertArrayEquals(
+                    distances.maxDistanceForAll(data).stream().mapToDouble(x -> x).toArray(),
+                    vertexDistances.maxDistanceForAll(data).stream().mapToDouble(x -> x).toArray(),
+                    1e-6);
+            addFunctionShapes();
+        }
+    }
+
+    @Test
+    public void maxDistanceForDifferentlyScaledFactors() {
+        var inputScales = new double[]{1e-4, 1e3, 1e5};
+        var outputScales = new double[]{1e6};
+        var inputs = new double[data.getDmuCount()][data.getInputCount()];
+        var outputs = new double[data.getDmuCount()][data.getOutputCount()];
+        for (int dmu = 0; dmu < data.getDmuCount(); dmu++) {
+            for (int i = 0; i < data.getInputCount(); i++)
+                inputs[dmu][i] = data.getInputMatrix().get(dmu, i) * inputScales[i];
+            for (int r = 0; r < data.getOutputCount(); r++)
+                outputs[dmu][r] = data.getOutputMatrix().get(dmu, r) * outputScales[r];
+        }
+        var scaledData = new VDEAProblemData(inputs, outputs, List.of("i1", "i2", "i3"), List.of("o1"));
+
+        var expected = distances.maxDistanceForAll(data).stream().mapToDouble(x -> x).toArray();
+        var actual = distances.maxDistanceForAll(scaledData).stream().mapToDouble(x -> x).toArray();
+        Assertions.assertArrayEquals(expected, actual, 1e-6);
+    }
 }
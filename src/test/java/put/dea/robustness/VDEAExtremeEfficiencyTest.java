@@ -122,4 +122,38 @@ public class VDEAExtremeEfficiencyTest extends VDEATestBase {
         var actual = extremeEfficiencies.maxEfficiencyForAll(data).stream().mapToDouble(x -> x).toArray();
         Assertions.assertArrayEquals(expected, actual, 1e-6);
     }
+
+    @Test
+    public void maxEfficiencyWithLinearFunctionsForEachSolverBackend() {
+        var expected = new double[]{1, 0.589473684211, 0.60480349345, 0.565502183406, 1,
+                0.97602739726, 0.707423580786, 0.692922374429, 0.688356164384, 0.657908565423,
+                0.8, 0.681222707424, 0.778947368421, 0.646118721461, 0.818493150685,
+                1, 0.792576419214, 0.757894736842, 0.849315068493, 1};
+        for (var solverBackend : SolverBackend.values()) {
+            var efficiencies = new VDEAExtremeEfficiencies();
+            efficiencies.setSolverBackend(solverBackend);
+            var actual = efficiencies.maxEfficiencyForAll(data).stream().mapToDouble(x -> x).toArray();
+            Assertions.assertArrayEquals(expected, actual, 1e-6, solverBackend.name());
+        }
+    }
+
+    @Test
+    public void extremeEfficienciesWithVertexEnumerationEqualToLPResults() {
+        var vertexEfficiencies = new VDEAExtremeEfficiencies();
+        vertexEfficiencies.setVertexEnumeration(true);
+        addWeightConstraints();
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertArrayEquals(
+                    extremeEfficiencies.minEfficiencyForAll(data).stream().mapToDouble(x -> x).toArray(),
+                    vertexEfficiencies.minEfficiencyForAll(data).stream().mapToDouble(x -> x).toArray(),
+                    1e-6);
+            Assertions.assertArrayEquals(
+                    extremeEfficiencies.maxEfficiencyForAll(data).stream().mapToDouble(x -> x).toArray(),
+                    vertexEfficiencies.maxEfficiencyForAll(data).stream().mapToDouble(x -> x).toArray(),
+                    1e-6);
+            Assertions.assertEquals(extremeEfficiencies.maxEfficiency(data, 3),
+                    vertexEfficiencies.maxEfficiency(data, 3), 1e-6);
+            addFunctionShapes();
+        }
+    }
 }
@@ -93,4 +93,22 @@ public class VDEAExtremeRanksTest extends VDEATestBase {
         var actual = extremeRanks.maxRankForAll(data);
         Assertions.assertIterableEquals(expected, actual);
     }
+
+    @Test
+    public void ranksForDifferentlyScaledFactors() {
+        var inputScales = new double[]{1e-4, 1e3, 1e5};
+        var outputScales = new double[]{1e6};
+        var inputs = new double[data.getDmuCount()][data.getInputCount()];
+        var outputs = new double[data.getDmuCount()][data.getOutputCount()];
+        for (int dmu = 0; dmu < data.getDmuCount(); dmu++) {
+            for (int i = 0; i < data.getInputCount(); i++)
+                inputs[dmu][i] = data.getInputMatrix().get(dmu, i) * inputScales[i];
+            for (int r = 0; r < data.getOutputCount(); r++)
+                outputs[dmu][r] = data.getOutputMatrix().get(dmu, r) * outputScales[r];
+        }
+        var scaledData = new VDEAProblemData(inputs, outputs, List.of("i1", "i2", "i3"), List.of("o1"));
+
+        Assertions.assertIterableEquals(extremeRanks.minRankForAll(data), extremeRanks.minRankForAll(scaledData));
+        Assertions.assertIterableEquals(extremeRanks.maxRankForAll(data), extremeRanks.maxRankForAll(scaledData));
+    }
 }
@@ -157,4 +157,59 @@ public class VDEAPreferenceRelationTest extends VDEATestBase {
         Assertions.assertIterableEquals(expectedRow9, actualPreferences.get(9));
         Assertions.assertIterableEquals(expectedRow19, actualPreferences.get(19));
     }
+
+    @Test
+    public void relationsWithVertexEnumerationEqualToLPResults() {
+        var vertexRelations = new VDEAPreferenceRelations();
+        vertexRelations.setVertexEnumeration(true);
+        Assertions.assertEquals(preferenceRelations.checkNecessaryPreferenceForAll(data),
+                vertexRelations.checkNecessaryPreferenceForAll(data));
+        addFunctionShapes();
+        addWeightConstraints();
+        Assertions.assertEquals(preferenceRelations.checkNecessaryPreferenceForAll(data),
+                vertexRelations.checkNecessaryPreferenceForAll(data));
+        Assertions.assertEquals(preferenceRelations.checkPossiblePreferenceForAll(data),
+                vertexRelations.checkPossiblePreferenceForAll(data));
+        Assertions.assertEquals(preferenceRelations.isPossiblyPreferred(data, 9, 3),
+                vertexRelations.isPossiblyPreferred(data, 9, 3));
+    }
+
+    @Test
+    public void necessaryRelationsInferredFromTransitivity() {
+        addWeightConstraints();
+        var relations = new VDEAPreferenceRelations();
+        var actual = relations.checkNecessaryPreferenceForAll(data);
+        for (int subject = 0; subject < data.getDmuCount(); subject++)
+            for (int relative = 0; relative < data.getDmuCount(); relative++)
+                Assertions.assertEquals(relations.isNecessarilyPreferred(data, subject, relative),
+                        actual.get(subject).get(relative));
+        Assertions.assertTrue(relations.getSavedModelCount() > data.getDmuCount());
+    }
+
+    @Test
+    public void relationsWithinToleranceEqualForVertexEnumerationAndLP() {
+        var inputs = new double[][]{
+                new double[]{1.0},
+                new double[]{1.0},
+                new double[]{2.0}
+        };
+        var outputs = new double[][]{
+                new double[]{1.0, 1.0},
+                new double[]{1.0, 1.0 + 1e-10},
+                new double[]{0.5, 0.5}
+        };
+        var closeData = new VDEAProblemData(inputs, outputs, List.of("i1"), List.of("o1", "o2"));
+
+        var relations = new VDEAPreferenceRelations();
+        var vertexRelations = new VDEAPreferenceRelations();
+        vertexRelations.setVertexEnumeration(true);
+        var necessary = relations.checkNecessaryPreferenceForAll(closeData);
+        Assertions.assertEquals(vertexRelations.checkNecessaryPreferenceForAll(closeData), necessary);
+        Assertions.assertEquals(vertexRelations.checkPossiblePreferenceForAll(closeData),
+                relations.checkPossiblePreferenceForAll(closeData));
+        Assertions.assertTrue(necessary.get(0).get(1));
+        Assertions.assertTrue(necessary.get(1).get(0));
+        Assertions.assertEquals(relations.isNecessarilyPreferred(closeData, 0, 1),
+                vertexRelations.isNecessarilyPreferred(closeData, 0, 1));
+    }
 }
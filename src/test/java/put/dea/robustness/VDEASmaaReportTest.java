@@ -0,0 +1,35 @@
+package put.dea.robustness;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class VDEASmaaReportTest extends VDEATestBase {
+    private static final int NUMBER_OF_SAMPLES = 200;
+
+    @Test
+    public void verifyReportMatchesSeparateAnalyses() {
+        var smaaReport = new VDEASmaaReport(NUMBER_OF_SAMPLES, SmaaTestUtils.NUMBER_OF_INTERVALS,
+                SmaaTestUtils.getRandom());
+        smaaReport.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        var report = smaaReport.report(data);
+
+        var efficiency = new VDEASmaaEfficiency(NUMBER_OF_SAMPLES, SmaaTestUtils.NUMBER_OF_INTERVALS,
+                SmaaTestUtils.getRandom());
+        efficiency.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        CCRSmaaReportTests.verifySameResult(efficiency.efficiencyDistribution(data), report.efficiencyDistribution());
+
+        var ranks = new VDEASmaaRanks(NUMBER_OF_SAMPLES, SmaaTestUtils.getRandom());
+        ranks.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        CCRSmaaReportTests.verifySameResult(ranks.rankDistribution(data), report.rankDistribution());
+
+        var preferenceRelations = new VDEASmaaPreferenceRelations(NUMBER_OF_SAMPLES, SmaaTestUtils.getRandom());
+        preferenceRelations.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        Assertions.assertArrayEquals(TestUtils.tranformTableToArray(preferenceRelations.peoi(data)),
+                TestUtils.tranformTableToArray(report.peoi()));
+
+        var distance = new VDEASmaaDistance(NUMBER_OF_SAMPLES, SmaaTestUtils.NUMBER_OF_INTERVALS,
+                SmaaTestUtils.getRandom());
+        distance.setWeightSamplingMethod(WeightSamplingMethod.AUTOMATIC);
+        CCRSmaaReportTests.verifySameResult(distance.distanceDistribution(data), report.distanceDistribution());
+    }
+}
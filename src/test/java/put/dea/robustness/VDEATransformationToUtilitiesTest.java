@@ -64,8 +64,8 @@ public class VDEATransformationToUtilitiesTest extends VDEATestBase {
 
         };
 
-        var inputValues = TestUtils.tranformTableToArray(efficiencies.transformInputsToUtilities(data));
-        var outputValues = TestUtils.tranformTableToArray(efficiencies.transformOutputsToUtilities(data));
+        var inputValues = TestUtils.tranformTableToArray(efficiencies.transformInputsToUtilities(data).toTable());
+        var outputValues = TestUtils.tranformTableToArray(efficiencies.transformOutputsToUtilities(data).toTable());
 
         Assertions.assertArrayEquals(flattenArray(expectedInputs), flattenArray(inputValues), 1e-6);
         Assertions.assertArrayEquals(flattenArray(expectedOutputs), flattenArray(outputValues), 1e-6);
@@ -124,8 +124,8 @@ public class VDEATransformationToUtilitiesTest extends VDEATestBase {
         };
 
         addInputOutputBoundaries();
-        var inputValues = TestUtils.tranformTableToArray(efficiencies.transformInputsToUtilities(data));
-        var outputValues = TestUtils.tranformTableToArray(efficiencies.transformOutputsToUtilities(data));
+        var inputValues = TestUtils.tranformTableToArray(efficiencies.transformInputsToUtilities(data).toTable());
+        var outputValues = TestUtils.tranformTableToArray(efficiencies.transformOutputsToUtilities(data).toTable());
 
         Assertions.assertArrayEquals(flattenArray(expectedInputs), flattenArray(inputValues), 1e-6);
         Assertions.assertArrayEquals(flattenArray(expectedOutputs), flattenArray(outputValues), 1e-6);
@@ -180,8 +180,8 @@ public class VDEATransformationToUtilitiesTest extends VDEATestBase {
         };
 
         addFunctionShapes();
-        var inputValues = TestUtils.tranformTableToArray(efficiencies.transformInputsToUtilities(data));
-        var outputValues = TestUtils.tranformTableToArray(efficiencies.transformOutputsToUtilities(data));
+        var inputValues = TestUtils.tranformTableToArray(efficiencies.transformInputsToUtilities(data).toTable());
+        var outputValues = TestUtils.tranformTableToArray(efficiencies.transformOutputsToUtilities(data).toTable());
 
         Assertions.assertArrayEquals(flattenArray(expectedInputs), flattenArray(inputValues), 1e-6);
         Assertions.assertArrayEquals(flattenArray(expectedOutputs), flattenArray(outputValues), 1e-6);